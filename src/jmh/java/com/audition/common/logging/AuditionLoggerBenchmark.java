@@ -0,0 +1,77 @@
+package com.audition.common.logging;
+
+import ch.qos.logback.classic.Level;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A debug statement through each {@link AuditionLogger} style: an eagerly concatenated message, a message supplier,
+ * the one- and two-argument parameterized overloads and the one- and two-pair event overloads. The values are
+ * constants, so the supplier does not capture and no call goes through varargs; what is measured is the logger
+ * itself. The logger has no appender, so with {@code level=WARN} the statement is disabled and with
+ * {@code level=DEBUG} it is built but not written.
+ *
+ * <p>{@code ./gradlew jmh} runs with the {@code gc} profiler. With {@code level=WARN}, every style but
+ * {@code concatenated} must report a {@code gc.alloc.rate.norm} of about 0 B/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditionLoggerBenchmark {
+
+    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger("audition.logger.benchmark");
+    private static final String URI = "/posts/42/comments";
+    private static final Integer STATUS = 200;
+
+    @Param({"WARN", "DEBUG"})
+    private String level;
+
+    private final AuditionLogger auditionLogger = new AuditionLogger();
+
+    @Setup
+    public void configureLogger() {
+        final ch.qos.logback.classic.Logger logger = (ch.qos.logback.classic.Logger) LOG;
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel(Level.toLevel(level));
+    }
+
+    @Benchmark
+    @SuppressWarnings("PMD.GuardLogStatement")
+    public void concatenated() {
+        auditionLogger.debug(LOG, "Request " + URI + " status=" + STATUS);
+    }
+
+    @Benchmark
+    public void supplier() {
+        auditionLogger.debug(LOG, () -> "Request " + URI + " status=" + STATUS);
+    }
+
+    @Benchmark
+    public void parameterizedOneArg() {
+        auditionLogger.debug(LOG, "Request {}", URI);
+    }
+
+    @Benchmark
+    public void parameterizedTwoArgs() {
+        auditionLogger.debug(LOG, "Request {} status={}", URI, STATUS);
+    }
+
+    @Benchmark
+    public void eventOnePair() {
+        auditionLogger.event(LOG, org.slf4j.event.Level.DEBUG, "request", "uri", URI);
+    }
+
+    @Benchmark
+    public void eventTwoPairs() {
+        auditionLogger.event(LOG, org.slf4j.event.Level.DEBUG, "request", "uri", URI, "status", STATUS);
+    }
+}
@@ -0,0 +1,76 @@
+package com.audition.configuration;
+
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+
+/**
+ * Encoding and decoding a post list of the upstream's shape in each format served by {@code GET /posts}: JSON, CBOR
+ * and Smile, through the mappers of {@link BinaryFormats}. The payload size of each format is printed once per trial.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryFormatsBenchmark {
+
+    private static final String BODY = "quia et suscipit suscipit recusandae consequuntur expedita et cum reprehenderit"
+        + " molestiae ut ut quas totam nostrum rerum est autem sunt rem eveniet architecto";
+
+    @Param({"application/json", "application/cbor", BinaryFormats.APPLICATION_SMILE_VALUE})
+    private String format;
+
+    @Param({"100"})
+    private int postCount;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<AuditionPost> posts;
+    private byte[] payload;
+
+    @Setup
+    @SuppressWarnings("PMD.SystemPrintln")
+    public void encodePosts() throws IOException {
+        mapper = BinaryFormats.mappers(new WebServiceConfiguration().objectMapper()).get(MediaType.valueOf(format));
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, AuditionPost.class);
+        posts = new ArrayList<>(postCount);
+        for (int id = 1; id <= postCount; id++) {
+            posts.add(post(id));
+        }
+        payload = mapper.writeValueAsBytes(posts);
+        System.out.printf(Locale.ROOT, "%n%s payload of %d posts: %d bytes%n", format, postCount, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(posts);
+    }
+
+    @Benchmark
+    public List<AuditionPost> decode() throws IOException {
+        return mapper.readValue(payload, listType);
+    }
+
+    private static AuditionPost post(final int id) {
+        final AuditionPost post = new AuditionPost();
+        post.setUserId(id % 10 + 1);
+        post.setId(id);
+        post.setTitle("sunt aut facere repellat provident occaecati excepturi optio " + id);
+        post.setBody(BODY);
+        return post;
+    }
+}
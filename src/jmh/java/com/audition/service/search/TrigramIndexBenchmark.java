@@ -0,0 +1,76 @@
+package com.audition.service.search;
+
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Substring filter of {@code GET /posts}: trigram index against the linear scan it replaces, over synthetic posts of
+ * the upstream's shape. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrigramIndexBenchmark {
+
+    private static final String[] WORDS = {"qui", "est", "esse", "dolorem", "ipsum", "quia", "voluptas", "nesciunt",
+        "molestiae", "repellat", "sunt", "aut", "facere", "recusandae", "consequuntur", "expedita", "laborum"};
+
+    @Param({"100", "5000"})
+    private int postCount;
+
+    @Param({"nesciunt mole", "zzz"})
+    private String query;
+
+    private List<AuditionPost> posts;
+    private TrigramIndex index;
+
+    @Setup
+    public void createPosts() {
+        final Random random = new Random(7);
+        posts = new ArrayList<>(postCount);
+        for (int id = 1; id <= postCount; id++) {
+            posts.add(post(id, random));
+        }
+        index = TrigramIndex.build(posts, null);
+    }
+
+    @Benchmark
+    public List<AuditionPost> linearScan() {
+        return TrigramIndex.scan(posts, query);
+    }
+
+    @Benchmark
+    public List<AuditionPost> trigramIndex() {
+        return index.search(query);
+    }
+
+    private static AuditionPost post(final int id, final Random random) {
+        final AuditionPost post = new AuditionPost();
+        post.setId(id);
+        post.setTitle(sentence(random, 6));
+        post.setBody(sentence(random, 30));
+        return post;
+    }
+
+    private static String sentence(final Random random, final int words) {
+        final StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.audition.common.exception;
+
+/**
+ * A request the API cannot serve as given, such as an unknown field or an out of range limit; answered with 400.
+ */
+public class InvalidRequestException extends SystemException {
+
+    public static final String TITLE = "Invalid Request";
+    private static final long serialVersionUID = -2930498236415563207L;
+
+    /**
+     * Create the exception.
+     *
+     * @param detail what is wrong with the request
+     */
+    public InvalidRequestException(final String detail) {
+        super(detail, TITLE, 400);
+    }
+
+    /**
+     * Create the exception.
+     *
+     * @param detail what is wrong with the request
+     * @param cause the parsing failure behind it
+     */
+    public InvalidRequestException(final String detail, final Throwable cause) {
+        super(detail, TITLE, 400, cause);
+    }
+}
@@ -0,0 +1,29 @@
+package com.audition.common.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * An upstream call refused locally, without reaching upstream, because its circuit is open or its bulkhead is full.
+ */
+@Getter
+public class UpstreamUnavailableException extends SystemException {
+
+    public static final String TITLE = "Upstream Unavailable";
+    private static final long serialVersionUID = 3298742561923051807L;
+    private final String operation;
+    private final Duration retryAfter;
+
+    /**
+     * Create the exception.
+     *
+     * @param detail why the call was refused
+     * @param operation upstream operation that was refused
+     * @param retryAfter how long the caller should wait before trying again
+     */
+    public UpstreamUnavailableException(final String detail, final String operation, final Duration retryAfter) {
+        super(detail, TITLE, 503);
+        this.operation = operation;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -1,13 +1,26 @@
 package com.audition.common.logging;
 
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
+import org.slf4j.event.Level;
 import org.springframework.http.ProblemDetail;
 import org.springframework.stereotype.Component;
 
+/**
+ * Level-checked logging helpers. Every method checks the level before it touches its arguments, so a disabled
+ * statement costs one level check: the supplier overloads only build the message when it is logged, and the
+ * parameterized ones with up to two arguments and the {@code event} ones pass their arguments without allocating.
+ * As with SLF4J, a trailing Throwable argument of a parameterized call is logged as the exception.
+ */
 @Component
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessivePublicCount", "PMD.GodClass"})
 public class AuditionLogger {
 
+    private static final String ONE_PAIR = "{} {}={}";
+    private static final String TWO_PAIRS = "{} {}={} {}={}";
+    private static final String THREE_PAIRS = "{} {}={} {}={} {}={}";
+
     public void info(final Logger logger, final String message) {
         if (logger.isInfoEnabled()) {
             logger.info(message);
@@ -20,24 +33,120 @@ public class AuditionLogger {
         }
     }
 
+    public void info(final Logger logger, final Supplier<String> message) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message.get());
+        }
+    }
+
+    public void info(final Logger logger, final String format, final Object arg1, final Object arg2) {
+        if (logger.isInfoEnabled()) {
+            logger.info(format, arg1, arg2);
+        }
+    }
+
+    public void info(final Logger logger, final String format, final Object... args) {
+        if (logger.isInfoEnabled()) {
+            logger.info(format, args);
+        }
+    }
+
     public void debug(final Logger logger, final String message) {
         if (logger.isDebugEnabled()) {
             logger.debug(message);
         }
     }
 
+    public void debug(final Logger logger, final Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message.get());
+        }
+    }
+
+    public void debug(final Logger logger, final String format, final Object arg) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(format, arg);
+        }
+    }
+
+    public void debug(final Logger logger, final String format, final Object arg1, final Object arg2) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(format, arg1, arg2);
+        }
+    }
+
+    public void debug(final Logger logger, final String format, final Object... args) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(format, args);
+        }
+    }
+
     public void warn(final Logger logger, final String message) {
         if (logger.isWarnEnabled()) {
             logger.warn(message);
         }
     }
 
+    public void warn(final Logger logger, final Supplier<String> message) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(message.get());
+        }
+    }
+
+    public void warn(final Logger logger, final String format, final Object arg) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(format, arg);
+        }
+    }
+
+    public void warn(final Logger logger, final String format, final Object arg1, final Object arg2) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(format, arg1, arg2);
+        }
+    }
+
+    public void warn(final Logger logger, final String format, final Object... args) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(format, args);
+        }
+    }
+
     public void error(final Logger logger, final String message) {
         if (logger.isErrorEnabled()) {
             logger.error(message);
         }
     }
 
+    public void error(final Logger logger, final Supplier<String> message) {
+        if (logger.isErrorEnabled()) {
+            logger.error(message.get());
+        }
+    }
+
+    public void error(final Logger logger, final Supplier<String> message, final Throwable e) {
+        if (logger.isErrorEnabled()) {
+            logger.error(message.get(), e);
+        }
+    }
+
+    public void error(final Logger logger, final String format, final Object arg) {
+        if (logger.isErrorEnabled()) {
+            logger.error(format, arg);
+        }
+    }
+
+    public void error(final Logger logger, final String format, final Object arg1, final Object arg2) {
+        if (logger.isErrorEnabled()) {
+            logger.error(format, arg1, arg2);
+        }
+    }
+
+    public void error(final Logger logger, final String format, final Object... args) {
+        if (logger.isErrorEnabled()) {
+            logger.error(format, args);
+        }
+    }
+
     public void logErrorWithException(final Logger logger, final String message, final Exception e) {
         if (logger.isErrorEnabled()) {
             logger.error(message, e);
@@ -57,6 +166,44 @@ public class AuditionLogger {
         }
     }
 
+    /**
+     * Log a named event with a key/value pair, written as {@code name key=value} and attached to the logging event as
+     * a structured key/value pair for encoders that emit them.
+     *
+     * @param logger Logger
+     * @param level Level
+     * @param name event name
+     * @param key key
+     * @param value value
+     */
+    public void event(final Logger logger, final Level level, final String name, final String key,
+        final Object value) {
+        if (logger.isEnabledForLevel(level)) {
+            logger.atLevel(level).setMessage(ONE_PAIR).addArgument(name).addArgument(key).addArgument(value)
+                .addKeyValue(key, value).log();
+        }
+    }
+
+    public void event(final Logger logger, final Level level, final String name, final String key1,
+        final Object value1, final String key2, final Object value2) {
+        if (logger.isEnabledForLevel(level)) {
+            logger.atLevel(level).setMessage(TWO_PAIRS).addArgument(name)
+                .addArgument(key1).addArgument(value1).addArgument(key2).addArgument(value2)
+                .addKeyValue(key1, value1).addKeyValue(key2, value2).log();
+        }
+    }
+
+    @SuppressWarnings({"PMD.ExcessiveParameterList", "PMD.UseObjectForClearerAPI"})
+    public void event(final Logger logger, final Level level, final String name, final String key1,
+        final Object value1, final String key2, final Object value2, final String key3, final Object value3) {
+        if (logger.isEnabledForLevel(level)) {
+            logger.atLevel(level).setMessage(THREE_PAIRS).addArgument(name)
+                .addArgument(key1).addArgument(value1).addArgument(key2).addArgument(value2)
+                .addArgument(key3).addArgument(value3)
+                .addKeyValue(key1, value1).addKeyValue(key2, value2).addKeyValue(key3, value3).log();
+        }
+    }
+
     private String createStandardProblemDetailMessage(final ProblemDetail standardProblemDetail) {
         final StringBuilder message = new StringBuilder();
 
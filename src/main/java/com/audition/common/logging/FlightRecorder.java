@@ -0,0 +1,88 @@
+package com.audition.common.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free ring buffer keeping the most recent entries in memory.
+ *
+ * <p>Each writer claims a sequence number with one atomic increment and publishes its entry into the slot of that
+ * number, overwriting the entry one capacity older. Readers never block writers: a slot whose sequence does not match
+ * the one expected has been overwritten or is still being written and is skipped. {@link #drain()} hands out the
+ * entries recorded since the previous drain, so consecutive drains do not repeat themselves.
+ *
+ * @param <T> entry type
+ */
+public final class FlightRecorder<T> {
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+
+    /**
+     * Create a recorder.
+     *
+     * @param capacity entries kept, rounded up to a power of two
+     */
+    public FlightRecorder(final int capacity) {
+        final int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Record an entry, overwriting the oldest one once the buffer is full.
+     *
+     * @param entry entry
+     */
+    public void record(final T entry) {
+        final long sequence = next.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot<>(sequence, entry));
+    }
+
+    /**
+     * The entries still held, oldest first.
+     *
+     * @return entries
+     */
+    public List<T> snapshot() {
+        final long end = next.get();
+        return between(end - slots.length(), end);
+    }
+
+    /**
+     * The entries recorded since the previous drain and still held, oldest first. Concurrent drains never return the
+     * same entry twice.
+     *
+     * @return entries
+     */
+    public List<T> drain() {
+        final long end = next.get();
+        long start = drained.get();
+        while (start < end && !drained.compareAndSet(start, end)) {
+            start = drained.get();
+        }
+        return start < end ? between(Math.max(start, end - slots.length()), end) : List.of();
+    }
+
+    private List<T> between(final long start, final long end) {
+        final List<T> entries = new ArrayList<>((int) Math.min(end - Math.max(0, start), slots.length()));
+        for (long sequence = Math.max(0, start); sequence < end; sequence++) {
+            final Slot<T> slot = slots.get((int) (sequence & mask));
+            if (slot != null && slot.sequence() == sequence) {
+                entries.add(slot.entry());
+            }
+        }
+        return entries;
+    }
+
+    private record Slot<T>(long sequence, T entry) {
+    }
+}
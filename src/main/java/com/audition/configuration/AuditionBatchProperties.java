@@ -0,0 +1,22 @@
+package com.audition.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the batch lookup routes.
+ */
+@Data
+@ConfigurationProperties(prefix = "audition.batch")
+public class AuditionBatchProperties {
+
+    /**
+     * Distinct ids accepted in one request.
+     */
+    private int maxSize = 100;
+
+    /**
+     * Upstream calls a single batch keeps in flight, so that a batch does not exhaust the bulkhead on its own.
+     */
+    private int parallelism = 8;
+}
@@ -0,0 +1,86 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the read-through cache in front of the upstream posts and comments API.
+ */
+@Data
+@ConfigurationProperties(prefix = "audition.cache")
+public class AuditionCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound of the estimated bytes held by the cache.
+     */
+    private DataSize maximumWeight = DataSize.ofMegabytes(16);
+
+    /**
+     * XFetch beta: above 1 favours refreshing earlier, 0 turns early refresh off.
+     */
+    private double earlyExpirationBeta = 1.0;
+
+    private TimeToLive ttl = new TimeToLive();
+    private PostsSnapshot postsSnapshot = new PostsSnapshot();
+    private CommentsIndex commentsIndex = new CommentsIndex();
+    private Responses responses = new Responses();
+
+    /**
+     * Time an entry stays fresh, per kind of payload.
+     */
+    @Data
+    public static class TimeToLive {
+
+        private Duration posts = Duration.ofSeconds(30);
+        private Duration post = Duration.ofMinutes(5);
+        private Duration comments = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Full post list kept in memory and refreshed in the background.
+     */
+    @Data
+    public static class PostsSnapshot {
+
+        private boolean enabled = true;
+        private Duration refreshInterval = Duration.ofSeconds(30);
+
+        /**
+         * Oldest snapshot still served while upstream is failing.
+         */
+        private Duration maxStaleness = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Every comment preloaded with one upstream call and indexed by post, off unless enabled.
+     */
+    @Data
+    public static class CommentsIndex {
+
+        private boolean enabled;
+        private Duration refreshInterval = Duration.ofMinutes(5);
+
+        /**
+         * Oldest index still answered from; past that lookups go back to upstream until a refresh succeeds.
+         */
+        private Duration maxStaleness = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Serialized {@code GET /posts} responses, kept per posts version and query.
+     */
+    @Data
+    public static class Responses {
+
+        private boolean enabled = true;
+
+        /**
+         * Upper bound of the response bytes held, plain and gzip variants together.
+         */
+        private DataSize maximumWeight = DataSize.ofMegabytes(8);
+    }
+}
@@ -0,0 +1,69 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the metrics recorded by the application itself.
+ */
+@Data
+@ConfigurationProperties(prefix = "audition.metrics")
+public class AuditionMetricsProperties {
+
+    private HttpServer httpServer = new HttpServer();
+    private Latency latency = new Latency();
+
+    /**
+     * The {@code http.server.requests} timer of {@link ResponseMetricsInjector}, one per route template, method and
+     * status class.
+     */
+    @Data
+    public static class HttpServer {
+
+        /**
+         * Histogram bucket boundaries published for the service-level objectives of the timer.
+         */
+        private List<Duration> serviceLevelObjectives = new ArrayList<>(List.of(Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1)));
+
+        /**
+         * Percentiles computed in the application, such as 0.95; none when empty.
+         */
+        private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.95, 0.99));
+
+        /**
+         * Publish the full percentile histogram, for percentiles aggregated by the monitoring system.
+         */
+        private boolean percentileHistogram;
+    }
+
+    /**
+     * HdrHistogram latency recorders, one per server route and one per upstream operation, read through the
+     * {@code latency} actuator endpoint.
+     */
+    @Data
+    public static class Latency {
+
+        private boolean enabled = true;
+
+        /**
+         * Length of the window the endpoint reports; recorders are swapped at the end of each window.
+         */
+        private Duration window = Duration.ofMinutes(1);
+
+        /**
+         * Largest latency told apart; longer ones are recorded as this value.
+         */
+        private Duration maxValue = Duration.ofMinutes(1);
+
+        /**
+         * Decimal digits of precision kept for every value, from 1 to 5.
+         */
+        private int significantDigits = 2;
+
+        private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.9, 0.99, 0.999));
+    }
+}
@@ -0,0 +1,22 @@
+package com.audition.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the cursor pagination of {@code GET /posts}.
+ */
+@Data
+@ConfigurationProperties(prefix = "audition.paging")
+public class AuditionPagingProperties {
+
+    /**
+     * Page size used when a request gives a cursor but no limit.
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Largest page size a request may ask for.
+     */
+    private int maxLimit = 100;
+}
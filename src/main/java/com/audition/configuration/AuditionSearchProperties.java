@@ -0,0 +1,23 @@
+package com.audition.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the full-text search route.
+ */
+@Data
+@ConfigurationProperties(prefix = "audition.search")
+public class AuditionSearchProperties {
+
+    /**
+     * Results accepted as the page size of one request.
+     */
+    private int maxLimit = 100;
+
+    /**
+     * Deepest result reachable by paging, that is the largest offset plus limit. It bounds the heap kept while
+     * selecting the best results.
+     */
+    private int maxWindow = 1000;
+}
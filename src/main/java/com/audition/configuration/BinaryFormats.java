@@ -0,0 +1,94 @@
+package com.audition.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * CBOR and Smile, the binary encodings of the JSON model served to internal consumers that ask for them with the
+ * Accept header. Their mappers are copies of the JSON one with a binary factory, so every format carries the same
+ * fields under the same names.
+ */
+@Configuration
+public class BinaryFormats implements WebMvcConfigurer {
+
+    /**
+     * Media type of the Smile encoding, as written by {@link MappingJackson2SmileHttpMessageConverter}.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+        APPLICATION_SMILE);
+
+    @Autowired
+    private transient ObjectMapper objectMapper;
+
+    /**
+     * The mapper of every format.
+     *
+     * @param json the JSON mapper
+     * @return mappers by media type: JSON, CBOR and Smile
+     */
+    public static Map<MediaType, ObjectMapper> mappers(final ObjectMapper json) {
+        return Map.of(MediaType.APPLICATION_JSON, json,
+            MediaType.APPLICATION_CBOR, json.copyWith(new CBORFactory()),
+            APPLICATION_SMILE, json.copyWith(new SmileFactory()));
+    }
+
+    /**
+     * Put a CBOR and a Smile converter right after the JSON one, replacing those Spring MVC adds with default
+     * settings when the formats are on the classpath.
+     *
+     * @param converters converters configured so far
+     */
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+            || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        int position = 0;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                position = i + 1;
+                break;
+            }
+        }
+        final Map<MediaType, ObjectMapper> mappers = mappers(objectMapper);
+        converters.add(position, new MappingJackson2CborHttpMessageConverter(
+            mappers.get(MediaType.APPLICATION_CBOR)));
+        converters.add(position + 1, new MappingJackson2SmileHttpMessageConverter(mappers.get(APPLICATION_SMILE)));
+    }
+
+    /**
+     * The format Spring MVC would negotiate: that of the most specific, most preferred Accept entry naming one, JSON
+     * for a wildcard.
+     *
+     * @param accept Accept header entries
+     * @return JSON, CBOR or Smile
+     */
+    public static MediaType negotiate(final List<MediaType> accept) {
+        final List<MediaType> sorted = new ArrayList<>(accept);
+        MimeTypeUtils.sortBySpecificity(sorted);
+        for (final MediaType accepted : sorted) {
+            for (final MediaType format : FORMATS) {
+                if (accepted.includes(format)) {
+                    return accepted.isWildcardSubtype() ? MediaType.APPLICATION_JSON : format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
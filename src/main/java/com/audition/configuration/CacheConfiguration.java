@@ -0,0 +1,30 @@
+package com.audition.configuration;
+
+import com.audition.service.cache.ReadThroughCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Read-through cache shared by the service layer. Scheduling is enabled for the background snapshot refreshes.
+ */
+@Configuration
+@EnableScheduling
+public class CacheConfiguration {
+
+    /**
+     * Cache bounded by estimated payload weight.
+     *
+     * @param properties cache settings
+     * @param meterRegistry MeterRegistry
+     * @return ReadThroughCache
+     */
+    @Bean
+    public ReadThroughCache readThroughCache(final AuditionCacheProperties properties,
+        final MeterRegistry meterRegistry) {
+        return new ReadThroughCache(properties.isEnabled(), properties.getMaximumWeight().toBytes(),
+            properties.getEarlyExpirationBeta(), Ticker.systemTicker(), meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.audition.configuration;
+
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint of the request flight recorder: {@code GET /actuator/flightrecorder} lists the recent requests it
+ * holds, {@code POST /actuator/flightrecorder} writes the ones not written yet to the log.
+ */
+@Component
+@Endpoint(id = "flightrecorder")
+public class FlightRecorderEndpoint {
+
+    @Autowired
+    private transient RequestLoggingInjector requestLoggingInjector;
+
+    /**
+     * Recent requests, oldest first.
+     *
+     * @return entries
+     */
+    @ReadOperation
+    public List<RequestLogEntry> recentRequests() {
+        return requestLoggingInjector.recentRequests();
+    }
+
+    /**
+     * Flush the flight recorder to the log.
+     *
+     * @return number of requests written
+     */
+    @WriteOperation
+    public Map<String, Integer> flush() {
+        return Map.of("flushed", requestLoggingInjector.flushFlightRecorder("flush requested through actuator"));
+    }
+}
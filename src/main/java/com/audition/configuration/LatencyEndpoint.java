@@ -0,0 +1,42 @@
+package com.audition.configuration;
+
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint of the windowed latency histograms: {@code GET /actuator/latency} reports the last complete window
+ * of every server route and upstream operation, {@code GET /actuator/latency/server} or
+ * {@code GET /actuator/latency/upstream} only one of the two.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    @Autowired
+    private transient LatencyRecorders latencyRecorders;
+
+    /**
+     * Windows of every route and operation.
+     *
+     * @return windows by name, under {@code server} and {@code upstream}
+     */
+    @ReadOperation
+    public Map<String, Map<String, LatencyRecorders.LatencyWindow>> latency() {
+        return latencyRecorders.snapshot();
+    }
+
+    /**
+     * Windows of the server routes or of the upstream operations.
+     *
+     * @param kind {@code server} or {@code upstream}
+     * @return windows by name, or null for an unknown kind, answered with 404
+     */
+    @ReadOperation
+    public Map<String, LatencyRecorders.LatencyWindow> latency(@Selector final String kind) {
+        return latencyRecorders.snapshot().get(kind);
+    }
+}
@@ -0,0 +1,177 @@
+package com.audition.configuration;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Windowed latency histograms of server routes and upstream operations, kept with HdrHistogram.
+ *
+ * <p>Each route and each operation records into its own {@link Recorder}, which is wait-free for the recording
+ * threads. At the end of every window the interval histogram is swapped out of each recorder and kept as the last
+ * complete window, which is what {@link #snapshot()} reports. Latencies are recorded in microseconds, up to the
+ * configured maximum.
+ */
+@Component
+public class LatencyRecorders {
+
+    static final String SERVER = "server";
+    static final String UPSTREAM = "upstream";
+
+    private final transient AuditionMetricsProperties.Latency properties;
+    private final transient TaskScheduler taskScheduler;
+    private final transient long maxMicros;
+    private final Map<String, Window> server = new ConcurrentHashMap<>();
+    private final Map<String, Window> upstream = new ConcurrentHashMap<>();
+
+    /**
+     * Create the recorders.
+     *
+     * @param metricsProperties metrics settings
+     * @param taskScheduler swaps the windows
+     */
+    public LatencyRecorders(final AuditionMetricsProperties metricsProperties, final TaskScheduler taskScheduler) {
+        this.properties = metricsProperties.getLatency();
+        this.taskScheduler = taskScheduler;
+        this.maxMicros = Math.max(2, properties.getMaxValue().toNanos() / 1000);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Swap the windows at a fixed rate once the application is ready to serve.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRotation() {
+        if (isEnabled()) {
+            taskScheduler.scheduleAtFixedRate(this::rotate, properties.getWindow());
+        }
+    }
+
+    /**
+     * Record the time spent serving a request.
+     *
+     * @param route route template
+     * @param nanos elapsed time
+     */
+    public void recordServer(final String route, final long nanos) {
+        record(server, route, nanos);
+    }
+
+    /**
+     * Record the time of an upstream call.
+     *
+     * @param operation client operation
+     * @param nanos elapsed time
+     */
+    public void recordUpstream(final String operation, final long nanos) {
+        record(upstream, operation, nanos);
+    }
+
+    /**
+     * Statistics of the last complete window of every route and operation that recorded anything so far.
+     *
+     * @return windows by name, under {@code server} and {@code upstream}
+     */
+    public Map<String, Map<String, LatencyWindow>> snapshot() {
+        return Map.of(SERVER, closedWindows(server), UPSTREAM, closedWindows(upstream));
+    }
+
+    /**
+     * Close the current window of every recorder.
+     */
+    public void rotate() {
+        server.values().forEach(Window::rotate);
+        upstream.values().forEach(Window::rotate);
+    }
+
+    private void record(final Map<String, Window> windows, final String name, final long nanos) {
+        if (!isEnabled()) {
+            return;
+        }
+        Window window = windows.get(name);
+        if (window == null) {
+            window = windows.computeIfAbsent(name, key -> new Window(maxMicros, properties.getSignificantDigits()));
+        }
+        window.recorder.recordValue(Math.min(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)), maxMicros));
+    }
+
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    private Map<String, LatencyWindow> closedWindows(final Map<String, Window> windows) {
+        final Map<String, LatencyWindow> snapshot = new TreeMap<>();
+        windows.forEach((name, window) -> {
+            final Histogram last = window.last.get();
+            if (last != null) {
+                snapshot.put(name, statistics(last));
+            }
+        });
+        return snapshot;
+    }
+
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    private LatencyWindow statistics(final Histogram histogram) {
+        final Map<String, Double> percentiles = new TreeMap<>();
+        for (final Double percentile : properties.getPercentiles()) {
+            percentiles.put(label(percentile),
+                millis(histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile * 100)));
+        }
+        return new LatencyWindow(Instant.ofEpochMilli(histogram.getStartTimeStamp()),
+            Instant.ofEpochMilli(histogram.getEndTimeStamp()), histogram.getTotalCount(),
+            millis(histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue()),
+            histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1000, millis(histogram.getMaxValue()),
+            percentiles);
+    }
+
+    private static String label(final double percentile) {
+        return "p" + BigDecimal.valueOf(percentile).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    private static double millis(final long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Recorder of one route or operation and its last complete window. Only the rotation replaces the window, and it
+     * always hands out a new histogram, so readers of the previous one are never disturbed.
+     */
+    private static final class Window {
+
+        private final Recorder recorder;
+        private final AtomicReference<Histogram> last = new AtomicReference<>();
+
+        Window(final long maxMicros, final int significantDigits) {
+            this.recorder = new Recorder(1, maxMicros, significantDigits);
+        }
+
+        void rotate() {
+            last.set(recorder.getIntervalHistogram());
+        }
+    }
+
+    /**
+     * Latency statistics of one window, in milliseconds.
+     *
+     * @param start start of the window
+     * @param end end of the window
+     * @param count values recorded
+     * @param min smallest value
+     * @param mean mean value
+     * @param max largest value
+     * @param percentiles value at each configured percentile, keyed like {@code p99.9}
+     */
+    public record LatencyWindow(Instant start, Instant end, long count, double min, double mean, double max,
+                                Map<String, Double> percentiles) {
+    }
+}
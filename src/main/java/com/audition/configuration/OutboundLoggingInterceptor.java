@@ -0,0 +1,111 @@
+package com.audition.configuration;
+
+import com.audition.common.logging.AuditionLogger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Log each rest template exchange: the request line and the response status always, and the first bytes of both
+ * bodies for a sampled share of the exchanges when body capture is on.
+ *
+ * <p>With capture off no body is read, so the rest template needs no buffering on behalf of this interceptor; see
+ * {@link #needsBuffering(UpstreamProperties)}. Streamed bodies are never captured, so turning capture on while
+ * streaming is on logs a warning when the interceptor is created.
+ */
+class OutboundLoggingInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboundLoggingInterceptor.class);
+    private static final String TRUNCATED = "... (truncated)";
+
+    private final AuditionLogger logger;
+    private final UpstreamProperties upstreamProperties;
+    private final DoubleSupplier random;
+
+    OutboundLoggingInterceptor(final AuditionLogger logger, final UpstreamProperties upstreamProperties) {
+        this(logger, upstreamProperties, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    OutboundLoggingInterceptor(final AuditionLogger logger, final UpstreamProperties upstreamProperties,
+        final DoubleSupplier random) {
+        this.logger = logger;
+        this.upstreamProperties = upstreamProperties;
+        this.random = random;
+        if (upstreamProperties.getBodyLogging().isEnabled() && upstreamProperties.getStreaming().isEnabled()) {
+            logger.warn(LOG, "audition.upstream.body-logging.enabled has no effect while "
+                + "audition.upstream.streaming.enabled is on: streamed bodies are never captured. "
+                + "Turn streaming off to log upstream bodies.");
+        }
+    }
+
+    /**
+     * Whether response bodies are captured, which requires the rest template to buffer them so that the message
+     * converter can read them again. A streamed body can only be read once, by the message converter, and is never
+     * captured.
+     *
+     * @param upstreamProperties upstream settings
+     * @return boolean
+     */
+    static boolean needsBuffering(final UpstreamProperties upstreamProperties) {
+        return upstreamProperties.getBodyLogging().isEnabled() && !upstreamProperties.getStreaming().isEnabled();
+    }
+
+    @Override
+    @SuppressWarnings("PMD.GuardLogStatement")
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+        final ClientHttpRequestExecution execution) throws IOException {
+        if (!LOG.isInfoEnabled()) {
+            return execution.execute(request, body);
+        }
+        final boolean capture = isSampled();
+        final int maxBytes = (int) upstreamProperties.getBodyLogging().getMaxBytes().toBytes();
+
+        final StringBuilder logMessage = new StringBuilder(256);
+        logMessage.append("Request URI: ").append(request.getURI())
+            .append("\nRequest Method: ").append(request.getMethod());
+        if (capture) {
+            logMessage.append("\nRequest Body: ");
+            append(logMessage, body, Math.min(body.length, maxBytes), body.length > maxBytes);
+        }
+        logger.info(LOG, logMessage.append('\n').toString());
+
+        final ClientHttpResponse response = execution.execute(request, body);
+
+        logMessage.setLength(0);
+        logMessage.append("Response Status Code: ").append(response.getStatusCode());
+        if (capture) {
+            logMessage.append("\nResponse Body: ");
+            // the buffered body hands out a fresh stream per call, so reading its head here costs the converter nothing
+            try (InputStream in = response.getBody()) {
+                final byte[] head = in.readNBytes(maxBytes + 1);
+                append(logMessage, head, Math.min(head.length, maxBytes), head.length > maxBytes);
+            }
+        }
+        logger.info(LOG, logMessage.append('\n').toString());
+        return response;
+    }
+
+    private boolean isSampled() {
+        if (!needsBuffering(upstreamProperties)) {
+            return false;
+        }
+        final double sampleRate = upstreamProperties.getBodyLogging().getSampleRate();
+        return sampleRate >= 1 || sampleRate > 0 && random.getAsDouble() < sampleRate;
+    }
+
+    private static void append(final StringBuilder logMessage, final byte[] bytes, final int length,
+        final boolean truncated) {
+        logMessage.append(new String(bytes, 0, length, StandardCharsets.UTF_8));
+        if (truncated) {
+            logMessage.append(TRUNCATED);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.audition.configuration;
+
+import java.time.Instant;
+
+/**
+ * Detail of one completed request, as kept by the request flight recorder.
+ *
+ * @param completedAt time the request completed
+ * @param method HTTP method
+ * @param uri request URI
+ * @param queryString query string with its parameter values redacted, or null
+ * @param route matched route template, or null when no handler matched
+ * @param remoteUser authenticated user, or null
+ * @param status response status
+ * @param elapsedMicros time from the start of handling to completion
+ * @param exception message of the exception the request ended with, or null
+ */
+public record RequestLogEntry(Instant completedAt, String method, String uri, String queryString, String route,
+                              String remoteUser, int status, long elapsedMicros, String exception) {
+
+    static final String REDACTED = "***";
+
+    /**
+     * Whether the request failed on the server side: an exception, or a status of 500 or above.
+     *
+     * @return boolean
+     */
+    public boolean isFailure() {
+        return exception != null || status >= 500;
+    }
+
+    /**
+     * Replace the value of every parameter of a query string, keeping the names, so parameters such as search terms or
+     * cursors do not reach the log or the flight recorder.
+     *
+     * @param queryString raw query string, or null
+     * @return redacted query string, or null
+     */
+    static String redact(final String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return queryString;
+        }
+        final StringBuilder redacted = new StringBuilder(queryString.length());
+        for (final String parameter : queryString.split("&", -1)) {
+            if (redacted.length() > 0) {
+                redacted.append('&');
+            }
+            final int equals = parameter.indexOf('=');
+            redacted.append(equals < 0 ? parameter : parameter.substring(0, equals + 1) + REDACTED);
+        }
+        return redacted.toString();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder line = new StringBuilder(160).append(completedAt).append(' ').append(method).append(' ')
+            .append(uri);
+        if (queryString != null) {
+            line.append('?').append(queryString);
+        }
+        line.append(" route=").append(route).append(" status=").append(status)
+            .append(" elapsedMicros=").append(elapsedMicros).append(" user=").append(remoteUser);
+        if (exception != null) {
+            line.append(" exception=").append(exception);
+        }
+        return line.toString();
+    }
+}
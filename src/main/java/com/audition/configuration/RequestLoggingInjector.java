@@ -1,27 +1,61 @@
 package com.audition.configuration;
 
 import com.audition.common.logging.AuditionLogger;
+import com.audition.common.logging.FlightRecorder;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
 /**
- * Log request and response info for each http request.
+ * Log request and response info for a sampled share of http requests, per route, and keep the detail of every recent
+ * request in a {@link FlightRecorder} that is written to the log when a request fails.
+ *
+ * <p>The start of a request is noted on its initial dispatch only, so the elapsed time of an asynchronous request runs
+ * to its completion after the async re-dispatch. Query strings are recorded with their values redacted.
  */
 @Component
-public class RequestLoggingInjector implements HandlerInterceptor {
+public class RequestLoggingInjector implements AsyncHandlerInterceptor {
 
     private static final Logger LOG = LoggerFactory.getLogger(RequestLoggingInjector.class);
+    private static final String START_ATTRIBUTE = RequestLoggingInjector.class.getName() + ".start";
 
+    private final transient AuditionLogger logger;
+    private final transient RequestLoggingProperties properties;
+    private final transient DoubleSupplier random;
+    private final transient FlightRecorder<RequestLogEntry> flightRecorder;
+
+    /**
+     * Create the injector and its flight recorder.
+     *
+     * @param logger AuditionLogger
+     * @param properties request logging settings
+     */
     @Autowired
-    private transient AuditionLogger logger;
+    public RequestLoggingInjector(final AuditionLogger logger, final RequestLoggingProperties properties) {
+        this(logger, properties, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RequestLoggingInjector(final AuditionLogger logger, final RequestLoggingProperties properties,
+        final DoubleSupplier random) {
+        this.logger = logger;
+        this.properties = properties;
+        this.random = random;
+        this.flightRecorder = new FlightRecorder<>(properties.getFlightRecorder().getCapacity());
+    }
 
     /**
-     * Log request info.
+     * Note the start of the request, on the initial dispatch only.
      *
      * @param request HttpServletRequest
      * @param response HttpServletResponse
@@ -29,24 +63,15 @@ public class RequestLoggingInjector implements HandlerInterceptor {
      * @return true
      */
     @Override
-    @SuppressWarnings("PMD.GuardLogStatement")
     public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
-        // Log request details
-
-        final StringBuilder logMessage = new StringBuilder(256);
-
-        logMessage.append("Request URI: ").append(request.getRequestURI())
-            .append("\nRequest Method: ").append(request.getMethod())
-            .append("\nRequest Query String: ").append(request.getQueryString())
-            .append("\nRequest Remote User: ").append(request.getRemoteUser());
-
-        logger.info(LOG, logMessage.toString());
-
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
         return true;
     }
 
     /**
-     * Log response info.
+     * Record the request in the flight recorder, log it if sampled, and flush the flight recorder if it failed.
      *
      * @param request HttpServletRequest
      * @param response HttpServletResponse
@@ -57,12 +82,77 @@ public class RequestLoggingInjector implements HandlerInterceptor {
     @SuppressWarnings("PMD.GuardLogStatement")
     public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response, final Object handler,
         final Exception ex) {
-        // Log response status and any exceptions
-        logger.info(LOG, "Response Status: {}", response.getStatus());
+        final RequestLogEntry entry = entryOf(request, response, ex);
+        if (properties.getFlightRecorder().isEnabled()) {
+            flightRecorder.record(entry);
+        }
+        if (isSampled(entry)) {
+            // Log request details and response status, built only when INFO is enabled
+            logger.info(LOG, () -> new StringBuilder(256)
+                .append("Request URI: ").append(entry.uri())
+                .append("\nRequest Method: ").append(entry.method())
+                .append("\nRequest Query String: ").append(entry.queryString())
+                .append("\nRequest Remote User: ").append(entry.remoteUser())
+                .append("\nResponse Status: ").append(entry.status())
+                .append("\nElapsed Micros: ").append(entry.elapsedMicros())
+                .toString());
+        }
         if (ex != null) {
-            logger.logErrorWithException(LOG, "Request to " + request.getRequestURI() + " resulted in an exception",
-                ex);
+            logger.error(LOG, "Request to {} resulted in an exception", request.getRequestURI(), ex);
+        }
+        if (entry.isFailure()) {
+            flushFlightRecorder("failed request to " + entry.uri());
         }
     }
 
+    /**
+     * The requests held by the flight recorder, oldest first.
+     *
+     * @return entries
+     */
+    public List<RequestLogEntry> recentRequests() {
+        return flightRecorder.snapshot();
+    }
+
+    /**
+     * Write the requests recorded since the previous flush to the log, in one statement.
+     *
+     * @param reason why the flight recorder is flushed
+     * @return requests written
+     */
+    @SuppressWarnings("PMD.GuardLogStatement")
+    public int flushFlightRecorder(final String reason) {
+        final List<RequestLogEntry> entries = flightRecorder.drain();
+        if (!entries.isEmpty()) {
+            logger.warn(LOG, () -> {
+                final StringBuilder dump = new StringBuilder(64 + entries.size() * 160)
+                    .append("Flight recorder, ").append(entries.size()).append(" requests up to the ").append(reason);
+                entries.forEach(entry -> dump.append('\n').append(entry));
+                return dump.toString();
+            });
+        }
+        return entries.size();
+    }
+
+    private boolean isSampled(final RequestLogEntry entry) {
+        final double sampleRate;
+        if (entry.exception() != null || entry.status() >= 400) {
+            sampleRate = properties.getErrorSampleRate();
+        } else {
+            final Double routeRate = entry.route() == null ? null : properties.getRoutes().get(entry.route());
+            sampleRate = routeRate == null ? properties.getSampleRate() : routeRate;
+        }
+        return sampleRate >= 1 || sampleRate > 0 && random.getAsDouble() < sampleRate;
+    }
+
+    private static RequestLogEntry entryOf(final HttpServletRequest request, final HttpServletResponse response,
+        final Exception ex) {
+        final Object start = request.getAttribute(START_ATTRIBUTE);
+        final long elapsedMicros = start instanceof Long
+            ? TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - (Long) start) : 0;
+        final Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return new RequestLogEntry(Instant.now(), request.getMethod(), request.getRequestURI(),
+            RequestLogEntry.redact(request.getQueryString()), route == null ? null : route.toString(), request.getRemoteUser(),
+            response.getStatus(), elapsedMicros, ex == null ? null : ex.toString());
+    }
 }
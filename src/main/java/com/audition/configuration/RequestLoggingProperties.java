@@ -0,0 +1,48 @@
+package com.audition.configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the per-request log line written by {@link RequestLoggingInjector}.
+ */
+@Data
+@ConfigurationProperties(prefix = "audition.request-logging")
+public class RequestLoggingProperties {
+
+    /**
+     * Share of successful requests, below status 400, that get a log line.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Share of requests answered with status 400 or above, or ending in an exception, that get a log line.
+     */
+    private double errorSampleRate = 1.0;
+
+    /**
+     * Successful request sample rate per route template, such as {@code /posts/{id}}, overriding {@code sample-rate}.
+     */
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    private Map<String, Double> routes = new LinkedHashMap<>();
+
+    private FlightRecorder flightRecorder = new FlightRecorder();
+
+    /**
+     * In-memory ring buffer holding the detail of every recent request, sampled or not. It is written to the log when
+     * a request fails with status 500 or above or an exception, and on demand through the {@code flightrecorder}
+     * actuator endpoint.
+     */
+    @Data
+    public static class FlightRecorder {
+
+        private boolean enabled = true;
+
+        /**
+         * Requests kept, rounded up to a power of two.
+         */
+        private int capacity = 1024;
+    }
+}
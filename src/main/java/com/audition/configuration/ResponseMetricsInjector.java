@@ -3,28 +3,56 @@ package com.audition.configuration;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
 /**
  * Add incoming request count, error count and timer for each request.
+ *
+ * <p>The timer is tagged with the route template of the matched handler, such as {@code /posts/{id}}, rather than the
+ * raw URI, with the method and with the status class, so the number of timers stays bounded. Each timer is registered
+ * once and then served from a local cache. The same time goes to the route's {@link LatencyRecorders} histogram.
+ *
+ * <p>A request answered asynchronously, with a {@code CompletableFuture} or a {@code StreamingResponseBody}, passes
+ * through {@link #preHandle} again on its async re-dispatch. Only the initial dispatch starts the timer and counts the
+ * request, so the time recorded runs from the start of the request to its completion.
  */
 @Component
-public class ResponseMetricsInjector implements HandlerInterceptor {
+public class ResponseMetricsInjector implements AsyncHandlerInterceptor {
+
+    static final String UNKNOWN_ROUTE = "UNKNOWN";
+    static final String OTHER_METHOD = "OTHER";
+    private static final Set<String> KNOWN_METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE",
+        "OPTIONS", "TRACE");
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
 
     private final transient MeterRegistry meterRegistry;
+    private final transient AuditionMetricsProperties.HttpServer properties;
+    private final transient LatencyRecorders latencyRecorders;
     private final transient Counter totalRequestsCounter;
     private final transient Counter errorCounter;
+    private final transient Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
 
     /**
      * Initialize counters and register to registry.
      *
      * @param meterRegistry MeterRegistry
+     * @param metricsProperties metrics settings
+     * @param latencyRecorders windowed latency histograms
      */
-    public ResponseMetricsInjector(final MeterRegistry meterRegistry) {
+    public ResponseMetricsInjector(final MeterRegistry meterRegistry,
+        final AuditionMetricsProperties metricsProperties, final LatencyRecorders latencyRecorders) {
         this.meterRegistry = meterRegistry;
+        this.properties = metricsProperties.getHttpServer();
+        this.latencyRecorders = latencyRecorders;
 
         // Initialize counters
         this.totalRequestsCounter = Counter.builder("http.server.requests.total")
@@ -37,7 +65,7 @@ public class ResponseMetricsInjector implements HandlerInterceptor {
     }
 
     /**
-     * Start timer and request counter increment.
+     * Start timer and request counter increment, on the initial dispatch only.
      *
      * @param request  HttpServletRequest
      * @param response HttpServletResponse
@@ -46,6 +74,10 @@ public class ResponseMetricsInjector implements HandlerInterceptor {
      */
     @Override
     public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
         // Start timer for request processing time
         final Timer.Sample sample = Timer.start(meterRegistry);
         request.setAttribute("timerSample", sample);
@@ -70,12 +102,9 @@ public class ResponseMetricsInjector implements HandlerInterceptor {
         // Record the request processing time using Micrometer
         final Timer.Sample sample = (Timer.Sample) request.getAttribute("timerSample");
         if (sample != null) {
-            sample.stop(Timer.builder("http.server.requests")
-                .tag("method", request.getMethod())
-                .tag("uri", request.getRequestURI())
-                .tag("status", Integer.toString(response.getStatus()))
-                .description("HTTP Server Requests")
-                .register(meterRegistry));
+            final Object matched = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            final String route = matched == null ? UNKNOWN_ROUTE : matched.toString();
+            latencyRecorders.recordServer(route, sample.stop(timer(route, request.getMethod(), response.getStatus())));
         }
 
         // Increment the error counter if there was an exception
@@ -84,4 +113,38 @@ public class ResponseMetricsInjector implements HandlerInterceptor {
         }
     }
 
+    /**
+     * The timer of a route, method and status, registered on first use.
+     *
+     * @param route route template
+     * @param method HTTP method, folded into {@code OTHER} unless standard
+     * @param status response status, reduced to its class
+     * @return Timer
+     */
+    Timer timer(final String route, final String method, final int status) {
+        final TimerKey key = new TimerKey(route, KNOWN_METHODS.contains(method) ? method : OTHER_METHOD,
+            statusClass(status));
+        final Timer timer = timers.get(key);
+        return timer == null ? timers.computeIfAbsent(key, this::register) : timer;
+    }
+
+    private Timer register(final TimerKey key) {
+        return Timer.builder("http.server.requests")
+            .tag("method", key.method())
+            .tag("uri", key.route())
+            .tag("status", key.status())
+            .description("HTTP Server Requests")
+            .serviceLevelObjectives(properties.getServiceLevelObjectives().toArray(new Duration[0]))
+            .publishPercentiles(properties.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray())
+            .publishPercentileHistogram(properties.isPercentileHistogram())
+            .register(meterRegistry);
+    }
+
+    private static String statusClass(final int status) {
+        final int statusClass = status / 100;
+        return statusClass >= 1 && statusClass <= STATUS_CLASSES.length ? STATUS_CLASSES[statusClass - 1] : "UNKNOWN";
+    }
+
+    private record TimerKey(String route, String method, String status) {
+    }
 }
@@ -0,0 +1,231 @@
+package com.audition.configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for calls made to the upstream posts and comments API.
+ */
+@Data
+@ConfigurationProperties(prefix = "audition.upstream")
+public class UpstreamProperties {
+
+    private Transport transport = new Transport();
+    private Streaming streaming = new Streaming();
+    private Coalescing coalescing = new Coalescing();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Bulkhead bulkhead = new Bulkhead();
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+    private Hedging hedging = new Hedging();
+    private Batching batching = new Batching();
+    private Revalidation revalidation = new Revalidation();
+    private BodyLogging bodyLogging = new BodyLogging();
+
+    /**
+     * Outbound HTTP transport used by the rest template.
+     *
+     * <p>How long the JDK client keeps an idle connection is not set here: it is the JVM-wide
+     * {@code -Djdk.httpclient.keepalive.timeout} option, in seconds, which the JDK reads once when its connection pool
+     * is first used, so it has to be given on the command line rather than changed at runtime.
+     */
+    @Data
+    public static class Transport {
+
+        /**
+         * SIMPLE keeps the plain HttpURLConnection factory, JDK switches to the pooled java.net.http client.
+         */
+        private TransportType type = TransportType.SIMPLE;
+        private HttpClient.Version httpVersion = HttpClient.Version.HTTP_2;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Concurrent exchanges allowed against one scheme/host/port: connections over HTTP/1.1, but streams of a single
+         * multiplexed connection over HTTP/2.
+         */
+        private int maxExchangesPerRoute = 50;
+        private Duration connectionAcquireTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Concurrent HEAD requests sent once the application is ready; over HTTP/2 they share one connection, so 1 is
+         * enough to warm it.
+         */
+        private int prewarmRequests;
+        private String prewarmUrl = "https://jsonplaceholder.typicode.com/";
+    }
+
+    /**
+     * Parse list payloads element by element straight from the connection instead of buffering the whole body.
+     */
+    @Data
+    public static class Streaming {
+
+        private boolean enabled;
+    }
+
+    /**
+     * Share one in-flight upstream call between concurrent callers asking for the same resource.
+     */
+    @Data
+    public static class Coalescing {
+
+        private boolean enabled = true;
+    }
+
+    /**
+     * Per-operation circuit breaker over a count-based sliding window of call outcomes.
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+        private int slidingWindowSize = 20;
+
+        /**
+         * Calls recorded before the failure rate is evaluated.
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * Failure rate, in percent, at which the circuit opens.
+         */
+        private float failureRateThreshold = 50;
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpen = 3;
+    }
+
+    /**
+     * Cap on the concurrent calls of each upstream operation, so a slow upstream cannot hold every request thread.
+     */
+    @Data
+    public static class Bulkhead {
+
+        private boolean enabled = true;
+        private int maxConcurrentCalls = 25;
+        private Duration maxWait = Duration.ZERO;
+    }
+
+    /**
+     * Limit on all upstream calls in flight, adjusted from the observed round trip times.
+     */
+    @Data
+    public static class ConcurrencyLimit {
+
+        private boolean enabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+
+        /**
+         * How much the short-term RTT may exceed the no-load RTT before the limit starts shrinking.
+         */
+        private double rttTolerance = 2.0;
+
+        /**
+         * Weight of a new estimate against the current limit, between 0 and 1.
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * Factor applied to the limit when a call fails because of upstream.
+         */
+        private double backoffRatio = 0.9;
+        private Duration maxQueueWait = Duration.ofMillis(50);
+        private int maxQueueLength = 50;
+    }
+
+    /**
+     * Backup requests for slow idempotent reads, off unless enabled.
+     */
+    @Data
+    public static class Hedging {
+
+        private boolean enabled;
+        private List<String> operations = new ArrayList<>(List.of("getPostById", "getCommentsByPostId"));
+
+        /**
+         * Latency percentile of the recent calls after which the backup request is sent.
+         */
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(10);
+
+        /**
+         * Calls observed before hedging starts for an operation.
+         */
+        private int minSamples = 20;
+        private int windowSize = 200;
+
+        /**
+         * Backup requests allowed per call, so hedging adds at most this share of load.
+         */
+        private double budgetRatio = 0.1;
+        private int maxBurst = 10;
+
+        /**
+         * Threads running the attempts of blocking calls; a call finding none free is not hedged.
+         */
+        private int maxThreads = 16;
+    }
+
+    /**
+     * Single post and comment lookups collected for a few milliseconds and sent as one multi-valued query, off unless
+     * enabled.
+     */
+    @Data
+    public static class Batching {
+
+        private boolean enabled;
+        private int maxBatchSize = 20;
+
+        /**
+         * Longest time the first lookup of a batch waits for others to join it.
+         */
+        private Duration maxDelay = Duration.ofMillis(5);
+    }
+
+    /**
+     * Conditional reads: the ETag and Last-Modified of each resource are kept with its parsed value, and a later read
+     * answered 304 Not Modified returns that value without downloading or parsing the body again.
+     */
+    @Data
+    public static class Revalidation {
+
+        private boolean enabled = true;
+
+        /**
+         * Upper bound of the estimated size of the validators and values remembered, least recently read evicted
+         * first. It comes on top of the cache bound, as entries outlive their cached copy.
+         */
+        private DataSize maximumWeight = DataSize.ofMegabytes(4);
+    }
+
+    /**
+     * Capture of request and response bodies in the outbound exchange log. When off, bodies are neither read nor
+     * buffered for logging, and only the request line and status are logged.
+     */
+    @Data
+    public static class BodyLogging {
+
+        private boolean enabled;
+
+        /**
+         * Bytes of each body written to the log; the rest is cut off.
+         */
+        private DataSize maxBytes = DataSize.ofKilobytes(4);
+
+        /**
+         * Share of exchanges, between 0 and 1, whose bodies are captured.
+         */
+        private double sampleRate = 0.1;
+    }
+
+    public enum TransportType {
+        SIMPLE,
+        JDK
+    }
+}
@@ -1,20 +1,25 @@
 package com.audition.configuration;
 
 import com.audition.common.logging.AuditionLogger;
+import com.audition.integration.transport.JdkClientHttpRequestFactory;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import java.nio.charset.Charset;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.net.http.HttpClient;
 import java.text.SimpleDateFormat;
 import java.util.Locale;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.Map;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -28,7 +33,6 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
 
     private static final String YEAR_MONTH_DAY_PATTERN = "yyyy-MM-dd";
 
-    private static final Logger LOG = LoggerFactory.getLogger(WebServiceConfiguration.class);
     @Autowired
     private transient AuditionLogger logger;
 
@@ -41,6 +45,9 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
     @Autowired
     private transient RequestLoggingInjector requestLoggingInjector;
 
+    @Autowired
+    private transient UpstreamProperties upstreamProperties;
+
     /**
      * Add three injectors for a request, including:
      * 1. response header injector to return tracing info to client
@@ -63,6 +70,7 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
      * 3. maps to camelCase
      * 4. Does not include null values or empty values
      * 5. does not write datas as timestamps.
+     * 6. writes every field of filtered types unless a response selects its own filters
      *
      * @return ObjectMapper
      */
@@ -76,6 +84,7 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
         mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.setFilterProvider(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
 
         return mapper;
     }
@@ -87,7 +96,11 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
      */
     @Bean
     public RestTemplate restTemplate() {
-        final RestTemplate restTemplate = new RestTemplate(new BufferingClientHttpRequestFactory(createClientFactory()));
+        // bodies are only buffered when they are logged; streaming never is, it reads straight from the connection
+        final ClientHttpRequestFactory requestFactory = OutboundLoggingInterceptor.needsBuffering(upstreamProperties)
+            ? new BufferingClientHttpRequestFactory(createClientFactory())
+            : createClientFactory();
+        final RestTemplate restTemplate = new RestTemplate(requestFactory);
 
         final MappingJackson2HttpMessageConverter messageConverter = new MappingJackson2HttpMessageConverter();
         messageConverter.setObjectMapper(objectMapper());
@@ -99,38 +112,78 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
     }
 
     /**
-     * Add request and response info to and from a rest template call.
+     * Add request and response info to and from a rest template call, bodies included only when body capture is on
+     * and the exchange is sampled.
      *
      * @return ClientHttpRequestInterceptor
      */
     @Bean
-    @SuppressWarnings("PMD.GuardLogStatement")
     public ClientHttpRequestInterceptor loggingInterceptor() {
-        return (request, body, execution) -> {
-
-            final StringBuilder logMessage = new StringBuilder(1024);
-
-            logMessage.append("Request URI: ").append(request.getURI())
-                .append("\nRequest Method: ").append(request.getMethod())
-                .append("\nRequest Body: ").append(new String(body, Charset.defaultCharset())).append('\n');
-
-            logger.info(LOG, logMessage.toString());
-
-            final var response = execution.execute(request, body);
-
-            logMessage.setLength(0); // Clear the StringBuilder for reuse
-            logMessage.append("Response Status Code: ").append(response.getStatusCode())
-                .append("\nResponse Body: ").append(new String(response.getBody().readAllBytes(), Charset.defaultCharset())).append('\n');
-
-            logger.info(LOG, logMessage.toString());
+        return new OutboundLoggingInterceptor(logger, upstreamProperties);
+    }
 
-            return response;
+    /**
+     * Carry the logging context, trace and span ids included, over to the task executor threads that run upstream
+     * calls on behalf of a request.
+     *
+     * @return TaskDecorator picked up by the auto-configured application task executor
+     */
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return runnable -> {
+            final Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                final Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    runnable.run();
+                } finally {
+                    if (previous == null) {
+                        MDC.clear();
+                    } else {
+                        MDC.setContextMap(previous);
+                    }
+                }
+            };
         };
     }
 
-    private SimpleClientHttpRequestFactory createClientFactory() {
+    /**
+     * Shared JDK http client for upstream calls. It owns the keep-alive connection pool and negotiates HTTP/2 when
+     * the upstream supports it.
+     *
+     * @return HttpClient
+     */
+    @Bean
+    public HttpClient upstreamHttpClient() {
+        final UpstreamProperties.Transport transport = upstreamProperties.getTransport();
+        return HttpClient.newBuilder()
+            .version(transport.getHttpVersion())
+            .connectTimeout(transport.getConnectTimeout())
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    }
+
+    /**
+     * Pick the outbound transport configured under audition.upstream.transport.
+     *
+     * @return ClientHttpRequestFactory
+     */
+    ClientHttpRequestFactory createClientFactory() {
+        final UpstreamProperties.Transport transport = upstreamProperties.getTransport();
+        if (transport.getType() == UpstreamProperties.TransportType.JDK) {
+            return new JdkClientHttpRequestFactory(upstreamHttpClient(), transport.getReadTimeout(),
+                transport.getMaxExchangesPerRoute(), transport.getConnectionAcquireTimeout());
+        }
+
         final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
         requestFactory.setOutputStreaming(false);
+        requestFactory.setConnectTimeout((int) transport.getConnectTimeout().toMillis());
+        requestFactory.setReadTimeout((int) transport.getReadTimeout().toMillis());
         return requestFactory;
     }
 
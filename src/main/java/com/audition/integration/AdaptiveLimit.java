@@ -0,0 +1,87 @@
+package com.audition.integration;
+
+/**
+ * Gradient-style concurrency limit estimate, driven by the round trip times of completed calls.
+ *
+ * <p>A short-term RTT average is compared with a long-term one that stands for the no-load latency: while they stay
+ * within the tolerance the limit grows by about its square root per sample, and once upstream queueing pushes the
+ * short-term RTT up the gradient drops below one and the limit shrinks with it. Failed calls back off
+ * multiplicatively. The limit only grows while callers actually use at least half of it.
+ */
+final class AdaptiveLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final Object lock = new Object();
+
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    AdaptiveLimit(final int initialLimit, final int minLimit, final int maxLimit, final double rttTolerance,
+        final double smoothing, final double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.estimatedLimit = clamp(initialLimit);
+    }
+
+    int limit() {
+        synchronized (lock) {
+            return (int) estimatedLimit;
+        }
+    }
+
+    /**
+     * Feed the round trip time of a successful call.
+     *
+     * @param rttNanos round trip time
+     * @param inFlight calls in flight when this one started, itself included
+     */
+    void onSample(final long rttNanos, final int inFlight) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        synchronized (lock) {
+            if (longRtt == 0) {
+                shortRtt = rttNanos;
+                longRtt = rttNanos;
+            }
+            shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+            if (longRtt > 2 * shortRtt) {
+                // upstream got durably faster, let the baseline catch up instead of drifting for minutes
+                longRtt *= 0.95;
+            }
+            final double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+            final double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            if (target > estimatedLimit && inFlight < estimatedLimit / 2) {
+                // app-limited: a limit that is not used proves nothing about upstream capacity
+                return;
+            }
+            estimatedLimit = clamp(estimatedLimit * (1 - smoothing) + target * smoothing);
+        }
+    }
+
+    /**
+     * A call failed because of upstream: back off multiplicatively.
+     */
+    void onDrop() {
+        synchronized (lock) {
+            estimatedLimit = clamp(estimatedLimit * backoffRatio);
+        }
+    }
+
+    private double clamp(final double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
@@ -0,0 +1,138 @@
+package com.audition.integration;
+
+import com.audition.configuration.UpstreamProperties;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+
+/**
+ * Non-blocking JSON GETs on the shared JDK {@link HttpClient}: no thread waits while the exchange is in flight.
+ *
+ * <p>Failures are raised as the exceptions the rest template throws for the same situation (HttpClientErrorException,
+ * HttpServerErrorException, ResourceAccessException), so that {@link UpstreamErrors} maps both paths alike.
+ */
+@Component
+class AsyncJsonClient {
+
+    @Autowired
+    private transient HttpClient upstreamHttpClient;
+
+    @Autowired
+    private transient ObjectMapper objectMapper;
+
+    @Autowired
+    private transient UpstreamProperties upstreamProperties;
+
+    @Autowired(required = false)
+    private transient UpstreamValidators upstreamValidators;
+
+    /**
+     * Fetch and decode a JSON resource.
+     *
+     * @param url resource
+     * @param type type to decode the body into
+     * @param <T> result type
+     * @return future of the decoded body, the stored one when upstream reports it unchanged, null for an empty body;
+     *     cancelling it aborts the exchange
+     */
+    <T> CompletableFuture<T> get(final String url, final JavaType type) {
+        final boolean revalidating = upstreamValidators != null && upstreamValidators.isEnabled();
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+            .GET()
+            .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+            .timeout(upstreamProperties.getTransport().getReadTimeout());
+        if (revalidating) {
+            upstreamValidators.addConditions(url, builder::header);
+        }
+        final CompletableFuture<HttpResponse<byte[]>> exchange = upstreamHttpClient.sendAsync(builder.build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+        return Futures.cancelling(exchange.handle((response, e) -> {
+            if (e != null) {
+                throw ioError(url, Futures.unwrap(e));
+            }
+            if (revalidating) {
+                return upstreamValidators.resolve(url, response.statusCode(),
+                    name -> response.headers().firstValue(name).orElse(null), () -> decode(response, type));
+            }
+            return decode(response, type);
+        }), exchange);
+    }
+
+    /**
+     * Fetch and decode a JSON resource, failing with the mapped error.
+     *
+     * @param url resource
+     * @param type type to decode the body into
+     * @param errorMapper translates the failure
+     * @param <T> result type
+     * @return future of the decoded body; cancelling it aborts the exchange, which is how a losing hedge attempt is
+     *     stopped
+     */
+    <T> CompletableFuture<T> get(final String url, final JavaType type,
+        final Function<Throwable, ? extends Throwable> errorMapper) {
+        final CompletableFuture<T> decoded = get(url, type);
+        return Futures.cancelling(Futures.mapFailure(decoded, errorMapper), decoded);
+    }
+
+    private <T> T decode(final HttpResponse<byte[]> response, final JavaType type) {
+        final HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (status.isError()) {
+            throw statusError(response, status);
+        }
+        if (response.body().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new RestClientException("Error while extracting response for type [" + type + "]", e);
+        }
+    }
+
+    private static RestClientException statusError(final HttpResponse<byte[]> response,
+        final HttpStatusCode status) {
+        final HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        final HttpStatus known = HttpStatus.resolve(status.value());
+        final String statusText = known == null ? "" : known.getReasonPhrase();
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, statusText, headers, response.body(),
+                StandardCharsets.UTF_8);
+        }
+        if (status.is5xxServerError()) {
+            return HttpServerErrorException.create(status, statusText, headers, response.body(),
+                StandardCharsets.UTF_8);
+        }
+        return new UnknownHttpStatusCodeException(status.value(), statusText, headers, response.body(),
+            StandardCharsets.UTF_8);
+    }
+
+    private static RuntimeException ioError(final String url, final Throwable e) {
+        if (e instanceof IOException) {
+            return new ResourceAccessException("I/O error on GET request for \"" + url + "\": " + e.getMessage(),
+                (IOException) e);
+        }
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        return new RestClientException("GET request for \"" + url + "\" failed", e);
+    }
+}
@@ -1,17 +1,22 @@
 package com.audition.integration;
 
-import com.audition.common.exception.SystemException;
+import com.audition.configuration.UpstreamProperties;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -25,7 +30,31 @@ public class AuditionIntegrationClient {
     @Autowired
     private transient RestTemplate restTemplate;
 
-    private static final String POST_REST_URL = "https://jsonplaceholder.typicode.com/posts";
+    @Autowired
+    private transient ObjectMapper objectMapper;
+
+    @Autowired
+    private transient UpstreamProperties upstreamProperties;
+
+    @Autowired
+    private transient AsyncJsonClient asyncJsonClient;
+
+    @Autowired(required = false)
+    private transient BulkLookups bulkLookups;
+
+    @Autowired(required = false)
+    private transient ConditionalReads conditionalReads;
+
+    @Autowired(required = false)
+    private transient List<UpstreamCallInterceptor> interceptors = List.of();
+
+    static final String POST_REST_URL = "https://jsonplaceholder.typicode.com/posts";
+    static final String COMMENTS_REST_URL = "https://jsonplaceholder.typicode.com/comments";
+    private static final String COMMENTS = "/comments";
+    private static final String POST_RESOURCE = "posts/";
+
+    private static final RequestCallback ACCEPT_JSON = request -> request.getHeaders()
+        .setAccept(List.of(MediaType.APPLICATION_JSON));
 
     /**
      * Fetch all posts.
@@ -33,22 +62,16 @@ public class AuditionIntegrationClient {
      * @return List of AuditionPost
      */
     public List<AuditionPost> getPosts() {
-        try {
-            final ResponseEntity<List<AuditionPost>> response = restTemplate.exchange(
-                POST_REST_URL,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<AuditionPost>>() {
-                });
-            return response.getBody();
-        } catch (HttpClientErrorException e) {
-            throw new SystemException("Failed to retrieve posts", e.getStatusCode().value(), e);
-        } catch (ResourceAccessException e) {
-            throw new SystemException("Failed to retrieve posts due to network issues", e);
-        } catch (Exception e) {
-            // As a last resort, catch any other exceptions that haven't been caught by specific ones
-            throw new SystemException("An unexpected error occurred while retrieving posts", e);
-        }
+        return execute(UpstreamCall.read("getPosts", "posts"), this::fetchPosts);
+    }
+
+    /**
+     * Stream all posts, parsing them from the response one at a time without buffering the payload.
+     *
+     * @param consumer receives each post as soon as it has been read
+     */
+    public void forEachPost(final Consumer<? super AuditionPost> consumer) {
+        execute(UpstreamCall.stream("forEachPost", "posts"), () -> streamPosts(consumer));
     }
 
     /**
@@ -58,73 +81,191 @@ public class AuditionIntegrationClient {
      * @return AuditionPost
      */
     public AuditionPost getPostById(final int id) {
-        try {
-            return restTemplate.getForObject(POST_REST_URL + "/" + id, AuditionPost.class);
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new SystemException("Cannot find a Post with id " + id, "Resource Not Found", 404, e);
-            } else {
-                throw new SystemException(e.getResponseBodyAsString(), e.getStatusCode().value(), e);
-            }
-        } catch (Exception e) {
-            throw new SystemException("An unexpected error occurred while retrieving the post", e);
+        if (bulkLookups != null && bulkLookups.isEnabled()) {
+            return Futures.join(bulkLookups.getPostById(id));
         }
+        return execute(UpstreamCall.read("getPostById", POST_RESOURCE + id), () -> fetchPostById(id));
     }
 
     /**
-     * fetch post by id and filled with comments, service layer has provided this service.
+     * fetch a comment list of a dedicated post by id.
      *
-     * @param postId used to fetch post and comments of this post
-     * @return AuditionPost filled with comments
+     * @param postId used to fetch comments of a dedicated post by id
+     * @return List of comment of a post
      */
-    @Deprecated
-    public AuditionPost getPostWithCommentsById(final int postId) {
-        try {
-            // Fetch the post
-            final AuditionPost post = restTemplate.getForObject(POST_REST_URL + "/" + postId,
-                AuditionPost.class);
-
-            // Fetch the comments for the post
-            if (post != null) {
-                final List<Comment> comments = getCommentsByPostId(post.getId());
-                // Set comments to the post
-                post.setComments(comments);
-            }
-            return post;
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new SystemException("Cannot find a Post with id " + postId, "Resource Not Found", 404, e);
-            } else {
-                throw new SystemException(e.getResponseBodyAsString(), e.getStatusCode().value(), e);
-            }
-        } catch (Exception e) {
-            throw new SystemException("An unexpected error occurred while retrieving the post with comments", e);
+    public List<Comment> getCommentsByPostId(final int postId) {
+        if (bulkLookups != null && bulkLookups.isEnabled()) {
+            return Futures.join(bulkLookups.getCommentsByPostId(postId));
         }
+        return execute(UpstreamCall.read("getCommentsByPostId", POST_RESOURCE + postId + COMMENTS),
+            () -> fetchCommentsByPostId(postId));
     }
 
     /**
-     * fetch a comment list of a dedicated post by id.
+     * Stream the comments of a post, parsing them from the response one at a time without buffering the payload.
      *
      * @param postId used to fetch comments of a dedicated post by id
-     * @return List of comment of a post
+     * @param consumer receives each comment as soon as it has been read
      */
-    public List<Comment> getCommentsByPostId(final int postId) {
+    public void forEachCommentByPostId(final int postId, final Consumer<? super Comment> consumer) {
+        execute(UpstreamCall.stream("forEachCommentByPostId", POST_RESOURCE + postId + COMMENTS),
+            () -> streamCommentsByPostId(postId, consumer));
+    }
+
+    /**
+     * Fetch all posts without blocking the calling thread.
+     *
+     * @return future of the posts, failing with the same SystemException as {@link #getPosts()}
+     */
+    public CompletableFuture<List<AuditionPost>> getPostsAsync() {
+        final JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, AuditionPost.class);
+        return executeAsync(UpstreamCall.read("getPosts", "posts"),
+            () -> asyncJsonClient.get(POST_REST_URL, type, UpstreamErrors::postsError));
+    }
+
+    /**
+     * Fetch a post without blocking the calling thread.
+     *
+     * @param id used to fetch post
+     * @return future of the post, failing with the same SystemException as {@link #getPostById(int)}
+     */
+    public CompletableFuture<AuditionPost> getPostByIdAsync(final int id) {
+        if (bulkLookups != null && bulkLookups.isEnabled()) {
+            return bulkLookups.getPostById(id);
+        }
+        final JavaType type = objectMapper.constructType(AuditionPost.class);
+        return executeAsync(UpstreamCall.read("getPostById", POST_RESOURCE + id),
+            () -> asyncJsonClient.get(POST_REST_URL + "/" + id, type, e -> UpstreamErrors.postError(id, e)));
+    }
+
+    /**
+     * Fetch the comments of a post without blocking the calling thread.
+     *
+     * @param postId used to fetch comments of a dedicated post by id
+     * @return future of the comments, failing with the same SystemException as {@link #getCommentsByPostId(int)}
+     */
+    public CompletableFuture<List<Comment>> getCommentsByPostIdAsync(final int postId) {
+        if (bulkLookups != null && bulkLookups.isEnabled()) {
+            return bulkLookups.getCommentsByPostId(postId);
+        }
+        final JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, Comment.class);
+        return executeAsync(UpstreamCall.read("getCommentsByPostId", POST_RESOURCE + postId + COMMENTS),
+            () -> asyncJsonClient.get(commentsUrl(postId), type, e -> UpstreamErrors.commentsError(postId, e)));
+    }
+
+    /**
+     * Fetch every comment of every post in one call, without blocking the calling thread.
+     *
+     * @return future of all comments
+     */
+    public CompletableFuture<List<Comment>> getCommentsAsync() {
+        final JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, Comment.class);
+        return executeAsync(UpstreamCall.read("getComments", "comments"),
+            () -> asyncJsonClient.get(COMMENTS_REST_URL, type, UpstreamErrors::allCommentsError));
+    }
+
+    private List<AuditionPost> fetchPosts() {
+        if (isRevalidating()) {
+            return conditionalReads.read(POST_REST_URL,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, AuditionPost.class),
+                UpstreamErrors::postsError);
+        }
+        if (isStreaming()) {
+            final List<AuditionPost> posts = new ArrayList<>();
+            streamPosts(posts::add);
+            return posts;
+        }
+        try {
+            final ResponseEntity<List<AuditionPost>> response = restTemplate.exchange(
+                POST_REST_URL,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<AuditionPost>>() {
+                });
+            return response.getBody();
+        } catch (Exception e) {
+            throw UpstreamErrors.postsError(e);
+        }
+    }
+
+    private Integer streamPosts(final Consumer<? super AuditionPost> consumer) {
+        try {
+            return restTemplate.execute(POST_REST_URL, HttpMethod.GET, ACCEPT_JSON, response ->
+                JsonArrayStreams.forEachElement(objectMapper.readerFor(AuditionPost.class), response.getBody(), consumer));
+        } catch (Exception e) {
+            throw UpstreamErrors.postsError(e);
+        }
+    }
+
+    private AuditionPost fetchPostById(final int id) {
+        if (isRevalidating()) {
+            return conditionalReads.read(POST_REST_URL + "/" + id, objectMapper.constructType(AuditionPost.class),
+                e -> UpstreamErrors.postError(id, e));
+        }
+        try {
+            return restTemplate.getForObject(POST_REST_URL + "/" + id, AuditionPost.class);
+        } catch (Exception e) {
+            throw UpstreamErrors.postError(id, e);
+        }
+    }
+
+    private List<Comment> fetchCommentsByPostId(final int postId) {
+        if (isRevalidating()) {
+            return conditionalReads.read(commentsUrl(postId),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, Comment.class),
+                e -> UpstreamErrors.commentsError(postId, e));
+        }
+        if (isStreaming()) {
+            final List<Comment> comments = new ArrayList<>();
+            streamCommentsByPostId(postId, comments::add);
+            return comments;
+        }
         try {
             final ResponseEntity<List<Comment>> response = restTemplate.exchange(
-                POST_REST_URL + "/" + postId + "/comments",
+                commentsUrl(postId),
                 HttpMethod.GET,
                 null,
                 new ParameterizedTypeReference<List<Comment>>() {
                 });
             return response.getBody();
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new SystemException("Cannot find comments for Post with id " + postId, "Resource Not Found", 404, e);
-            } else {
-                throw new SystemException(e.getResponseBodyAsString(), e.getStatusCode().value(), e);
-            }
         } catch (Exception e) {
-            throw new SystemException("An unexpected error occurred while retrieving comments", e);
+            throw UpstreamErrors.commentsError(postId, e);
         }
     }
+
+    private Integer streamCommentsByPostId(final int postId, final Consumer<? super Comment> consumer) {
+        try {
+            return restTemplate.execute(commentsUrl(postId), HttpMethod.GET, ACCEPT_JSON, response ->
+                JsonArrayStreams.forEachElement(objectMapper.readerFor(Comment.class), response.getBody(), consumer));
+        } catch (Exception e) {
+            throw UpstreamErrors.commentsError(postId, e);
+        }
+    }
+
+    private static String commentsUrl(final int postId) {
+        return POST_REST_URL + "/" + postId + COMMENTS;
+    }
+
+    private boolean isRevalidating() {
+        return conditionalReads != null && conditionalReads.isEnabled();
+    }
+
+    private boolean isStreaming() {
+        return upstreamProperties.getStreaming().isEnabled();
+    }
+
+    /**
+     * Run the upstream call through the registered interceptors, the first one being the outermost.
+     */
+    private <T> T execute(final UpstreamCall call, final Supplier<T> fetch) {
+        return UpstreamCallChain.execute(interceptors, call, fetch);
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #execute(UpstreamCall, Supplier)}.
+     */
+    private <T> CompletableFuture<T> executeAsync(final UpstreamCall call,
+        final Supplier<CompletableFuture<T>> fetch) {
+        return UpstreamCallChain.executeAsync(interceptors, call, fetch);
+    }
 }
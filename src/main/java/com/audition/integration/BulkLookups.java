@@ -0,0 +1,115 @@
+package com.audition.integration;
+
+import com.audition.configuration.UpstreamProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micro-batching of single post and comment lookups: lookups arriving within a few milliseconds are sent as one
+ * multi-valued upstream query ({@code /posts?id=1&id=2}, {@code /comments?postId=1&postId=2}) and the answer is split
+ * back to each caller. Each caller sees the same result or {@link com.audition.common.exception.SystemException} as a
+ * single lookup would give it.
+ */
+@Component
+class BulkLookups {
+
+    @Autowired
+    private transient AsyncJsonClient asyncJsonClient;
+
+    @Autowired
+    private transient ObjectMapper objectMapper;
+
+    @Autowired
+    private transient UpstreamProperties upstreamProperties;
+
+    @Autowired
+    private transient TaskScheduler taskScheduler;
+
+    @Autowired(required = false)
+    private transient List<UpstreamCallInterceptor> interceptors = List.of();
+
+    private transient MicroBatcher<Integer, AuditionPost> postBatcher;
+    private transient MicroBatcher<Integer, List<Comment>> commentsBatcher;
+
+    /**
+     * Build the batchers from the configured batch size and window.
+     */
+    @PostConstruct
+    public void initBatchers() {
+        final UpstreamProperties.Batching batching = upstreamProperties.getBatching();
+        postBatcher = new MicroBatcher<>(batching.getMaxBatchSize(), batching.getMaxDelay(), taskScheduler,
+            this::fetchPosts);
+        commentsBatcher = new MicroBatcher<>(batching.getMaxBatchSize(), batching.getMaxDelay(), taskScheduler,
+            this::fetchComments);
+    }
+
+    boolean isEnabled() {
+        return upstreamProperties.getBatching().isEnabled();
+    }
+
+    CompletableFuture<AuditionPost> getPostById(final int id) {
+        final CompletableFuture<AuditionPost> result = new CompletableFuture<>();
+        postBatcher.get(id).whenComplete((post, e) -> {
+            if (e != null) {
+                result.completeExceptionally(UpstreamErrors.postError(id, Futures.unwrap(e)));
+            } else if (post == null) {
+                result.completeExceptionally(UpstreamErrors.postNotFound(id));
+            } else {
+                result.complete(post);
+            }
+        });
+        return result;
+    }
+
+    CompletableFuture<List<Comment>> getCommentsByPostId(final int postId) {
+        return Futures.mapFailure(commentsBatcher.get(postId), e -> UpstreamErrors.commentsError(postId, e));
+    }
+
+    private CompletableFuture<Map<Integer, AuditionPost>> fetchPosts(final List<Integer> ids) {
+        final String query = query("id", ids);
+        final JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, AuditionPost.class);
+        return UpstreamCallChain.<List<AuditionPost>>executeAsync(interceptors,
+                UpstreamCall.read("getPostsByIds", "posts" + query),
+                () -> asyncJsonClient.get(AuditionIntegrationClient.POST_REST_URL + query, type))
+            .thenApply(posts -> posts == null ? Map.of() : posts.stream()
+                .collect(Collectors.toMap(AuditionPost::getId, post -> post, (first, second) -> first)));
+    }
+
+    /**
+     * Every requested post gets a list, an empty one when upstream has no comments for it, as on the single lookup.
+     */
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    private CompletableFuture<Map<Integer, List<Comment>>> fetchComments(final List<Integer> postIds) {
+        final String query = query("postId", postIds);
+        final JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, Comment.class);
+        return UpstreamCallChain.<List<Comment>>executeAsync(interceptors,
+                UpstreamCall.read("getCommentsByPostIds", "comments" + query),
+                () -> asyncJsonClient.get(AuditionIntegrationClient.COMMENTS_REST_URL + query, type))
+            .thenApply(comments -> {
+                final Map<Integer, List<Comment>> byPostId = postIds.stream()
+                    .collect(Collectors.toMap(postId -> postId, postId -> new ArrayList<>()));
+                if (comments != null) {
+                    comments.forEach(comment -> byPostId.computeIfPresent(comment.getPostId(), (postId, list) -> {
+                        list.add(comment);
+                        return list;
+                    }));
+                }
+                return byPostId;
+            });
+    }
+
+    private static String query(final String name, final List<Integer> ids) {
+        return ids.stream().map(id -> name + "=" + id).collect(Collectors.joining("&", "?", ""));
+    }
+}
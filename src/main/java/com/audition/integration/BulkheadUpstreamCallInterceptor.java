@@ -0,0 +1,118 @@
+package com.audition.integration;
+
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulkhead: cap the concurrent calls of each upstream operation so that one slow operation cannot hold every request
+ * thread. A call that does not get a slot within the configured wait is refused.
+ */
+@Component
+@Order(UpstreamCallInterceptor.BULKHEAD_ORDER)
+public class BulkheadUpstreamCallInterceptor implements UpstreamCallInterceptor {
+
+    private static final String OPERATION = "operation";
+
+    private final transient MeterRegistry meterRegistry;
+    private final transient UpstreamProperties.Bulkhead properties;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Create the interceptor.
+     *
+     * @param meterRegistry MeterRegistry
+     * @param upstreamProperties UpstreamProperties
+     */
+    public BulkheadUpstreamCallInterceptor(final MeterRegistry meterRegistry,
+        final UpstreamProperties upstreamProperties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = upstreamProperties.getBulkhead();
+    }
+
+    @Override
+    public <T> T intercept(final UpstreamCall call, final Supplier<T> next) {
+        if (!properties.isEnabled()) {
+            return next.get();
+        }
+
+        final Semaphore semaphore = permits.computeIfAbsent(call.operation(), this::createPermits);
+        if (!acquire(semaphore)) {
+            throw rejected(call);
+        }
+        try {
+            return next.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * Non-blocking calls do not hold a thread while in flight, but still count against the limit of their operation;
+     * they never wait for a slot.
+     */
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> CompletableFuture<T> interceptAsync(final UpstreamCall call,
+        final Supplier<CompletableFuture<T>> next) {
+        if (!properties.isEnabled()) {
+            return next.get();
+        }
+
+        final Semaphore semaphore = permits.computeIfAbsent(call.operation(), this::createPermits);
+        if (!semaphore.tryAcquire()) {
+            return CompletableFuture.failedFuture(rejected(call));
+        }
+        final CompletableFuture<T> result;
+        try {
+            result = next.get();
+        } catch (RuntimeException | Error e) {
+            semaphore.release();
+            throw e;
+        }
+        result.whenComplete((value, e) -> semaphore.release());
+        return result;
+    }
+
+    private boolean acquire(final Semaphore semaphore) {
+        try {
+            return semaphore.tryAcquire(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private UpstreamUnavailableException rejected(final UpstreamCall call) {
+        rejectedCounter(call.operation()).increment();
+        return new UpstreamUnavailableException("Too many concurrent calls to " + call.operation(),
+            call.operation(), properties.getMaxWait());
+    }
+
+    private Semaphore createPermits(final String operation) {
+        final Semaphore semaphore = new Semaphore(properties.getMaxConcurrentCalls());
+        Gauge.builder("upstream.bulkhead.available", semaphore, Semaphore::availablePermits)
+            .description("Free concurrent call slots of the operation")
+            .tag(OPERATION, operation)
+            .register(meterRegistry);
+        return semaphore;
+    }
+
+    private Counter rejectedCounter(final String operation) {
+        return rejectedCounters.computeIfAbsent(operation, op -> Counter.builder("upstream.bulkhead.rejected")
+            .description("Upstream calls refused because the bulkhead was full")
+            .tag(OPERATION, op)
+            .register(meterRegistry));
+    }
+}
@@ -0,0 +1,155 @@
+package com.audition.integration;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker over the outcomes of the last calls of one upstream operation.
+ *
+ * <p>CLOSED lets every call through and opens once the failure rate of the sliding window reaches the threshold.
+ * OPEN rejects calls until the wait duration has passed, then HALF_OPEN lets a few probe calls through: the circuit
+ * closes again when they all succeed and re-opens on the first failure.
+ */
+final class CircuitBreaker {
+
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final long waitInOpenNanos;
+    private final int permittedCallsInHalfOpen;
+    private final LongSupplier nanoTime;
+    private final Object lock = new Object();
+
+    private final boolean[] window;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State current = State.CLOSED;
+    private long openedAt;
+    private int probesLeft;
+    private int probeSuccesses;
+
+    CircuitBreaker(final int slidingWindowSize, final int minimumCalls, final float failureRateThreshold,
+        final Duration waitInOpenState, final int permittedCallsInHalfOpen, final LongSupplier nanoTime) {
+        this.window = new boolean[Math.max(1, slidingWindowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.waitInOpenNanos = waitInOpenState.toNanos();
+        this.permittedCallsInHalfOpen = Math.max(1, permittedCallsInHalfOpen);
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Ask for permission to make a call; every granted permission must be followed by exactly one of
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     *
+     * @return false when the call must be rejected
+     */
+    boolean tryAcquire() {
+        synchronized (lock) {
+            if (current == State.OPEN && nanoTime.getAsLong() - openedAt >= waitInOpenNanos) {
+                current = State.HALF_OPEN;
+                probesLeft = permittedCallsInHalfOpen;
+                probeSuccesses = 0;
+            }
+            if (current == State.HALF_OPEN) {
+                if (probesLeft == 0) {
+                    return false;
+                }
+                probesLeft--;
+                return true;
+            }
+            return current == State.CLOSED;
+        }
+    }
+
+    void onSuccess() {
+        synchronized (lock) {
+            if (current == State.HALF_OPEN) {
+                probeSuccesses++;
+                if (probeSuccesses >= permittedCallsInHalfOpen) {
+                    close();
+                }
+            } else if (current == State.CLOSED) {
+                record(false);
+            }
+        }
+    }
+
+    void onFailure() {
+        synchronized (lock) {
+            if (current == State.HALF_OPEN) {
+                open();
+            } else if (current == State.CLOSED) {
+                record(true);
+            }
+        }
+    }
+
+    /**
+     * The permitted call ended without telling anything about upstream health, e.g. it was refused further down.
+     */
+    void onIgnored() {
+        synchronized (lock) {
+            if (current == State.HALF_OPEN) {
+                probesLeft++;
+            }
+        }
+    }
+
+    State state() {
+        synchronized (lock) {
+            return current;
+        }
+    }
+
+    /**
+     * Time left before the open circuit lets probe calls through.
+     *
+     * @return remaining wait, zero when not open
+     */
+    Duration remainingOpen() {
+        synchronized (lock) {
+            if (current != State.OPEN) {
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos(Math.max(0, waitInOpenNanos - (nanoTime.getAsLong() - openedAt)));
+        }
+    }
+
+    private void record(final boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+        if (recorded >= minimumCalls && failures * 100f >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    private void open() {
+        current = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+    }
+
+    private void close() {
+        current = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,148 @@
+package com.audition.integration;
+
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fail fast while an upstream operation keeps failing, instead of tying a request thread up until it times out.
+ *
+ * <p>Only upstream health counts as a failure: network errors, timeouts and 5xx responses. A 4xx answer means
+ * upstream is up and is recorded as a success.
+ */
+@Component
+@Order(UpstreamCallInterceptor.CIRCUIT_BREAKER_ORDER)
+public class CircuitBreakerUpstreamCallInterceptor implements UpstreamCallInterceptor {
+
+    private static final String OPERATION = "operation";
+
+    private final transient MeterRegistry meterRegistry;
+    private final transient UpstreamProperties.CircuitBreaker properties;
+    private final transient LongSupplier nanoTime;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> callCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Create the interceptor.
+     *
+     * @param meterRegistry MeterRegistry
+     * @param upstreamProperties UpstreamProperties
+     */
+    @Autowired
+    public CircuitBreakerUpstreamCallInterceptor(final MeterRegistry meterRegistry,
+        final UpstreamProperties upstreamProperties) {
+        this(meterRegistry, upstreamProperties, System::nanoTime);
+    }
+
+    CircuitBreakerUpstreamCallInterceptor(final MeterRegistry meterRegistry,
+        final UpstreamProperties upstreamProperties, final LongSupplier nanoTime) {
+        this.meterRegistry = meterRegistry;
+        this.properties = upstreamProperties.getCircuitBreaker();
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> T intercept(final UpstreamCall call, final Supplier<T> next) {
+        if (!properties.isEnabled()) {
+            return next.get();
+        }
+
+        final CircuitBreaker breaker = acquire(call);
+        try {
+            final T result = next.get();
+            onOutcome(breaker, call, null);
+            return result;
+        } catch (RuntimeException | Error e) {
+            onOutcome(breaker, call, e);
+            throw e;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> CompletableFuture<T> interceptAsync(final UpstreamCall call,
+        final Supplier<CompletableFuture<T>> next) {
+        if (!properties.isEnabled()) {
+            return next.get();
+        }
+
+        final CircuitBreaker breaker;
+        try {
+            breaker = acquire(call);
+        } catch (UpstreamUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final CompletableFuture<T> result;
+        try {
+            result = next.get();
+        } catch (RuntimeException | Error e) {
+            onOutcome(breaker, call, e);
+            throw e;
+        }
+        result.whenComplete((value, e) -> onOutcome(breaker, call, e == null ? null : Futures.unwrap(e)));
+        return result;
+    }
+
+    CircuitBreaker.State state(final String operation) {
+        final CircuitBreaker breaker = breakers.get(operation);
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    private CircuitBreaker acquire(final UpstreamCall call) {
+        final CircuitBreaker breaker = breakers.computeIfAbsent(call.operation(), this::createBreaker);
+        if (!breaker.tryAcquire()) {
+            callCounter(call.operation(), "rejected").increment();
+            throw new UpstreamUnavailableException("Circuit breaker is open for " + call.operation(),
+                call.operation(), breaker.remainingOpen());
+        }
+        return breaker;
+    }
+
+    private void onOutcome(final CircuitBreaker breaker, final UpstreamCall call, final Throwable failure) {
+        if (failure instanceof UpstreamUnavailableException
+            || failure != null && HedgingUpstreamCallInterceptor.isCancelledAttempt()) {
+            // refused further down or cancelled by the hedge race, says nothing about upstream
+            breaker.onIgnored();
+        } else if (failure != null && UpstreamErrors.isUpstreamFailure(failure)) {
+            breaker.onFailure();
+            callCounter(call.operation(), "failure").increment();
+        } else {
+            breaker.onSuccess();
+            callCounter(call.operation(), "success").increment();
+        }
+    }
+
+    private CircuitBreaker createBreaker(final String operation) {
+        final CircuitBreaker breaker = new CircuitBreaker(properties.getSlidingWindowSize(),
+            properties.getMinimumCalls(), properties.getFailureRateThreshold(), properties.getWaitInOpenState(),
+            properties.getPermittedCallsInHalfOpen(), nanoTime);
+        for (final CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("upstream.circuit.state", breaker, b -> b.state() == state ? 1 : 0)
+                .description("1 for the current circuit breaker state of the operation, 0 otherwise")
+                .tag(OPERATION, operation)
+                .tag("state", state.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        }
+        return breaker;
+    }
+
+    private Counter callCounter(final String operation, final String outcome) {
+        return callCounters.computeIfAbsent(operation + '|' + outcome, key -> Counter.builder("upstream.circuit.calls")
+            .description("Upstream calls seen by the circuit breaker")
+            .tag(OPERATION, operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+    }
+}
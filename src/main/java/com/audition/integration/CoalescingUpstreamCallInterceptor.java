@@ -0,0 +1,123 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-flight coalescing: concurrent callers asking for the same upstream resource share the one call already in
+ * flight instead of each sending their own request. Its result, or its exception, is handed to every waiter.
+ */
+@Component
+@Order(UpstreamCallInterceptor.COALESCING_ORDER)
+public class CoalescingUpstreamCallInterceptor implements UpstreamCallInterceptor {
+
+    private final transient MeterRegistry meterRegistry;
+    private final transient UpstreamProperties upstreamProperties;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Initialize the interceptor and register the in-flight gauge.
+     *
+     * @param meterRegistry MeterRegistry
+     * @param upstreamProperties UpstreamProperties
+     */
+    public CoalescingUpstreamCallInterceptor(final MeterRegistry meterRegistry,
+        final UpstreamProperties upstreamProperties) {
+        this.meterRegistry = meterRegistry;
+        this.upstreamProperties = upstreamProperties;
+        meterRegistry.gaugeMapSize("upstream.calls.coalescing.inflight", List.of(), inFlight);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "PMD.AvoidCatchingGenericException"})
+    public <T> T intercept(final UpstreamCall call, final Supplier<T> next) {
+        if (!upstreamProperties.getCoalescing().isEnabled() || !call.shareable()) {
+            return next.get();
+        }
+
+        final CompletableFuture<Object> leader = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(call.resource(), leader);
+        if (existing != null) {
+            coalescedCounter(call.operation()).increment();
+            return (T) await(existing);
+        }
+
+        try {
+            final T result = next.get();
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(call.resource(), leader);
+        }
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "PMD.AvoidCatchingGenericException"})
+    public <T> CompletableFuture<T> interceptAsync(final UpstreamCall call,
+        final Supplier<CompletableFuture<T>> next) {
+        if (!upstreamProperties.getCoalescing().isEnabled() || !call.shareable()) {
+            return next.get();
+        }
+
+        final CompletableFuture<Object> leader = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(call.resource(), leader);
+        if (existing != null) {
+            coalescedCounter(call.operation()).increment();
+            return (CompletableFuture<T>) Futures.relay(existing);
+        }
+
+        final CompletableFuture<T> result;
+        try {
+            result = next.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(call.resource(), leader);
+            leader.completeExceptionally(e);
+            throw e;
+        }
+        result.whenComplete((value, e) -> {
+            inFlight.remove(call.resource(), leader);
+            if (e == null) {
+                leader.complete(value);
+            } else {
+                leader.completeExceptionally(Futures.unwrap(e));
+            }
+        });
+        return result;
+    }
+
+    private static Object await(final CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SystemException("An unexpected error occurred while waiting for a shared upstream call", e);
+        }
+    }
+
+    private Counter coalescedCounter(final String operation) {
+        return coalescedCounters.computeIfAbsent(operation, op -> Counter.builder("upstream.calls.coalesced")
+            .description("Upstream calls answered by an identical call already in flight")
+            .tag("operation", op)
+            .register(meterRegistry));
+    }
+}
@@ -0,0 +1,201 @@
+package com.audition.integration;
+
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive limit on the upstream calls in flight, shared by every operation since they all hit the same upstream.
+ *
+ * <p>The limit follows the observed round trip times (see {@link AdaptiveLimit}) instead of a fixed pool size. A call
+ * over the limit waits briefly in a bounded queue for a slot and is refused when none frees up in time.
+ */
+@Component
+@Order(UpstreamCallInterceptor.CONCURRENCY_LIMIT_ORDER)
+public class ConcurrencyLimitUpstreamCallInterceptor implements UpstreamCallInterceptor {
+
+    private final transient UpstreamProperties.ConcurrencyLimit properties;
+    private final transient AdaptiveLimit adaptiveLimit;
+    private final transient LongSupplier nanoTime;
+    private final transient Counter rejectedCounter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private int active;
+    private int queued;
+
+    /**
+     * Create the interceptor and register its metrics.
+     *
+     * @param meterRegistry MeterRegistry
+     * @param upstreamProperties UpstreamProperties
+     */
+    @Autowired
+    public ConcurrencyLimitUpstreamCallInterceptor(final MeterRegistry meterRegistry,
+        final UpstreamProperties upstreamProperties) {
+        this(meterRegistry, upstreamProperties, System::nanoTime);
+    }
+
+    ConcurrencyLimitUpstreamCallInterceptor(final MeterRegistry meterRegistry,
+        final UpstreamProperties upstreamProperties, final LongSupplier nanoTime) {
+        this.properties = upstreamProperties.getConcurrencyLimit();
+        this.nanoTime = nanoTime;
+        this.adaptiveLimit = new AdaptiveLimit(properties.getInitialLimit(), properties.getMinLimit(),
+            properties.getMaxLimit(), properties.getRttTolerance(), properties.getSmoothing(),
+            properties.getBackoffRatio());
+        Gauge.builder("upstream.concurrency.limit", adaptiveLimit, AdaptiveLimit::limit)
+            .description("Current adaptive limit of upstream calls in flight")
+            .register(meterRegistry);
+        Gauge.builder("upstream.concurrency.inflight", this, ConcurrencyLimitUpstreamCallInterceptor::inFlight)
+            .description("Upstream calls in flight")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("upstream.concurrency.rejected")
+            .description("Upstream calls refused because the concurrency limit was reached")
+            .register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> T intercept(final UpstreamCall call, final Supplier<T> next) {
+        if (!properties.isEnabled()) {
+            return next.get();
+        }
+
+        final int concurrency = acquire(properties.getMaxQueueWait().toNanos());
+        if (concurrency == 0) {
+            throw rejected(call);
+        }
+
+        final long start = nanoTime.getAsLong();
+        try {
+            final T result = next.get();
+            adaptiveLimit.onSample(nanoTime.getAsLong() - start, concurrency);
+            return result;
+        } catch (RuntimeException | Error e) {
+            onFailure(e, nanoTime.getAsLong() - start, concurrency);
+            throw e;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Non-blocking calls count against the same limit but never wait in the queue.
+     */
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> CompletableFuture<T> interceptAsync(final UpstreamCall call,
+        final Supplier<CompletableFuture<T>> next) {
+        if (!properties.isEnabled()) {
+            return next.get();
+        }
+
+        final int concurrency = acquire(0);
+        if (concurrency == 0) {
+            return CompletableFuture.failedFuture(rejected(call));
+        }
+
+        final long start = nanoTime.getAsLong();
+        final CompletableFuture<T> result;
+        try {
+            result = next.get();
+        } catch (RuntimeException | Error e) {
+            onFailure(e, nanoTime.getAsLong() - start, concurrency);
+            release();
+            throw e;
+        }
+        result.whenComplete((value, e) -> {
+            final long rtt = nanoTime.getAsLong() - start;
+            if (e == null) {
+                adaptiveLimit.onSample(rtt, concurrency);
+            } else {
+                onFailure(Futures.unwrap(e), rtt, concurrency);
+            }
+            release();
+        });
+        return result;
+    }
+
+    private UpstreamUnavailableException rejected(final UpstreamCall call) {
+        rejectedCounter.increment();
+        return new UpstreamUnavailableException("Upstream concurrency limit reached for " + call.operation(),
+            call.operation(), properties.getMaxQueueWait());
+    }
+
+    private void onFailure(final Throwable e, final long rttNanos, final int concurrency) {
+        if (UpstreamErrors.isUpstreamFailure(e)) {
+            adaptiveLimit.onDrop();
+        } else if (!(e instanceof UpstreamUnavailableException)) {
+            // upstream answered, e.g. with a 404, which is as good a latency sample as a success
+            adaptiveLimit.onSample(rttNanos, concurrency);
+        }
+    }
+
+    int limit() {
+        return adaptiveLimit.limit();
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take a slot, waiting in the queue for at most the given time.
+     *
+     * @param maxWaitNanos longest wait for a slot, 0 to not queue at all
+     * @return calls in flight including this one, or 0 when refused
+     */
+    private int acquire(final long maxWaitNanos) {
+        lock.lock();
+        try {
+            if (active < adaptiveLimit.limit()) {
+                return ++active;
+            }
+            if (maxWaitNanos <= 0 || queued >= properties.getMaxQueueLength()) {
+                return 0;
+            }
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (active >= adaptiveLimit.limit()) {
+                    if (remaining <= 0) {
+                        return 0;
+                    }
+                    remaining = slotFreed.awaitNanos(remaining);
+                }
+                return ++active;
+            } finally {
+                queued--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            active--;
+            slotFreed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.audition.integration;
+
+import com.audition.configuration.UpstreamProperties;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * JSON reads through the rest template made conditional on the validators kept by {@link UpstreamValidators}, so that
+ * an unchanged resource is neither downloaded nor parsed again. Bodies are parsed the way the plain reads of
+ * {@link AuditionIntegrationClient} parse them, element by element when streaming is enabled.
+ */
+@Component
+class ConditionalReads {
+
+    @Autowired
+    private transient RestTemplate restTemplate;
+
+    @Autowired
+    private transient ObjectMapper objectMapper;
+
+    @Autowired
+    private transient UpstreamProperties upstreamProperties;
+
+    @Autowired
+    private transient UpstreamValidators upstreamValidators;
+
+    boolean isEnabled() {
+        return upstreamValidators.isEnabled();
+    }
+
+    /**
+     * Read a JSON resource.
+     *
+     * @param url resource
+     * @param type type to decode the body into
+     * @param error maps a failure to the exception raised to the caller
+     * @param <T> result type
+     * @return decoded body, the stored one when upstream reports it unchanged, null for an empty body
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    <T> T read(final String url, final JavaType type, final Function<Exception, RuntimeException> error) {
+        try {
+            return restTemplate.execute(url, HttpMethod.GET,
+                request -> {
+                    request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                    upstreamValidators.addConditions(url, request.getHeaders()::set);
+                },
+                response -> upstreamValidators.resolve(url, response.getStatusCode().value(),
+                    response.getHeaders()::getFirst, () -> decode(response, type)));
+        } catch (Exception e) {
+            throw error.apply(e);
+        }
+    }
+
+    private <T> T decode(final ClientHttpResponse response, final JavaType type) {
+        try (PushbackInputStream body = new PushbackInputStream(response.getBody())) {
+            final int first = body.read();
+            if (first < 0) {
+                return null;
+            }
+            body.unread(first);
+            if (type.isCollectionLikeType() && upstreamProperties.getStreaming().isEnabled()) {
+                return collect(body, type);
+            }
+            return objectMapper.readValue((InputStream) body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T collect(final InputStream body, final JavaType type) throws IOException {
+        final List<Object> elements = new ArrayList<>();
+        JsonArrayStreams.forEachElement(objectMapper.readerFor(type.getContentType()), body, elements::add);
+        return (T) elements;
+    }
+}
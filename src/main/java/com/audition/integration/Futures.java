@@ -0,0 +1,104 @@
+package com.audition.integration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Helpers for the asynchronous upstream calls, keeping failures as the plain exception rather than wrapped in
+ * {@link CompletionException}s so that callers and the controller advice see the same exceptions as on the blocking
+ * path.
+ *
+ * <p>Public so that the services joining these futures on behalf of blocking callers share {@link #join}.
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * The failure behind any {@link CompletionException} and {@link ExecutionException} wrappers.
+     *
+     * @param e failure of a future
+     * @return the innermost wrapped failure, or {@code e} itself when it is not a wrapper
+     */
+    public static Throwable unwrap(final Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+            && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * A future completed like the source, with any failure unwrapped and passed through the mapper.
+     *
+     * @param source future to follow
+     * @param errorMapper translates the failure
+     * @param <T> result type
+     * @return new future
+     */
+    static <T> CompletableFuture<T> mapFailure(final CompletableFuture<? extends T> source,
+        final Function<Throwable, ? extends Throwable> errorMapper) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        source.whenComplete((value, e) -> {
+            if (e == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(errorMapper.apply(unwrap(e)));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * A future completed like the source, with any failure unwrapped.
+     *
+     * @param source future to follow
+     * @param <T> result type
+     * @return new future
+     */
+    static <T> CompletableFuture<T> relay(final CompletableFuture<? extends T> source) {
+        return mapFailure(source, Function.identity());
+    }
+
+    /**
+     * Cancel the source once the dependent future is cancelled. Only for a source that the dependent is the sole
+     * consumer of, never for one shared between callers.
+     *
+     * @param dependent future derived from the source
+     * @param source future to cancel along
+     * @param <T> result type
+     * @return the dependent future
+     */
+    static <T> CompletableFuture<T> cancelling(final CompletableFuture<T> dependent, final Future<?> source) {
+        dependent.whenComplete((value, e) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+
+    /**
+     * Wait for the future on behalf of a blocking caller, rethrowing its failure unwrapped.
+     *
+     * @param future future to wait for
+     * @param <T> result type
+     * @return the result
+     */
+    public static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            final Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+}
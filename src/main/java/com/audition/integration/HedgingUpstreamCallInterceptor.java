@@ -0,0 +1,440 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hedged requests for the idempotent reads listed under audition.upstream.hedging.operations.
+ *
+ * <p>When a call has not answered within the configured percentile of the recent latencies of its operation, a
+ * backup call is sent; the first successful answer wins. Backups are paid for out of a token budget refilled by a
+ * fraction of every call, so hedging can never add more than that fraction of load, even while upstream is slow
+ * across the board.
+ *
+ * <p>Asynchronous calls race without any extra thread: the primary is sent at once and the backup is started by the
+ * task scheduler when the delay expires. Blocking calls run their attempts on a bounded executor of their own that
+ * never queues, so the delay is counted from the moment the primary attempt starts and hedging cannot starve the
+ * application task executor. A call finding no free thread runs on the calling thread without hedging. Either way the
+ * losing attempt is cancelled as soon as the other one wins, so a hedge does not keep a second upstream exchange going.
+ * The race marks the attempt it cancels, so that the interceptors further down, which see it fail, can tell it from an
+ * upstream failure through {@link #isCancelledAttempt()}.
+ */
+@Component
+@Order(UpstreamCallInterceptor.HEDGING_ORDER)
+@SuppressWarnings("PMD.TooManyMethods")
+public class HedgingUpstreamCallInterceptor implements UpstreamCallInterceptor, DisposableBean {
+
+    private static final String OPERATION = "operation";
+    private static final long TOKEN = 1000;
+
+    /**
+     * Cancellation mark of the hedge attempt running on the current thread, if any.
+     */
+    private static final ThreadLocal<AtomicBoolean> CANCELLED = new ThreadLocal<>();
+
+    private final transient MeterRegistry meterRegistry;
+    private final transient UpstreamProperties.Hedging properties;
+    private final transient ThreadPoolTaskExecutor executor;
+    private final transient TaskScheduler taskScheduler;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong budget = new AtomicLong();
+
+    /**
+     * Create the interceptor and its executor.
+     *
+     * @param meterRegistry MeterRegistry
+     * @param upstreamProperties UpstreamProperties
+     * @param taskScheduler starts the backups of asynchronous calls
+     * @param taskDecorator carries the logging context over to the attempts of blocking calls
+     */
+    @Autowired
+    public HedgingUpstreamCallInterceptor(final MeterRegistry meterRegistry,
+        final UpstreamProperties upstreamProperties, final TaskScheduler taskScheduler,
+        final TaskDecorator taskDecorator) {
+        this(meterRegistry, upstreamProperties, hedgingExecutor(upstreamProperties.getHedging(), taskDecorator),
+            taskScheduler);
+    }
+
+    HedgingUpstreamCallInterceptor(final MeterRegistry meterRegistry, final UpstreamProperties upstreamProperties,
+        final ThreadPoolTaskExecutor executor, final TaskScheduler taskScheduler) {
+        this.meterRegistry = meterRegistry;
+        this.properties = upstreamProperties.getHedging();
+        this.executor = executor;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public <T> T intercept(final UpstreamCall call, final Supplier<T> next) {
+        if (!isHedged(call)) {
+            return next.get();
+        }
+
+        final LatencyWindow window = window(call);
+        deposit();
+        if (window.count() < properties.getMinSamples()) {
+            return timed(next, window);
+        }
+        final HedgeRace<T> race = new HedgeRace<>();
+        final Future<?> primary;
+        try {
+            primary = race.submit(executor, next, window, false);
+        } catch (TaskRejectedException e) {
+            return timed(next, window);
+        }
+        try {
+            final T result = race.awaitPastStart(delay(window));
+            if (race.isDone()) {
+                return result;
+            }
+            return hedge(call, next, window, race);
+        } finally {
+            race.cancelUnlessWinner(primary, false);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> interceptAsync(final UpstreamCall call,
+        final Supplier<CompletableFuture<T>> next) {
+        if (!isHedged(call)) {
+            return next.get();
+        }
+
+        final LatencyWindow window = window(call);
+        deposit();
+        final HedgeRace<T> race = new HedgeRace<>();
+        race.winner.thenRun(race::cancelLosers);
+        race.attemptAsync(next, window, false);
+        if (race.isDone() || window.count() < properties.getMinSamples()) {
+            return race.winner;
+        }
+        final ScheduledFuture<?> timer = taskScheduler.schedule(() -> hedgeAsync(call, next, window, race),
+            taskScheduler.getClock().instant().plus(Duration.ofNanos(delay(window))));
+        race.winner.whenComplete((result, e) -> timer.cancel(false));
+        return race.winner;
+    }
+
+    /**
+     * Whether the current thread runs a hedge attempt that the race has cancelled because the other attempt won. The
+     * failure such an attempt ends with says nothing about upstream.
+     *
+     * @return boolean
+     */
+    static boolean isCancelledAttempt() {
+        final AtomicBoolean cancelled = CANCELLED.get();
+        return cancelled != null && cancelled.get();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private boolean isHedged(final UpstreamCall call) {
+        return properties.isEnabled() && call.shareable() && properties.getOperations().contains(call.operation());
+    }
+
+    private LatencyWindow window(final UpstreamCall call) {
+        return latencies.computeIfAbsent(call.operation(), op -> new LatencyWindow(properties.getWindowSize()));
+    }
+
+    private long delay(final LatencyWindow window) {
+        return Math.max(properties.getMinDelay().toNanos(), window.percentile(properties.getPercentile()));
+    }
+
+    private <T> T hedge(final UpstreamCall call, final Supplier<T> next, final LatencyWindow window,
+        final HedgeRace<T> race) {
+        if (!withdraw()) {
+            counter("upstream.hedging.budget.exhausted", call.operation()).increment();
+            return race.await(0);
+        }
+        final Future<?> backup;
+        try {
+            backup = race.submit(executor, next, window, true);
+        } catch (TaskRejectedException e) {
+            // no backup was sent, so it costs nothing
+            credit(TOKEN);
+            return race.await(0);
+        }
+        counter("upstream.hedging.requests", call.operation()).increment();
+        try {
+            final T result = race.await(0);
+            if (race.won(true)) {
+                counter("upstream.hedging.wins", call.operation()).increment();
+            }
+            return result;
+        } finally {
+            race.cancelUnlessWinner(backup, true);
+        }
+    }
+
+    private <T> void hedgeAsync(final UpstreamCall call, final Supplier<CompletableFuture<T>> next,
+        final LatencyWindow window, final HedgeRace<T> race) {
+        if (race.isDone()) {
+            return;
+        }
+        if (!withdraw()) {
+            counter("upstream.hedging.budget.exhausted", call.operation()).increment();
+            return;
+        }
+        counter("upstream.hedging.requests", call.operation()).increment();
+        race.attemptAsync(next, window, true);
+        race.winner.thenRun(() -> {
+            if (race.won(true)) {
+                counter("upstream.hedging.wins", call.operation()).increment();
+            }
+        });
+    }
+
+    private static <T> T timed(final Supplier<T> next, final LatencyWindow window) {
+        final long start = System.nanoTime();
+        final T result = next.get();
+        window.record(System.nanoTime() - start);
+        return result;
+    }
+
+    private void deposit() {
+        credit((long) (properties.getBudgetRatio() * TOKEN));
+    }
+
+    private void credit(final long amount) {
+        final long max = properties.getMaxBurst() * TOKEN;
+        budget.getAndUpdate(tokens -> Math.min(max, tokens + amount));
+    }
+
+    private boolean withdraw() {
+        return budget.getAndUpdate(tokens -> tokens >= TOKEN ? tokens - TOKEN : tokens) >= TOKEN;
+    }
+
+    private Counter counter(final String name, final String operation) {
+        return counters.computeIfAbsent(name + '|' + operation, key -> Counter.builder(name)
+            .tag(OPERATION, operation)
+            .register(meterRegistry));
+    }
+
+    /**
+     * Executor of the attempts of blocking calls. It hands each attempt straight to a thread, or rejects it.
+     */
+    private static ThreadPoolTaskExecutor hedgingExecutor(final UpstreamProperties.Hedging properties,
+        final TaskDecorator taskDecorator) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getMaxThreads());
+        executor.setMaxPoolSize(properties.getMaxThreads());
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("hedging-");
+        executor.setTaskDecorator(taskDecorator);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Primary and backup attempts of one call: the first success completes the race, and it fails only once every
+     * attempt started has failed, with the error of the first one.
+     */
+    private static final class HedgeRace<T> {
+
+        private final CompletableFuture<T> winner = new CompletableFuture<>();
+        private final CompletableFuture<Long> primaryStarted = new CompletableFuture<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+        private final AtomicReference<Boolean> backupWon = new AtomicReference<>();
+        private final AtomicBoolean primaryCancelled = new AtomicBoolean();
+        private final AtomicBoolean backupCancelled = new AtomicBoolean();
+        private final AtomicReference<Future<?>> primaryAttempt = new AtomicReference<>();
+        private final AtomicReference<Future<?>> backupAttempt = new AtomicReference<>();
+
+        /**
+         * Hand an attempt to the executor. It counts as running from before the submission, so that it cannot finish
+         * before being counted, and stops counting when the executor rejects it.
+         */
+        Future<?> submit(final ThreadPoolTaskExecutor executor, final Supplier<T> next, final LatencyWindow window,
+            final boolean backup) {
+            running.incrementAndGet();
+            try {
+                return executor.submit(attempt(next, window, backup));
+            } catch (TaskRejectedException e) {
+                if (running.decrementAndGet() == 0 && firstError.get() != null) {
+                    // every attempt that did run has already failed
+                    winner.completeExceptionally(firstError.get());
+                }
+                throw e;
+            }
+        }
+
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        private Runnable attempt(final Supplier<T> next, final LatencyWindow window, final boolean backup) {
+            return () -> {
+                if (!backup) {
+                    primaryStarted.complete(System.nanoTime());
+                }
+                CANCELLED.set(backup ? backupCancelled : primaryCancelled);
+                try {
+                    succeed(timed(next, window), backup);
+                } catch (RuntimeException | Error e) {
+                    fail(e);
+                } finally {
+                    CANCELLED.remove();
+                }
+            };
+        }
+
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        void attemptAsync(final Supplier<CompletableFuture<T>> next, final LatencyWindow window,
+            final boolean backup) {
+            running.incrementAndGet();
+            final long start = System.nanoTime();
+            CompletableFuture<T> attempt;
+            try {
+                attempt = next.get();
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            (backup ? backupAttempt : primaryAttempt).set(attempt);
+            attempt.whenComplete((result, e) -> {
+                if (e == null) {
+                    window.record(System.nanoTime() - start);
+                    succeed(result, backup);
+                } else {
+                    fail(Futures.unwrap(e));
+                }
+            });
+            if (winner.isDone()) {
+                // the other attempt won while this one was being started
+                cancelUnlessWinner(attempt, backup);
+            }
+        }
+
+        /**
+         * Cancel the asynchronous attempts that did not win, which aborts their upstream exchanges.
+         */
+        void cancelLosers() {
+            final Future<?> primary = primaryAttempt.get();
+            if (primary != null) {
+                cancelUnlessWinner(primary, false);
+            }
+            final Future<?> backup = backupAttempt.get();
+            if (backup != null) {
+                cancelUnlessWinner(backup, true);
+            }
+        }
+
+        private void succeed(final T result, final boolean backup) {
+            if (backupWon.compareAndSet(null, backup)) {
+                winner.complete(result);
+            }
+            running.decrementAndGet();
+        }
+
+        private void fail(final Throwable e) {
+            firstError.compareAndSet(null, e);
+            if (running.decrementAndGet() == 0) {
+                winner.completeExceptionally(firstError.get());
+            }
+        }
+
+        boolean isDone() {
+            return winner.isDone();
+        }
+
+        boolean won(final boolean backup) {
+            return Boolean.valueOf(backup).equals(backupWon.get());
+        }
+
+        /**
+         * Cancel the attempt unless it won. The cancellation is marked first, and it is also visible to the callbacks
+         * that the cancellation of an asynchronous attempt runs on the current thread.
+         */
+        void cancelUnlessWinner(final Future<?> attempt, final boolean backup) {
+            if (won(backup) || attempt.isDone()) {
+                return;
+            }
+            final AtomicBoolean cancelled = backup ? backupCancelled : primaryCancelled;
+            cancelled.set(true);
+            final AtomicBoolean outer = CANCELLED.get();
+            CANCELLED.set(cancelled);
+            try {
+                attempt.cancel(true);
+            } finally {
+                if (outer == null) {
+                    CANCELLED.remove();
+                } else {
+                    CANCELLED.set(outer);
+                }
+            }
+        }
+
+        /**
+         * Wait for the outcome until the delay has passed since the primary attempt started running.
+         *
+         * @param delayNanos delay after which the call is hedged
+         * @return the winning result, or null when the delay passed first
+         */
+        T awaitPastStart(final long delayNanos) {
+            final long started;
+            try {
+                started = primaryStarted.get();
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SystemException("Interrupted while waiting for a hedged upstream call", e);
+            }
+            return await(Math.max(1, started + delayNanos - System.nanoTime()));
+        }
+
+        /**
+         * Wait for the outcome.
+         *
+         * @param timeoutNanos how long to wait, 0 for as long as it takes
+         * @return the winning result, or null when the timeout passed first
+         */
+        T await(final long timeoutNanos) {
+            try {
+                return timeoutNanos > 0 ? winner.get(timeoutNanos, TimeUnit.NANOSECONDS) : winner.get();
+            } catch (TimeoutException e) {
+                return null;
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SystemException("Interrupted while waiting for a hedged upstream call", e);
+            }
+        }
+
+        private static RuntimeException unwrap(final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                return (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            return new SystemException("An unexpected error occurred in a hedged upstream call", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.audition.integration;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Read a JSON array one element at a time, straight from the response stream.
+ */
+final class JsonArrayStreams {
+
+    private JsonArrayStreams() {
+    }
+
+    /**
+     * Bind every element of the top level array and hand it to the consumer before the next one is read, so only one
+     * element is held in memory at a time.
+     *
+     * @param reader reader bound to the element type
+     * @param body response body, positioned at the start of the document
+     * @param consumer receives each element in document order
+     * @param <T> element type
+     * @return number of elements read
+     * @throws IOException when the stream cannot be read or is not a JSON array
+     */
+    static <T> int forEachElement(final ObjectReader reader, final InputStream body, final Consumer<? super T> consumer)
+        throws IOException {
+        try (JsonParser parser = reader.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array");
+            }
+            int count = 0;
+            JsonToken token = parser.nextToken();
+            while (token != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new JsonParseException(parser, "Unexpected end of JSON array");
+                }
+                final T element = reader.readValue(parser);
+                consumer.accept(element);
+                count++;
+                token = parser.nextToken();
+            }
+            return count;
+        }
+    }
+}
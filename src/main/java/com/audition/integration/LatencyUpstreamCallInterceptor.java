@@ -0,0 +1,54 @@
+package com.audition.integration;
+
+import com.audition.configuration.LatencyRecorders;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Record the time of every upstream call in the {@link LatencyRecorders} histogram of its operation. As the innermost
+ * interceptor it times the exchange itself, after any wait for a bulkhead or concurrency limit slot, and failed calls
+ * count as well as successful ones.
+ */
+@Component
+@Order(UpstreamCallInterceptor.LATENCY_ORDER)
+public class LatencyUpstreamCallInterceptor implements UpstreamCallInterceptor {
+
+    private final transient LatencyRecorders latencyRecorders;
+
+    /**
+     * Create the interceptor.
+     *
+     * @param latencyRecorders windowed latency histograms
+     */
+    public LatencyUpstreamCallInterceptor(final LatencyRecorders latencyRecorders) {
+        this.latencyRecorders = latencyRecorders;
+    }
+
+    @Override
+    public <T> T intercept(final UpstreamCall call, final Supplier<T> next) {
+        if (!latencyRecorders.isEnabled()) {
+            return next.get();
+        }
+        final long start = System.nanoTime();
+        try {
+            return next.get();
+        } finally {
+            latencyRecorders.recordUpstream(call.operation(), System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> interceptAsync(final UpstreamCall call,
+        final Supplier<CompletableFuture<T>> next) {
+        if (!latencyRecorders.isEnabled()) {
+            return next.get();
+        }
+        final long start = System.nanoTime();
+        final CompletableFuture<T> result = next.get();
+        result.whenComplete((value, e) -> latencyRecorders.recordUpstream(call.operation(),
+            System.nanoTime() - start));
+        return result;
+    }
+}
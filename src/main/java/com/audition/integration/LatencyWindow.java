@@ -0,0 +1,51 @@
+package com.audition.integration;
+
+import java.util.Arrays;
+
+/**
+ * The most recent latencies of one upstream operation, for percentile estimates.
+ */
+final class LatencyWindow {
+
+    private final long[] samples;
+    private final Object lock = new Object();
+    private int next;
+    private int filled;
+
+    LatencyWindow(final int size) {
+        this.samples = new long[Math.max(1, size)];
+    }
+
+    void record(final long nanos) {
+        synchronized (lock) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            filled = Math.min(filled + 1, samples.length);
+        }
+    }
+
+    int count() {
+        synchronized (lock) {
+            return filled;
+        }
+    }
+
+    /**
+     * Latency under which the given share of the recent calls completed.
+     *
+     * @param percentile between 0 and 1
+     * @return latency in nanoseconds, or -1 when nothing has been recorded
+     */
+    long percentile(final double percentile) {
+        final long[] sorted;
+        synchronized (lock) {
+            if (filled == 0) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, filled);
+        }
+        Arrays.sort(sorted);
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
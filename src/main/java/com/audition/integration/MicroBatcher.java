@@ -0,0 +1,112 @@
+package com.audition.integration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Collect single-key lookups arriving within a short window and serve them with one bulk call.
+ *
+ * <p>A batch is sent once it holds {@code maxBatchSize} distinct keys or once {@code maxDelay} has passed since its
+ * first key, whichever comes first. Callers asking for a key already waiting in the batch share its future. Keys the
+ * bulk call does not answer complete with null, and a failed bulk call fails every future of the batch.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class MicroBatcher<K, V> {
+
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final TaskScheduler taskScheduler;
+    private final Function<List<K>, CompletableFuture<Map<K, V>>> bulkLoad;
+    private final Object lock = new Object();
+
+    /**
+     * Keys of the batch being collected, guarded by the lock.
+     */
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private long generation;
+
+    MicroBatcher(final int maxBatchSize, final Duration maxDelay, final TaskScheduler taskScheduler,
+        final Function<List<K>, CompletableFuture<Map<K, V>>> bulkLoad) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxDelay = maxDelay;
+        this.taskScheduler = taskScheduler;
+        this.bulkLoad = bulkLoad;
+    }
+
+    /**
+     * Queue a key for the next bulk call.
+     *
+     * @param key key to look up
+     * @return future of the value, null when the bulk call did not return one for the key
+     */
+    CompletableFuture<V> get(final K key) {
+        final CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+        synchronized (lock) {
+            final CompletableFuture<V> waiting = pending.get(key);
+            if (waiting != null) {
+                return waiting;
+            }
+            final boolean opensBatch = pending.isEmpty();
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (opensBatch) {
+                final long batch = generation;
+                taskScheduler.schedule(() -> flush(batch), taskScheduler.getClock().instant().plus(maxDelay));
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * Send the batch of the given generation, unless it has already been sent because it was full.
+     */
+    private void flush(final long batch) {
+        final Map<K, CompletableFuture<V>> due;
+        synchronized (lock) {
+            if (batch != generation || pending.isEmpty()) {
+                return;
+            }
+            due = drain();
+        }
+        dispatch(due);
+    }
+
+    private Map<K, CompletableFuture<V>> drain() {
+        final Map<K, CompletableFuture<V>> drained = pending;
+        pending = new LinkedHashMap<>();
+        generation++;
+        return drained;
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void dispatch(final Map<K, CompletableFuture<V>> batch) {
+        CompletableFuture<Map<K, V>> loaded;
+        try {
+            loaded = bulkLoad.apply(new ArrayList<>(batch.keySet()));
+        } catch (RuntimeException e) {
+            loaded = CompletableFuture.failedFuture(e);
+        }
+        loaded.whenComplete((values, e) -> batch.forEach((key, future) -> {
+            if (e == null) {
+                future.complete(values == null ? null : values.get(key));
+            } else {
+                future.completeExceptionally(Futures.unwrap(e));
+            }
+        }));
+    }
+}
@@ -0,0 +1,33 @@
+package com.audition.integration;
+
+/**
+ * Describes one logical call to the upstream API, as seen by {@link UpstreamCallInterceptor}s.
+ *
+ * @param operation client method name, used for metrics and per-operation policies
+ * @param resource upstream resource path, identifying calls that would return the same data
+ * @param shareable whether the result can be handed to more than one caller or recomputed by a second attempt
+ */
+public record UpstreamCall(String operation, String resource, boolean shareable) {
+
+    /**
+     * Read returning a value that can be shared between callers.
+     *
+     * @param operation client method name
+     * @param resource upstream resource path
+     * @return UpstreamCall
+     */
+    public static UpstreamCall read(final String operation, final String resource) {
+        return new UpstreamCall(operation, resource, true);
+    }
+
+    /**
+     * Read pushing elements into a caller supplied consumer; it can be neither shared nor repeated.
+     *
+     * @param operation client method name
+     * @param resource upstream resource path
+     * @return UpstreamCall
+     */
+    public static UpstreamCall stream(final String operation, final String resource) {
+        return new UpstreamCall(operation, resource, false);
+    }
+}
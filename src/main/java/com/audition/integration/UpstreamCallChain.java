@@ -0,0 +1,39 @@
+package com.audition.integration;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Run an upstream call through a list of {@link UpstreamCallInterceptor}s, the first one being the outermost.
+ */
+final class UpstreamCallChain {
+
+    private UpstreamCallChain() {
+    }
+
+    static <T> T execute(final List<UpstreamCallInterceptor> interceptors, final UpstreamCall call,
+        final Supplier<T> fetch) {
+        Supplier<T> chain = fetch;
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            final UpstreamCallInterceptor interceptor = interceptors.get(i);
+            final Supplier<T> next = chain;
+            chain = () -> interceptor.intercept(call, next);
+        }
+        return chain.get();
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #execute(List, UpstreamCall, Supplier)}.
+     */
+    static <T> CompletableFuture<T> executeAsync(final List<UpstreamCallInterceptor> interceptors,
+        final UpstreamCall call, final Supplier<CompletableFuture<T>> fetch) {
+        Supplier<CompletableFuture<T>> chain = fetch;
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            final UpstreamCallInterceptor interceptor = interceptors.get(i);
+            final Supplier<CompletableFuture<T>> next = chain;
+            chain = () -> interceptor.interceptAsync(call, next);
+        }
+        return chain.get();
+    }
+}
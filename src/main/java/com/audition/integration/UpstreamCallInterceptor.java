@@ -0,0 +1,43 @@
+package com.audition.integration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Hook around every call made by {@link AuditionIntegrationClient}, the upstream counterpart of the handler
+ * interceptors registered for incoming requests. Beans are applied in {@link org.springframework.core.annotation.Order}
+ * order, the lowest value being the outermost.
+ */
+public interface UpstreamCallInterceptor {
+
+    int COALESCING_ORDER = 100;
+    int HEDGING_ORDER = 200;
+    int CIRCUIT_BREAKER_ORDER = 300;
+    int BULKHEAD_ORDER = 350;
+    int CONCURRENCY_LIMIT_ORDER = 400;
+    int LATENCY_ORDER = 500;
+
+    /**
+     * Intercept the call.
+     *
+     * @param call describes the call
+     * @param next proceeds with the remaining interceptors and finally the HTTP exchange
+     * @param <T> result type
+     * @return the result of the call
+     */
+    <T> T intercept(UpstreamCall call, Supplier<T> next);
+
+    /**
+     * Intercept a non-blocking call. Implementations must not block the calling thread; by default the call is
+     * passed through untouched.
+     *
+     * @param call describes the call
+     * @param next starts the remaining interceptors and finally the HTTP exchange
+     * @param <T> result type
+     * @return future of the result of the call
+     */
+    default <T> CompletableFuture<T> interceptAsync(final UpstreamCall call,
+        final Supplier<CompletableFuture<T>> next) {
+        return next.get();
+    }
+}
@@ -0,0 +1,84 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Translate failures of upstream calls into the {@link SystemException}s reported to API clients.
+ */
+final class UpstreamErrors {
+
+    private static final String RESOURCE_NOT_FOUND = "Resource Not Found";
+
+    private UpstreamErrors() {
+    }
+
+    static SystemException postsError(final Throwable e) {
+        if (e instanceof HttpClientErrorException) {
+            return new SystemException("Failed to retrieve posts",
+                ((HttpClientErrorException) e).getStatusCode().value(), e);
+        } else if (e instanceof ResourceAccessException) {
+            return new SystemException("Failed to retrieve posts due to network issues", e);
+        }
+        // As a last resort, catch any other exceptions that haven't been caught by specific ones
+        return new SystemException("An unexpected error occurred while retrieving posts", e);
+    }
+
+    static SystemException postError(final int id, final Throwable e) {
+        if (e instanceof HttpClientErrorException) {
+            return clientError((HttpClientErrorException) e, postNotFoundDetail(id));
+        }
+        return new SystemException("An unexpected error occurred while retrieving the post", e);
+    }
+
+    /**
+     * The error a single post lookup answers with when a bulk query has no post of that id.
+     */
+    static SystemException postNotFound(final int id) {
+        return new SystemException(postNotFoundDetail(id), RESOURCE_NOT_FOUND, 404);
+    }
+
+    static SystemException commentsError(final int postId, final Throwable e) {
+        if (e instanceof HttpClientErrorException) {
+            return clientError((HttpClientErrorException) e, "Cannot find comments for Post with id " + postId);
+        }
+        return new SystemException("An unexpected error occurred while retrieving comments", e);
+    }
+
+    static SystemException allCommentsError(final Throwable e) {
+        if (e instanceof HttpClientErrorException) {
+            return new SystemException("Failed to retrieve comments",
+                ((HttpClientErrorException) e).getStatusCode().value(), e);
+        }
+        return new SystemException("An unexpected error occurred while retrieving comments", e);
+    }
+
+    /**
+     * Whether the failure says something about upstream health: network errors, timeouts and 5xx responses do, a 4xx
+     * answer, a call refused locally or a hedge attempt cancelled because the other attempt won does not.
+     */
+    static boolean isUpstreamFailure(final Throwable e) {
+        if (e instanceof UpstreamUnavailableException || HedgingUpstreamCallInterceptor.isCancelledAttempt()) {
+            return false;
+        }
+        if (e instanceof SystemException) {
+            final Integer status = ((SystemException) e).getStatusCode();
+            return status == null || status < 400 || status >= 500;
+        }
+        return true;
+    }
+
+    private static String postNotFoundDetail(final int id) {
+        return "Cannot find a Post with id " + id;
+    }
+
+    private static SystemException clientError(final HttpClientErrorException e, final String notFoundDetail) {
+        if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+            return new SystemException(notFoundDetail, RESOURCE_NOT_FOUND, 404, e);
+        }
+        return new SystemException(e.getResponseBodyAsString(), e.getStatusCode().value(), e);
+    }
+}
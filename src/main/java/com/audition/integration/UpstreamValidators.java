@@ -0,0 +1,110 @@
+package com.audition.integration;
+
+import com.audition.configuration.UpstreamProperties;
+import com.audition.service.cache.PayloadWeights;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * The validators (ETag, Last-Modified) of the upstream resources read so far, each kept with the value parsed from
+ * its body. Entries are weighed with {@link PayloadWeights}, so the values kept stay within a byte budget of their own
+ * rather than a count of resources.
+ *
+ * <p>A read of a known resource is sent as a conditional request. When upstream answers 304 Not Modified the stored
+ * value is returned as it is: no body is downloaded, no JSON is parsed, and the caches above get the very same
+ * instance back for another time to live.
+ */
+@Component
+class UpstreamValidators {
+
+    private static final String REVALIDATIONS = "audition.upstream.revalidations";
+    private static final String RESULT = "result";
+
+    private final boolean enabled;
+    private final Cache<String, Validated> entries;
+    private final transient Counter notModified;
+    private final transient Counter fetched;
+
+    UpstreamValidators(final UpstreamProperties upstreamProperties, final MeterRegistry meterRegistry) {
+        final UpstreamProperties.Revalidation revalidation = upstreamProperties.getRevalidation();
+        this.enabled = revalidation.isEnabled();
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(revalidation.getMaximumWeight().toBytes())
+            .weigher((String url, Validated validated) -> PayloadWeights.chars(url)
+                + PayloadWeights.chars(validated.etag()) + PayloadWeights.chars(validated.lastModified())
+                + PayloadWeights.payload(validated.value()))
+            .executor(Runnable::run)
+            .build();
+        this.notModified = Counter.builder(REVALIDATIONS).tag(RESULT, "not_modified").register(meterRegistry);
+        this.fetched = Counter.builder(REVALIDATIONS).tag(RESULT, "fetched").register(meterRegistry);
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Make the request conditional on the validators stored for the resource, if any.
+     *
+     * @param url resource
+     * @param header sets a request header
+     */
+    void addConditions(final String url, final BiConsumer<String, String> header) {
+        final Validated validated = entries.getIfPresent(url);
+        if (validated == null) {
+            return;
+        }
+        if (validated.etag() != null) {
+            header.accept(HttpHeaders.IF_NONE_MATCH, validated.etag());
+        }
+        if (validated.lastModified() != null) {
+            header.accept(HttpHeaders.IF_MODIFIED_SINCE, validated.lastModified());
+        }
+    }
+
+    /**
+     * The value of a response: the stored one for 304 Not Modified, otherwise the one read from the body, stored with
+     * the validators of the response for the next read.
+     *
+     * @param url resource
+     * @param status response status code
+     * @param responseHeader first value of a response header, null when absent
+     * @param read parses the response body
+     * @param <T> value type
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    <T> T resolve(final String url, final int status, final UnaryOperator<String> responseHeader,
+        final Supplier<T> read) {
+        if (status == HttpStatus.NOT_MODIFIED.value()) {
+            final Validated validated = entries.getIfPresent(url);
+            if (validated == null) {
+                throw new RestClientException("Not Modified for \"" + url + "\" without a stored representation");
+            }
+            notModified.increment();
+            return (T) validated.value();
+        }
+        final T value = read.get();
+        final String etag = responseHeader.apply(HttpHeaders.ETAG);
+        final String lastModified = responseHeader.apply(HttpHeaders.LAST_MODIFIED);
+        if (value == null || etag == null && lastModified == null) {
+            entries.invalidate(url);
+        } else {
+            entries.put(url, new Validated(etag, lastModified, value));
+        }
+        fetched.increment();
+        return value;
+    }
+
+    private record Validated(String etag, String lastModified, Object value) {
+    }
+}
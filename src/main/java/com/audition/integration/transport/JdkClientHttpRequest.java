@@ -0,0 +1,102 @@
+package com.audition.integration.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Single exchange executed through the shared {@link HttpClient}.
+ */
+class JdkClientHttpRequest extends AbstractClientHttpRequest {
+
+    /**
+     * Headers the JDK client manages itself and refuses to accept from callers.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+        "upgrade");
+
+    private final transient HttpClient httpClient;
+    private final URI uri;
+    private final HttpMethod method;
+    private final Duration readTimeout;
+    private final transient RoutePermits permits;
+    private final ByteArrayOutputStream bufferedBody = new ByteArrayOutputStream(0);
+
+    JdkClientHttpRequest(final HttpClient httpClient, final URI uri, final HttpMethod method,
+        final Duration readTimeout, final RoutePermits permits) {
+        super();
+        this.httpClient = httpClient;
+        this.uri = uri;
+        this.method = method;
+        this.readTimeout = readTimeout;
+        this.permits = permits;
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    @Override
+    public URI getURI() {
+        return uri;
+    }
+
+    @Override
+    protected OutputStream getBodyInternal(final HttpHeaders headers) {
+        return bufferedBody;
+    }
+
+    @Override
+    protected ClientHttpResponse executeInternal(final HttpHeaders headers) throws IOException {
+        final HttpRequest request = buildRequest(headers);
+        permits.acquire();
+        boolean responded = false;
+        try {
+            final HttpResponse<InputStream> response = httpClient.send(request,
+                HttpResponse.BodyHandlers.ofInputStream());
+            responded = true;
+            return new JdkClientHttpResponse(response, permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calling " + uri, e);
+        } finally {
+            if (!responded) {
+                permits.release();
+            }
+        }
+    }
+
+    private HttpRequest buildRequest(final HttpHeaders headers) {
+        final byte[] body = bufferedBody.toByteArray();
+        final HttpRequest.BodyPublisher publisher = body.length == 0
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofByteArray(body);
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .timeout(readTimeout)
+            .method(method.name(), publisher);
+
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                for (final String value : header.getValue()) {
+                    builder.header(header.getKey(), value);
+                }
+            }
+        }
+        return builder.build();
+    }
+}
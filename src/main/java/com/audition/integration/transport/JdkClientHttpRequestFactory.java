@@ -0,0 +1,59 @@
+package com.audition.integration.transport;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+/**
+ * Rest template request factory backed by a shared {@link HttpClient}.
+ *
+ * <p>The JDK client keeps connections alive and multiplexes HTTP/2 streams on its own; this factory adds a per-route
+ * cap on concurrent exchanges and a per-call response timeout on top of it. Over HTTP/2 the exchanges of a route are
+ * streams of one connection, so the cap bounds streams rather than connections.
+ */
+public class JdkClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final transient HttpClient httpClient;
+    private final Duration readTimeout;
+    private final int maxExchangesPerRoute;
+    private final Duration connectionAcquireTimeout;
+    private final Map<String, RoutePermits> routePermits = new ConcurrentHashMap<>();
+
+    /**
+     * Create the factory.
+     *
+     * @param httpClient shared client, owning the connection pool
+     * @param readTimeout time allowed for the response headers of a single call
+     * @param maxExchangesPerRoute concurrent exchanges allowed against one scheme/host/port
+     * @param connectionAcquireTimeout time to wait for a free slot before failing the call
+     */
+    public JdkClientHttpRequestFactory(final HttpClient httpClient, final Duration readTimeout,
+        final int maxExchangesPerRoute, final Duration connectionAcquireTimeout) {
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+        this.maxExchangesPerRoute = maxExchangesPerRoute;
+        this.connectionAcquireTimeout = connectionAcquireTimeout;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod httpMethod) throws IOException {
+        final RoutePermits permits = routePermits.computeIfAbsent(routeOf(uri),
+            route -> new RoutePermits(route, maxExchangesPerRoute, connectionAcquireTimeout));
+        return new JdkClientHttpRequest(httpClient, uri, httpMethod, readTimeout, permits);
+    }
+
+    int availablePermits(final URI uri) {
+        final RoutePermits permits = routePermits.get(routeOf(uri));
+        return permits == null ? maxExchangesPerRoute : permits.available();
+    }
+
+    private static String routeOf(final URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+}
@@ -0,0 +1,72 @@
+package com.audition.integration.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Response of a {@link JdkClientHttpRequest}. The body is read straight from the connection and the route slot is
+ * handed back once the response is closed.
+ */
+class JdkClientHttpResponse implements ClientHttpResponse {
+
+    private final transient HttpResponse<InputStream> response;
+    private final transient RoutePermits permits;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private HttpHeaders headers;
+
+    JdkClientHttpResponse(final HttpResponse<InputStream> response, final RoutePermits permits) {
+        this.response = response;
+        this.permits = permits;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return HttpStatusCode.valueOf(response.statusCode());
+    }
+
+    @Override
+    @Deprecated
+    public int getRawStatusCode() {
+        return response.statusCode();
+    }
+
+    @Override
+    public String getStatusText() {
+        final HttpStatus status = HttpStatus.resolve(response.statusCode());
+        return status == null ? "" : status.getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        if (headers == null) {
+            final HttpHeaders copy = new HttpHeaders();
+            response.headers().map().forEach(copy::addAll);
+            headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        }
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return response.body();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            try {
+                response.body().close();
+            } catch (IOException ignored) {
+                // the connection is dropped by the client when the stream cannot be closed cleanly
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.audition.integration.transport;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded number of concurrent exchanges against a single route.
+ */
+class RoutePermits {
+
+    private final String route;
+    private final Semaphore semaphore;
+    private final long acquireTimeoutMillis;
+
+    RoutePermits(final String route, final int maxExchanges, final Duration acquireTimeout) {
+        this.route = route;
+        this.semaphore = new Semaphore(maxExchanges, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    }
+
+    void acquire() throws IOException {
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for a connection to " + route);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a connection to " + route, e);
+        }
+    }
+
+    void release() {
+        semaphore.release();
+    }
+
+    int available() {
+        return semaphore.availablePermits();
+    }
+}
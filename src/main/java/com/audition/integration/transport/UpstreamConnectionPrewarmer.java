@@ -0,0 +1,70 @@
+package com.audition.integration.transport;
+
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.UpstreamProperties;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Open upstream connections once the application is ready, so the first real calls do not pay for the TCP and TLS
+ * handshakes.
+ *
+ * <p>Over HTTP/2 concurrent warm-up requests are multiplexed on a single connection, so one request is enough there;
+ * more only open more connections over HTTP/1.1.
+ */
+@Component
+public class UpstreamConnectionPrewarmer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamConnectionPrewarmer.class);
+
+    @Autowired
+    private transient HttpClient upstreamHttpClient;
+
+    @Autowired
+    private transient UpstreamProperties upstreamProperties;
+
+    @Autowired
+    private transient AuditionLogger logger;
+
+    /**
+     * Fire the configured number of concurrent HEAD requests without blocking startup.
+     *
+     * @return completes once every warm-up request finished, successfully or not
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @SuppressWarnings("PMD.GuardLogStatement")
+    public CompletableFuture<Void> prewarm() {
+        final UpstreamProperties.Transport transport = upstreamProperties.getTransport();
+        final int requests = transport.getPrewarmRequests();
+        if (transport.getType() != UpstreamProperties.TransportType.JDK || requests <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(transport.getPrewarmUrl()))
+            .method("HEAD", HttpRequest.BodyPublishers.noBody())
+            .timeout(transport.getConnectTimeout().plus(transport.getReadTimeout()))
+            .build();
+        final AtomicInteger warmed = new AtomicInteger();
+        final CompletableFuture<?>[] calls = new CompletableFuture<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            calls[i] = upstreamHttpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenRun(warmed::incrementAndGet);
+        }
+
+        return CompletableFuture.allOf(calls)
+            .handle((ignored, e) -> {
+                logger.info(LOG, "Pre-warmed upstream connections: {}", warmed.get());
+                return null;
+            });
+    }
+}
@@ -1,11 +1,18 @@
 package com.audition.model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import java.util.List;
 import lombok.Data;
 
 @Data
+@JsonFilter(AuditionPost.FIELDS_FILTER)
 public class AuditionPost {
 
+    /**
+     * Jackson filter selecting the fields written for a post; every field unless a request asks for fewer.
+     */
+    public static final String FIELDS_FILTER = "auditionPostFields";
+
     private int userId;
     private int id;
     private String title;
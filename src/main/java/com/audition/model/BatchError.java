@@ -0,0 +1,18 @@
+package com.audition.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Why one item of a batch lookup could not be served, in the terms of the problem detail a single lookup would answer.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchError {
+
+    private int status;
+    private String title;
+    private String detail;
+}
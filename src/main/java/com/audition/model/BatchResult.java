@@ -0,0 +1,19 @@
+package com.audition.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * Outcome of a batch lookup: the items found, and an error for each id that could not be served, both keyed by id in
+ * request order.
+ *
+ * @param <T> item type
+ */
+@Data
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+public class BatchResult<T> {
+
+    private Map<Integer, T> items = new LinkedHashMap<>();
+    private Map<Integer, BatchError> errors = new LinkedHashMap<>();
+}
@@ -0,0 +1,19 @@
+package com.audition.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * One ranked result of a full-text search: either a post or a comment, with its relevance score.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchHit {
+
+    private String type;
+    private int id;
+    private int postId;
+    private double score;
+    private AuditionPost post;
+    private Comment comment;
+}
@@ -0,0 +1,18 @@
+package com.audition.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * A page of full-text search results, best first, with the number of posts and comments matching the query.
+ */
+@Data
+public class SearchPage {
+
+    private String query;
+    private int total;
+    private int offset;
+    private int limit;
+    private List<SearchHit> hits = new ArrayList<>();
+}
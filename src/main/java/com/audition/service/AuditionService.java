@@ -1,9 +1,27 @@
 package com.audition.service;
 
+import com.audition.common.exception.InvalidRequestException;
+import com.audition.configuration.AuditionBatchProperties;
+import com.audition.configuration.AuditionCacheProperties;
 import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.Futures;
 import com.audition.model.AuditionPost;
+import com.audition.model.BatchResult;
 import com.audition.model.Comment;
+import com.audition.service.cache.CacheRegion;
+import com.audition.service.cache.CommentsIndex;
+import com.audition.service.cache.PayloadWeights;
+import com.audition.service.cache.PostsSnapshot;
+import com.audition.service.cache.ReadThroughCache;
+import com.audition.service.search.PostsTextIndex;
+import com.audition.service.search.TrigramIndex;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,18 +31,78 @@ import org.springframework.stereotype.Service;
 @Service
 public class AuditionService {
 
+    private static final String POST_ID_MUST_BE_POSITIVE = "Post ID must be positive";
+
     @Autowired
     private transient AuditionIntegrationClient auditionIntegrationClient;
 
+    @Autowired
+    private transient ReadThroughCache cache;
+
+    @Autowired
+    private transient AuditionCacheProperties cacheProperties;
+
+    @Autowired
+    private transient PostsSnapshot postsSnapshot;
+
+    @Autowired
+    private transient CommentsIndex commentsIndex;
+
+    @Autowired
+    private transient PostsTextIndex postsTextIndex;
+
+    @Autowired
+    private transient AuditionBatchProperties batchProperties;
+
+    private transient CacheRegion<List<AuditionPost>> postsRegion;
+    private transient CacheRegion<AuditionPost> postRegion;
+    private transient CacheRegion<List<Comment>> commentsRegion;
+    private transient CacheRegion<List<Comment>> allCommentsRegion;
+
+    /**
+     * Build the cache regions from the configured time to live of each payload.
+     */
+    @PostConstruct
+    public void initCacheRegions() {
+        final AuditionCacheProperties.TimeToLive ttl = cacheProperties.getTtl();
+        postsRegion = new CacheRegion<>("posts", ttl.getPosts(), PayloadWeights::posts);
+        postRegion = new CacheRegion<>("post", ttl.getPost(), PayloadWeights::post);
+        commentsRegion = new CacheRegion<>("comments", ttl.getComments(), PayloadWeights::comments);
+        allCommentsRegion = new CacheRegion<>("all-comments", ttl.getComments(), PayloadWeights::comments);
+    }
+
+    /**
+     * All posts, from the background-refreshed snapshot when it is enabled.
+     *
+     * @return List of AuditionPost
+     */
     public List<AuditionPost> getPosts() {
-        return auditionIntegrationClient.getPosts();
+        if (postsSnapshot.isEnabled()) {
+            return postsSnapshot.get();
+        }
+        return cache.get(postsRegion, "all", auditionIntegrationClient::getPosts);
+    }
+
+    /**
+     * Posts whose title or body contains the filter string, case-sensitively. Over the posts snapshot the trigram
+     * index narrows the posts to check; otherwise every post is checked.
+     *
+     * @param filterString substring to look for
+     * @return matching posts, in the order of {@link #getPosts()}
+     */
+    public List<AuditionPost> filterPosts(final String filterString) {
+        final List<AuditionPost> posts = getPosts();
+        if (postsSnapshot.isEnabled()) {
+            return postsTextIndex.filter(posts, filterString);
+        }
+        return TrigramIndex.scan(posts, filterString);
     }
 
     public AuditionPost getPostById(final int postId) {
         if (postId <= 0) {
-            throw new IllegalArgumentException("Post ID must be positive");
+            throw new IllegalArgumentException(POST_ID_MUST_BE_POSITIVE);
         }
-        return auditionIntegrationClient.getPostById(postId);
+        return cache.get(postRegion, postId, () -> auditionIntegrationClient.getPostById(postId));
     }
 
     /**
@@ -34,25 +112,109 @@ public class AuditionService {
      * @return AuditionPost
      */
     public AuditionPost getPostWithCommentsById(final int postId) {
+        return Futures.join(getPostWithCommentsByIdAsync(postId));
+    }
+
+    /**
+     * Fetch a post and its comments concurrently, so that the latency is the slower of the two calls rather than
+     * their sum. The comments are fetched even when the post turns out not to exist.
+     *
+     * @param postId post id
+     * @return future of the post with its comments, or of null when there is no such post
+     */
+    public CompletableFuture<AuditionPost> getPostWithCommentsByIdAsync(final int postId) {
         if (postId <= 0) {
-            throw new IllegalArgumentException("Post ID must be positive");
+            throw new IllegalArgumentException(POST_ID_MUST_BE_POSITIVE);
         }
-        final AuditionPost post = auditionIntegrationClient.getPostById(postId);
+        final CompletableFuture<AuditionPost> post = fetchPostAsync(postId);
+        final CompletableFuture<List<Comment>> comments = fetchCommentsAsync(postId);
+        // the fetched post may be shared with concurrent callers, so attach the comments to a copy
+        return post.thenCombine(comments, (found, list) -> found == null ? null : withComments(found, list));
+    }
 
-        // Fetch the comments for the post
-        if (post != null) {
-            final List<Comment> comments = getCommentsByPostId(post.getId());
-            // Set comments to the post
-            post.setComments(comments);
-        }
+    /**
+     * Fetch many posts at once. Cached posts are served directly, the others are fetched concurrently; a post that
+     * cannot be served is reported among the errors of the result rather than failing the batch.
+     *
+     * @param postIds post ids, in the order of the result; duplicates are fetched once
+     * @return future of the posts found and the errors of the others
+     */
+    public CompletableFuture<BatchResult<AuditionPost>> getPostsByIds(final Collection<Integer> postIds) {
+        return BatchLoader.load(checkBatch(postIds), batchProperties.getParallelism(), this::fetchPostAsync,
+            id -> "Cannot find a Post with id " + id);
+    }
 
-        return post;
+    /**
+     * Fetch the comments of many posts at once, the same way as {@link #getPostsByIds(Collection)}.
+     *
+     * @param postIds post ids, in the order of the result; duplicates are fetched once
+     * @return future of the comment lists found and the errors of the others
+     */
+    public CompletableFuture<BatchResult<List<Comment>>> getCommentsByPostIds(final Collection<Integer> postIds) {
+        return BatchLoader.load(checkBatch(postIds), batchProperties.getParallelism(), this::fetchCommentsAsync,
+            id -> "Cannot find comments for Post with id " + id);
     }
 
     public List<Comment> getCommentsByPostId(final int postId) {
         if (postId <= 0) {
-            throw new IllegalArgumentException("Post ID must be positive");
+            throw new IllegalArgumentException(POST_ID_MUST_BE_POSITIVE);
+        }
+        final List<Comment> indexed = commentsIndex.get(postId);
+        if (indexed != null) {
+            return indexed;
+        }
+        return cache.get(commentsRegion, postId, () -> auditionIntegrationClient.getCommentsByPostId(postId));
+    }
+
+    private static AuditionPost withComments(final AuditionPost post, final List<Comment> comments) {
+        final AuditionPost copy = new AuditionPost();
+        copy.setUserId(post.getUserId());
+        copy.setId(post.getId());
+        copy.setTitle(post.getTitle());
+        copy.setBody(post.getBody());
+        copy.setComments(comments);
+        return copy;
+    }
+
+    private CompletableFuture<AuditionPost> fetchPostAsync(final int postId) {
+        return cache.getAsync(postRegion, postId, () -> auditionIntegrationClient.getPostByIdAsync(postId));
+    }
+
+    private CompletableFuture<List<Comment>> fetchCommentsAsync(final int postId) {
+        final List<Comment> indexed = commentsIndex.get(postId);
+        if (indexed != null) {
+            return CompletableFuture.completedFuture(indexed);
+        }
+        return cache.getAsync(commentsRegion, postId, () -> auditionIntegrationClient.getCommentsByPostIdAsync(postId));
+    }
+
+    /**
+     * Every comment of every post, from the comments index when it is loaded and otherwise fetched with one upstream
+     * call.
+     *
+     * @return List of Comment
+     */
+    public List<Comment> getComments() {
+        final List<Comment> indexed = commentsIndex.all();
+        if (indexed != null) {
+            return indexed;
+        }
+        final List<Comment> fetched = Futures.join(cache.getAsync(allCommentsRegion, "all",
+            auditionIntegrationClient::getCommentsAsync));
+        return fetched == null ? List.of() : fetched;
+    }
+
+    private List<Integer> checkBatch(final Collection<Integer> requested) {
+        final Set<Integer> postIds = new LinkedHashSet<>(requested);
+        if (postIds.isEmpty() || postIds.size() > batchProperties.getMaxSize()) {
+            throw new InvalidRequestException(
+                "A batch must hold between 1 and " + batchProperties.getMaxSize() + " distinct ids");
+        }
+        for (final Integer postId : postIds) {
+            if (postId == null || postId <= 0) {
+                throw new InvalidRequestException(POST_ID_MUST_BE_POSITIVE);
+            }
         }
-        return auditionIntegrationClient.getCommentsByPostId(postId);
+        return new ArrayList<>(postIds);
     }
 }
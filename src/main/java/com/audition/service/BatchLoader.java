@@ -0,0 +1,117 @@
+package com.audition.service;
+
+import com.audition.common.exception.SystemException;
+import com.audition.model.BatchError;
+import com.audition.model.BatchResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Fetch many items concurrently, with at most a fixed number of fetches in flight, and collect each outcome on its own
+ * so that one failing item does not fail the whole batch.
+ *
+ * @param <T> item type
+ */
+final class BatchLoader<T> {
+
+    private static final String RESOURCE_NOT_FOUND = "Resource Not Found";
+
+    private final List<Integer> ids;
+    private final IntFunction<CompletableFuture<T>> fetch;
+    private final IntFunction<String> notFoundDetail;
+    private final List<CompletableFuture<T>> outcomes;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private BatchLoader(final List<Integer> ids, final IntFunction<CompletableFuture<T>> fetch,
+        final IntFunction<String> notFoundDetail) {
+        this.ids = ids;
+        this.fetch = fetch;
+        this.notFoundDetail = notFoundDetail;
+        this.outcomes = new ArrayList<>(ids.size());
+        ids.forEach(id -> outcomes.add(new CompletableFuture<>()));
+    }
+
+    /**
+     * Fetch the items of the given ids.
+     *
+     * @param ids distinct ids, in the order of the result
+     * @param parallelism fetches kept in flight at once
+     * @param fetch starts fetching the item of an id
+     * @param notFoundDetail problem detail reported for an id whose item is null
+     * @param <T> item type
+     * @return future of the batch result, never failing
+     */
+    static <T> CompletableFuture<BatchResult<T>> load(final List<Integer> ids, final int parallelism,
+        final IntFunction<CompletableFuture<T>> fetch, final IntFunction<String> notFoundDetail) {
+        final BatchLoader<T> loader = new BatchLoader<>(ids, fetch, notFoundDetail);
+        for (int i = 0; i < Math.max(1, parallelism); i++) {
+            loader.startNext();
+        }
+        return CompletableFuture.allOf(loader.outcomes.toArray(new CompletableFuture<?>[0]))
+            .handle((ignored, e) -> loader.result());
+    }
+
+    /**
+     * Start the next pending fetch; each completion starts the one after, keeping the number in flight constant.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void startNext() {
+        final int index = next.getAndIncrement();
+        if (index >= ids.size()) {
+            return;
+        }
+        final CompletableFuture<T> outcome = outcomes.get(index);
+        CompletableFuture<T> fetched;
+        try {
+            fetched = fetch.apply(ids.get(index));
+        } catch (RuntimeException e) {
+            fetched = CompletableFuture.failedFuture(e);
+        }
+        fetched.whenComplete((value, e) -> {
+            if (e == null) {
+                outcome.complete(value);
+            } else {
+                outcome.completeExceptionally(e);
+            }
+            startNext();
+        });
+    }
+
+    private BatchResult<T> result() {
+        final BatchResult<T> result = new BatchResult<>();
+        for (int i = 0; i < ids.size(); i++) {
+            collect(result, ids.get(i), outcomes.get(i));
+        }
+        return result;
+    }
+
+    private void collect(final BatchResult<T> result, final Integer id, final CompletableFuture<T> outcome) {
+        final T item = outcome.handle((value, e) -> {
+            if (e != null) {
+                result.getErrors().put(id, error(e));
+            } else if (value == null) {
+                result.getErrors().put(id, new BatchError(404, RESOURCE_NOT_FOUND, notFoundDetail.apply(id)));
+            }
+            return value;
+        }).join();
+        if (item != null) {
+            result.getItems().put(id, item);
+        }
+    }
+
+    private static BatchError error(final Throwable failure) {
+        final Throwable e = failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause() : failure;
+        if (e instanceof SystemException) {
+            final SystemException systemException = (SystemException) e;
+            final Integer status = systemException.getStatusCode();
+            return new BatchError(status == null ? 500 : status, systemException.getTitle(),
+                systemException.getDetail() == null ? systemException.getMessage() : systemException.getDetail());
+        }
+        return new BatchError(500, "An unexpected error occurred", e.getMessage());
+    }
+}
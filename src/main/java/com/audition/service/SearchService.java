@@ -0,0 +1,53 @@
+package com.audition.service;
+
+import com.audition.common.exception.InvalidRequestException;
+import com.audition.configuration.AuditionSearchProperties;
+import com.audition.model.SearchPage;
+import com.audition.service.search.SearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Full-text search over the posts and comments served by {@link AuditionService}.
+ */
+@Service
+public class SearchService {
+
+    @Autowired
+    private transient AuditionService auditionService;
+
+    @Autowired
+    private transient SearchIndex searchIndex;
+
+    @Autowired
+    private transient AuditionSearchProperties searchProperties;
+
+    /**
+     * Rank the posts, by title and body, and the comments, by name, email and body, against free text with BM25.
+     * The index is built from {@link AuditionService#getPosts()} and {@link AuditionService#getComments()}, and
+     * rebuilt in the background whenever either list changes; until then the last index built answers.
+     *
+     * @param query free text, matched word by word and case-insensitively
+     * @param offset results to skip
+     * @param limit results to return at most
+     * @return the requested page of results, best first
+     */
+    public SearchPage search(final String query, final int offset, final int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be blank");
+        }
+        checkPage(offset, limit);
+        return searchIndex.search(auditionService.getPosts(), auditionService.getComments(), query, offset, limit);
+    }
+
+    private void checkPage(final int offset, final int limit) {
+        if (offset < 0 || limit <= 0 || limit > searchProperties.getMaxLimit()) {
+            throw new InvalidRequestException(
+                "Offset must not be negative and limit must be between 1 and " + searchProperties.getMaxLimit());
+        }
+        if ((long) offset + limit > searchProperties.getMaxWindow()) {
+            throw new InvalidRequestException(
+                "Only the first " + searchProperties.getMaxWindow() + " results can be paged through");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.audition.service.cache;
+
+import java.time.Duration;
+import java.util.function.ToIntFunction;
+
+/**
+ * A kind of entry held by {@link ReadThroughCache}, with its own time to live and weight estimate.
+ *
+ * @param name region name, used as the metrics tag
+ * @param ttl time an entry stays fresh after it has been loaded
+ * @param weigher estimated retained size of a value, in bytes
+ * @param <V> value type
+ */
+public record CacheRegion<V>(String name, Duration ttl, ToIntFunction<? super V> weigher) {
+}
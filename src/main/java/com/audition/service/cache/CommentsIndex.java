@@ -0,0 +1,206 @@
+package com.audition.service.cache;
+
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.AuditionCacheProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.Comment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Every comment, fetched with a single {@code /comments} call and indexed by post id.
+ *
+ * <p>The index is rebuilt on a schedule and swapped in atomically. Lookups binary-search a sorted {@code int[]} of
+ * post ids and return a list prepared at build time, so a hit neither boxes the key nor allocates. Until the first
+ * load succeeds, and once the index is older than the staleness limit, {@link #get(int)} answers null and callers go
+ * to upstream as before.
+ *
+ * <p>Every new index is announced with a {@link Refreshed} event.
+ */
+@Component
+public class CommentsIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommentsIndex.class);
+    private static final String REFRESHES = "audition.comments.index.refreshes";
+    private static final String RESULT = "result";
+
+    private final transient AuditionIntegrationClient auditionIntegrationClient;
+    private final transient AuditionCacheProperties.CommentsIndex properties;
+    private final transient TaskScheduler taskScheduler;
+    private final transient ApplicationEventPublisher eventPublisher;
+    private final transient AuditionLogger logger;
+    private final transient InstantSource clock;
+    private final transient Counter refreshSuccess;
+    private final transient Counter refreshFailure;
+    private final AtomicReference<Index> current = new AtomicReference<>();
+
+    /**
+     * Create the index and register its metrics.
+     *
+     * @param auditionIntegrationClient source of the comments
+     * @param cacheProperties cache settings
+     * @param taskScheduler runs the periodic refresh
+     * @param meterRegistry MeterRegistry
+     * @param eventPublisher announces the new indexes
+     * @param logger AuditionLogger
+     */
+    @Autowired
+    public CommentsIndex(final AuditionIntegrationClient auditionIntegrationClient,
+        final AuditionCacheProperties cacheProperties, final TaskScheduler taskScheduler,
+        final MeterRegistry meterRegistry, final ApplicationEventPublisher eventPublisher,
+        final AuditionLogger logger) {
+        this(auditionIntegrationClient, cacheProperties, taskScheduler, meterRegistry, eventPublisher, logger,
+            Clock.systemUTC());
+    }
+
+    CommentsIndex(final AuditionIntegrationClient auditionIntegrationClient,
+        final AuditionCacheProperties cacheProperties, final TaskScheduler taskScheduler,
+        final MeterRegistry meterRegistry, final ApplicationEventPublisher eventPublisher,
+        final AuditionLogger logger, final InstantSource clock) {
+        this.auditionIntegrationClient = auditionIntegrationClient;
+        this.properties = cacheProperties.getCommentsIndex();
+        this.taskScheduler = taskScheduler;
+        this.eventPublisher = eventPublisher;
+        this.logger = logger;
+        this.clock = clock;
+        this.refreshSuccess = Counter.builder(REFRESHES).tag(RESULT, "success").register(meterRegistry);
+        this.refreshFailure = Counter.builder(REFRESHES).tag(RESULT, "failure").register(meterRegistry);
+        Gauge.builder("audition.comments.index.size", current, ref -> ref.get() == null ? 0 : ref.get().size())
+            .description("Comments held by the comments index")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Load the index and keep refreshing it once the application is ready to serve.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRefresh() {
+        if (isEnabled()) {
+            taskScheduler.scheduleWithFixedDelay(this::refresh, properties.getRefreshInterval());
+        }
+    }
+
+    /**
+     * Comments of a post, from memory.
+     *
+     * @param postId post id
+     * @return unmodifiable comments of the post, empty when it has none, or null when there is no usable index
+     */
+    @SuppressWarnings("PMD.ReturnEmptyCollectionRatherThanNull")
+    public List<Comment> get(final int postId) {
+        final Index index = usable();
+        return index == null ? null : index.get(postId);
+    }
+
+    /**
+     * Every comment, from memory.
+     *
+     * @return unmodifiable comments, the same instance until the next refresh, or null when there is no usable index
+     */
+    @SuppressWarnings("PMD.ReturnEmptyCollectionRatherThanNull")
+    public List<Comment> all() {
+        final Index index = usable();
+        return index == null ? null : index.all();
+    }
+
+    private Index usable() {
+        final Index index = current.get();
+        if (index == null
+            || Duration.between(index.loadedAt(), clock.instant()).compareTo(properties.getMaxStaleness()) > 0) {
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Fetch every comment and swap in a new index built from them, announcing it; on failure the previous index
+     * stays.
+     *
+     * @return future completed once the refresh has finished, successfully or not
+     */
+    CompletableFuture<Void> refresh() {
+        return auditionIntegrationClient.getCommentsAsync().handle((comments, e) -> {
+            if (e == null) {
+                final Index index = Index.build(comments == null ? List.of() : comments, clock.instant());
+                current.set(index);
+                refreshSuccess.increment();
+                eventPublisher.publishEvent(new Refreshed(index.all()));
+            } else {
+                refreshFailure.increment();
+                logger.warn(LOG, () -> "Comments index refresh failed, keeping the previous index: " + e.getMessage());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * A new index was swapped in.
+     *
+     * @param comments unmodifiable comments of the new index, the same instance {@link #all()} hands out
+     */
+    public record Refreshed(List<Comment> comments) {
+    }
+
+    /**
+     * Immutable index: {@code postIds} is sorted, {@code comments[i]} holds the comments of {@code postIds[i]} and
+     * {@code all} every comment, ordered by post id.
+     */
+    record Index(int[] postIds, List<Comment>[] comments, List<Comment> all, Instant loadedAt) {
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static Index build(final List<Comment> all, final Instant loadedAt) {
+            final Comment[] sorted = all.toArray(new Comment[0]);
+            Arrays.sort(sorted, Comparator.comparingInt(Comment::getPostId));
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i].getPostId() != sorted[i - 1].getPostId()) {
+                    distinct++;
+                }
+            }
+            final int[] postIds = new int[distinct];
+            final List<Comment>[] comments = new List[distinct];
+            int start = 0;
+            for (int slot = 0; slot < distinct; slot++) {
+                int end = start + 1;
+                while (end < sorted.length && sorted[end].getPostId() == sorted[start].getPostId()) {
+                    end++;
+                }
+                postIds[slot] = sorted[start].getPostId();
+                comments[slot] = List.of(Arrays.copyOfRange(sorted, start, end));
+                start = end;
+            }
+            return new Index(postIds, comments, List.of(sorted), loadedAt);
+        }
+
+        int size() {
+            return all.size();
+        }
+
+        List<Comment> get(final int postId) {
+            final int slot = Arrays.binarySearch(postIds, postId);
+            return slot < 0 ? List.of() : comments[slot];
+        }
+    }
+}
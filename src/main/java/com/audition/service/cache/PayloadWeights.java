@@ -0,0 +1,100 @@
+package com.audition.service.cache;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.util.List;
+
+/**
+ * Rough retained-size estimates of the upstream payloads, so that the cache bound follows memory rather than entry
+ * count: a comment list weighs far more than a single post.
+ */
+public final class PayloadWeights {
+
+    private static final int OBJECT_OVERHEAD = 48;
+    private static final int LIST_OVERHEAD = 32;
+    private static final int REFERENCE_SIZE = 8;
+
+    private PayloadWeights() {
+    }
+
+    /**
+     * Weight of a single post.
+     *
+     * @param post post
+     * @return estimated bytes
+     */
+    public static int post(final AuditionPost post) {
+        if (post == null) {
+            return OBJECT_OVERHEAD;
+        }
+        return OBJECT_OVERHEAD + chars(post.getTitle()) + chars(post.getBody());
+    }
+
+    /**
+     * Weight of a post list.
+     *
+     * @param posts posts
+     * @return estimated bytes
+     */
+    public static int posts(final List<AuditionPost> posts) {
+        long weight = LIST_OVERHEAD;
+        if (posts != null) {
+            for (final AuditionPost post : posts) {
+                weight += REFERENCE_SIZE + post(post);
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    /**
+     * Weight of a comment list.
+     *
+     * @param comments comments
+     * @return estimated bytes
+     */
+    public static int comments(final List<Comment> comments) {
+        long weight = LIST_OVERHEAD;
+        if (comments != null) {
+            for (final Comment comment : comments) {
+                weight += REFERENCE_SIZE + OBJECT_OVERHEAD + chars(comment.getName()) + chars(comment.getEmail())
+                    + chars(comment.getBody());
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    /**
+     * Weight of any upstream payload: a post, a post list or a comment list, told apart by their elements.
+     *
+     * @param value payload
+     * @return estimated bytes
+     */
+    @SuppressWarnings("unchecked")
+    public static int payload(final Object value) {
+        if (value instanceof AuditionPost) {
+            return post((AuditionPost) value);
+        }
+        if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            if (!list.isEmpty() && list.get(0) instanceof Comment) {
+                return comments((List<Comment>) list);
+            }
+            if (!list.isEmpty() && list.get(0) instanceof AuditionPost) {
+                return posts((List<AuditionPost>) list);
+            }
+            return (int) Math.min(Integer.MAX_VALUE, LIST_OVERHEAD + (long) list.size() * (REFERENCE_SIZE
+                + OBJECT_OVERHEAD));
+        }
+        return OBJECT_OVERHEAD;
+    }
+
+    /**
+     * Weight of a string.
+     *
+     * @param value string, or null
+     * @return estimated bytes
+     */
+    public static int chars(final String value) {
+        return value == null ? 0 : OBJECT_OVERHEAD + 2 * value.length();
+    }
+}
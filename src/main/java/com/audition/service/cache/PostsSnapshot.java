@@ -0,0 +1,192 @@
+package com.audition.service.cache;
+
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.AuditionCacheProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Immutable copy of the full post list, refreshed in the background (stale-while-revalidate).
+ *
+ * <p>Readers only dereference the current snapshot and never wait for a refresh. When upstream fails the last good
+ * snapshot keeps being served until it is older than the configured staleness limit; past that a reader refreshes
+ * synchronously and sees the upstream error if that fails as well.
+ *
+ * <p>Every swap that brings a new posts instance is announced with a {@link Refreshed} event, so that whatever is
+ * derived from the posts can be rebuilt ahead of the readers.
+ */
+@Component
+public class PostsSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostsSnapshot.class);
+    private static final String REFRESHES = "audition.posts.snapshot.refreshes";
+    private static final String RESULT = "result";
+
+    private final transient AuditionIntegrationClient auditionIntegrationClient;
+    private final transient AuditionCacheProperties.PostsSnapshot properties;
+    private final transient TaskScheduler taskScheduler;
+    private final transient ApplicationEventPublisher eventPublisher;
+    private final transient AuditionLogger logger;
+    private final transient InstantSource clock;
+    private final transient Counter refreshSuccess;
+    private final transient Counter refreshFailure;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * Create the holder and register its metrics.
+     *
+     * @param auditionIntegrationClient source of the posts
+     * @param cacheProperties cache settings
+     * @param taskScheduler runs the periodic and on-demand refreshes
+     * @param meterRegistry MeterRegistry
+     * @param eventPublisher announces the new snapshots
+     * @param logger AuditionLogger
+     */
+    @Autowired
+    public PostsSnapshot(final AuditionIntegrationClient auditionIntegrationClient,
+        final AuditionCacheProperties cacheProperties, final TaskScheduler taskScheduler,
+        final MeterRegistry meterRegistry, final ApplicationEventPublisher eventPublisher,
+        final AuditionLogger logger) {
+        this(auditionIntegrationClient, cacheProperties, taskScheduler, meterRegistry, eventPublisher, logger,
+            Clock.systemUTC());
+    }
+
+    PostsSnapshot(final AuditionIntegrationClient auditionIntegrationClient,
+        final AuditionCacheProperties cacheProperties, final TaskScheduler taskScheduler,
+        final MeterRegistry meterRegistry, final ApplicationEventPublisher eventPublisher,
+        final AuditionLogger logger, final InstantSource clock) {
+        this.auditionIntegrationClient = auditionIntegrationClient;
+        this.properties = cacheProperties.getPostsSnapshot();
+        this.taskScheduler = taskScheduler;
+        this.eventPublisher = eventPublisher;
+        this.logger = logger;
+        this.clock = clock;
+        this.refreshSuccess = Counter.builder(REFRESHES).tag(RESULT, "success").register(meterRegistry);
+        this.refreshFailure = Counter.builder(REFRESHES).tag(RESULT, "failure").register(meterRegistry);
+        Gauge.builder("audition.posts.snapshot.age", this, PostsSnapshot::ageSeconds)
+            .description("Seconds since the posts snapshot was loaded")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Start the periodic background refresh once the application is ready to serve.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRefresh() {
+        if (isEnabled()) {
+            taskScheduler.scheduleWithFixedDelay(this::refreshQuietly, properties.getRefreshInterval());
+        }
+    }
+
+    /**
+     * Current posts, loading them first when there is no usable snapshot yet.
+     *
+     * @return unmodifiable list of posts, shared between callers
+     */
+    public List<AuditionPost> get() {
+        final Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            return refresh().posts();
+        }
+        final Duration age = Duration.between(snapshot.loadedAt(), clock.instant());
+        if (age.compareTo(properties.getMaxStaleness()) > 0) {
+            return refresh().posts();
+        }
+        if (age.compareTo(properties.getRefreshInterval()) > 0 && refreshing.compareAndSet(false, true)) {
+            // the scheduler has fallen behind, revalidate without making this reader wait
+            taskScheduler.schedule(this::refreshQuietly, clock.instant());
+        }
+        return snapshot.posts();
+    }
+
+    /**
+     * Fetch the posts and swap them in as the current snapshot, announcing them when they changed.
+     *
+     * @return the new snapshot
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    Snapshot refresh() {
+        boolean refreshed = false;
+        try {
+            final List<AuditionPost> source = auditionIntegrationClient.getPosts();
+            final Snapshot previous = current.get();
+            final Snapshot snapshot = new Snapshot(source, postsOf(source, previous), clock.instant());
+            current.set(snapshot);
+            refreshed = true;
+            if (previous == null || previous.posts() != snapshot.posts()) {
+                eventPublisher.publishEvent(new Refreshed(snapshot.posts()));
+            }
+            return snapshot;
+        } finally {
+            (refreshed ? refreshSuccess : refreshFailure).increment();
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * An unchanged upstream list (the same instance, handed back after a 304 Not Modified) keeps the posts instance of
+     * the previous snapshot, so that everything derived from it and keyed on its identity stays valid.
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private static List<AuditionPost> postsOf(final List<AuditionPost> source, final Snapshot previous) {
+        if (source == null) {
+            return List.of();
+        }
+        if (previous != null && previous.source() == source) {
+            return previous.posts();
+        }
+        return List.copyOf(source);
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.warn(LOG, () -> "Posts snapshot refresh failed, keeping the previous snapshot: " + e.getMessage());
+        }
+    }
+
+    private double ageSeconds() {
+        final Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            return Double.NaN;
+        }
+        return Duration.between(snapshot.loadedAt(), clock.instant()).toMillis() / 1000.0;
+    }
+
+    record Snapshot(List<AuditionPost> source, List<AuditionPost> posts, Instant loadedAt) {
+    }
+
+    /**
+     * A new posts instance was swapped in.
+     *
+     * @param posts unmodifiable posts of the new snapshot, the same instance {@link #get()} hands out
+     */
+    public record Refreshed(List<AuditionPost> posts) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.audition.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache shared by all {@link CacheRegion}s.
+ *
+ * <p>Entries expire after their region's time to live and are evicted by estimated weight once the total goes over
+ * the configured bound. To avoid a stampede when a hot entry expires, a reader may refresh it a little early: the
+ * probability grows as expiry approaches and with how long the value took to load (XFetch).
+ */
+public class ReadThroughCache {
+
+    private static final String METRIC_PREFIX = "audition.cache.";
+    private static final String REGION = "region";
+
+    private final Cache<Key, Entry> cache;
+    private final boolean enabled;
+    private final double earlyExpirationBeta;
+    private final Ticker ticker;
+    private final transient MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Create the cache and register its size gauges.
+     *
+     * @param enabled when false every read goes straight to the loader
+     * @param maximumWeight upper bound of the summed entry weights, in estimated bytes
+     * @param earlyExpirationBeta how eagerly entries are refreshed ahead of expiry, 0 disables early refresh
+     * @param ticker time source
+     * @param meterRegistry MeterRegistry
+     */
+    public ReadThroughCache(final boolean enabled, final long maximumWeight, final double earlyExpirationBeta,
+        final Ticker ticker, final MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.earlyExpirationBeta = earlyExpirationBeta;
+        this.ticker = ticker;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((Key key, Entry entry) -> entry.weight())
+            .expireAfter(new EntryExpiry())
+            .ticker(ticker)
+            .executor(Runnable::run)
+            .removalListener((Key key, Entry entry, RemovalCause cause) -> {
+                if (key != null && cause.wasEvicted()) {
+                    counter("evictions", key.region(), "cause", cause.name()).increment();
+                }
+            })
+            .build();
+
+        Gauge.builder(METRIC_PREFIX + "size", cache, c -> c.estimatedSize())
+            .description("Number of entries in the read-through cache")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "weight", cache,
+                c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+            .description("Estimated bytes held by the read-through cache")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached value, loading and caching it when absent or due for refresh.
+     *
+     * @param region region of the entry
+     * @param id identifier of the entry within its region
+     * @param loader fetches the value on a miss
+     * @param <V> value type
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(final CacheRegion<V> region, final Object id, final Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        final Key key = new Key(region.name(), id);
+        final Entry cached = cache.getIfPresent(key);
+        if (cached == null) {
+            countGet(region, "miss");
+            return (V) cache.get(key, k -> load(region, loader)).value();
+        }
+        if (refreshEarly(cached)) {
+            countGet(region, "early_refresh");
+            final Entry refreshed = load(region, loader);
+            cache.put(key, refreshed);
+            return (V) refreshed.value();
+        }
+        countGet(region, "hit");
+        return (V) cached.value();
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(CacheRegion, Object, Supplier)}. An entry due for early refresh is served
+     * right away while the refresh runs in the background.
+     *
+     * @param region region of the entry
+     * @param id identifier of the entry within its region
+     * @param loader starts fetching the value on a miss
+     * @param <V> value type
+     * @return future of the value
+     */
+    @SuppressWarnings("unchecked")
+    public <V> CompletableFuture<V> getAsync(final CacheRegion<V> region, final Object id,
+        final Supplier<CompletableFuture<V>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        final Key key = new Key(region.name(), id);
+        final Entry cached = cache.getIfPresent(key);
+        if (cached != null && !refreshEarly(cached)) {
+            countGet(region, "hit");
+            return CompletableFuture.completedFuture((V) cached.value());
+        }
+        countGet(region, cached == null ? "miss" : "early_refresh");
+        final long start = ticker.read();
+        final CompletableFuture<V> future = loader.get();
+        future.whenComplete((value, e) -> {
+            if (e == null) {
+                cache.put(key, entry(region, value, ticker.read() - start));
+            }
+        });
+        return cached == null ? future : CompletableFuture.completedFuture((V) cached.value());
+    }
+
+    /**
+     * Look a value up without loading it.
+     *
+     * @param region region of the entry
+     * @param id identifier of the entry within its region
+     * @param <V> value type
+     * @return value, or null when absent
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V getIfPresent(final CacheRegion<V> region, final Object id) {
+        final Entry cached = enabled ? cache.getIfPresent(new Key(region.name(), id)) : null;
+        return cached == null ? null : (V) cached.value();
+    }
+
+    /**
+     * Store a value loaded elsewhere.
+     *
+     * @param region region of the entry
+     * @param id identifier of the entry within its region
+     * @param value value to cache
+     * @param <V> value type
+     */
+    public <V> void put(final CacheRegion<V> region, final Object id, final V value) {
+        if (enabled) {
+            cache.put(new Key(region.name(), id), entry(region, value, 0L));
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private <V> Entry load(final CacheRegion<V> region, final Supplier<V> loader) {
+        final long start = ticker.read();
+        final V value = loader.get();
+        return entry(region, value, ticker.read() - start);
+    }
+
+    private <V> Entry entry(final CacheRegion<V> region, final V value, final long loadNanos) {
+        return new Entry(value, region.weigher().applyAsInt(value), region.ttl().toNanos(), ticker.read(), loadNanos);
+    }
+
+    /**
+     * XFetch: refresh when now - loadTime * beta * ln(random) reaches the expiry time.
+     */
+    private boolean refreshEarly(final Entry entry) {
+        if (earlyExpirationBeta <= 0 || entry.loadNanos() <= 0) {
+            return false;
+        }
+        final double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        final double gap = -entry.loadNanos() * earlyExpirationBeta * Math.log(random);
+        return ticker.read() + gap >= entry.loadedAt() + entry.ttlNanos();
+    }
+
+    private void countGet(final CacheRegion<?> region, final String result) {
+        counter("gets", region.name(), "result", result).increment();
+    }
+
+    private Counter counter(final String name, final String region, final String tag, final String value) {
+        return counters.computeIfAbsent(name + '|' + region + '|' + value,
+            k -> Counter.builder(METRIC_PREFIX + name)
+                .tag(REGION, region)
+                .tag(tag, value)
+                .register(meterRegistry));
+    }
+
+    private record Key(String region, Object id) {
+    }
+
+    private record Entry(Object value, int weight, long ttlNanos, long loadedAt, long loadNanos) {
+    }
+
+    /**
+     * Each entry lives for its own region's time to live from the moment it was written.
+     */
+    private static final class EntryExpiry implements Expiry<Key, Entry> {
+
+        @Override
+        public long expireAfterCreate(final Key key, final Entry entry, final long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(final Key key, final Entry entry, final long currentTime,
+            final long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(final Key key, final Entry entry, final long currentTime,
+            final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.audition.service.search;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.model.SearchHit;
+import com.audition.model.SearchPage;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable inverted index over the posts, by title and body, and the comments, by name, email and body, ranking the
+ * documents of a query by BM25.
+ *
+ * <p>Posts are numbered first and comments after them. Every term has a posting list sorted by document number, and a
+ * query walks the posting lists of its terms together, one matching document at a time, into a {@link TopHits} heap
+ * bounded by the requested page. The cost of a query therefore grows with the posting lists of its terms, not with
+ * the number of documents.
+ */
+public final class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final List<AuditionPost> posts;
+    private final List<Comment> comments;
+    private final PostingsBuilder.Postings postings;
+    private final double averageLength;
+
+    private Bm25Index(final List<AuditionPost> posts, final List<Comment> comments,
+        final PostingsBuilder.Postings postings) {
+        this.posts = posts;
+        this.comments = comments;
+        this.postings = postings;
+        long totalLength = 0;
+        for (final int length : postings.docLengths()) {
+            totalLength += length;
+        }
+        this.averageLength = postings.docLengths().length == 0 ? 0 : (double) totalLength / postings.docLengths().length;
+    }
+
+    /**
+     * Index posts and comments.
+     *
+     * @param posts posts, kept by reference and not to be modified afterwards
+     * @param comments comments, kept by reference and not to be modified afterwards
+     * @return Bm25Index
+     */
+    public static Bm25Index build(final List<AuditionPost> posts, final List<Comment> comments) {
+        final PostingsBuilder builder = new PostingsBuilder(posts.size() + comments.size());
+        for (final AuditionPost post : posts) {
+            builder.add(post.getTitle(), post.getBody());
+        }
+        for (final Comment comment : comments) {
+            builder.add(comment.getName(), comment.getEmail(), comment.getBody());
+        }
+        return new Bm25Index(posts, comments, builder.finish());
+    }
+
+    /**
+     * Whether this index was built from exactly these list instances.
+     *
+     * @param sourcePosts post list
+     * @param sourceComments comment list
+     * @return boolean
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    public boolean isBuiltFrom(final List<AuditionPost> sourcePosts, final List<Comment> sourceComments) {
+        return posts == sourcePosts && comments == sourceComments;
+    }
+
+    /**
+     * Rank the documents holding any term of the query.
+     *
+     * @param query free text, split into terms the way the documents are
+     * @param offset results to skip
+     * @param limit results to return at most
+     * @return the requested page of results, best first
+     */
+    public SearchPage search(final String query, final int offset, final int limit) {
+        final Set<String> terms = new LinkedHashSet<>();
+        Tokenizer.tokenize(terms::add, query);
+        final int[][] docs = new int[terms.size()][];
+        final int[][] frequencies = new int[terms.size()][];
+        final double[] weights = new double[terms.size()];
+        int found = 0;
+        for (final String term : terms) {
+            final Integer slot = postings.slots().get(term);
+            if (slot != null) {
+                docs[found] = postings.docs()[slot];
+                frequencies[found] = postings.frequencies()[slot];
+                weights[found] = idf(docs[found].length);
+                found++;
+            }
+        }
+        final TopHits top = new TopHits(offset + limit);
+        final SearchPage page = new SearchPage();
+        page.setQuery(query);
+        page.setOffset(offset);
+        page.setLimit(limit);
+        page.setTotal(rank(docs, frequencies, weights, found, top));
+        top.sort();
+        for (int rank = offset; rank < top.size(); rank++) {
+            page.getHits().add(hit(top.doc(rank), top.score(rank)));
+        }
+        return page;
+    }
+
+    /**
+     * Walk the posting lists together in document order, scoring each document once with every term it holds.
+     *
+     * @return number of documents holding at least one of the terms
+     */
+    @SuppressWarnings("PMD.UseVarargs")
+    private int rank(final int[][] docs, final int[][] frequencies, final double[] weights, final int lists,
+        final TopHits top) {
+        final int[] cursors = new int[lists];
+        int matched = 0;
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < lists; i++) {
+                if (cursors[i] < docs[i].length) {
+                    doc = Math.min(doc, docs[i][cursors[i]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                return matched;
+            }
+            double score = 0;
+            for (int i = 0; i < lists; i++) {
+                if (cursors[i] < docs[i].length && docs[i][cursors[i]] == doc) {
+                    score += weights[i] * saturation(frequencies[i][cursors[i]], postings.docLengths()[doc]);
+                    cursors[i]++;
+                }
+            }
+            top.offer(doc, score);
+            matched++;
+        }
+    }
+
+    private double idf(final int documentFrequency) {
+        final int documents = postings.docLengths().length;
+        return Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double saturation(final int frequency, final int length) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private SearchHit hit(final int doc, final double score) {
+        final SearchHit hit = new SearchHit();
+        hit.setScore(score);
+        if (doc < posts.size()) {
+            final AuditionPost post = posts.get(doc);
+            hit.setType("post");
+            hit.setId(post.getId());
+            hit.setPostId(post.getId());
+            hit.setPost(post);
+        } else {
+            final Comment comment = comments.get(doc - posts.size());
+            hit.setType("comment");
+            hit.setId(comment.getId());
+            hit.setPostId(comment.getPostId());
+            hit.setComment(comment);
+        }
+        return hit;
+    }
+}
@@ -0,0 +1,87 @@
+package com.audition.service.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates the postings of {@link Bm25Index} one document at a time, in document order, so that every posting list
+ * comes out sorted by document number.
+ */
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+final class PostingsBuilder {
+
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final int[] docLengths;
+    private int nextDoc;
+
+    PostingsBuilder(final int docCount) {
+        this.docLengths = new int[docCount];
+    }
+
+    /**
+     * Index the next document.
+     *
+     * @param fields texts of the document, any of them may be null
+     */
+    void add(final String... fields) {
+        final int doc = nextDoc++;
+        final Map<String, Integer> frequencies = new HashMap<>();
+        Tokenizer.tokenize(term -> frequencies.merge(term, 1, Integer::sum), fields);
+        int length = 0;
+        for (final Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+            postingOf(frequency.getKey()).add(doc, frequency.getValue());
+            length += frequency.getValue();
+        }
+        docLengths[doc] = length;
+    }
+
+    Postings finish() {
+        final Map<String, Integer> slots = new HashMap<>(postings.size() * 2);
+        final int[][] docs = new int[postings.size()][];
+        final int[][] frequencies = new int[postings.size()][];
+        for (final Map.Entry<String, Posting> posting : postings.entrySet()) {
+            final int slot = slots.size();
+            slots.put(posting.getKey(), slot);
+            docs[slot] = Arrays.copyOf(posting.getValue().docs, posting.getValue().size);
+            frequencies[slot] = Arrays.copyOf(posting.getValue().frequencies, posting.getValue().size);
+        }
+        return new Postings(slots, docs, frequencies, docLengths);
+    }
+
+    private Posting postingOf(final String term) {
+        Posting posting = postings.get(term);
+        if (posting == null) {
+            posting = new Posting();
+            postings.put(term, posting);
+        }
+        return posting;
+    }
+
+    /**
+     * Frozen postings: {@code docs[slots.get(term)]} lists the documents holding the term in ascending order, and
+     * {@code frequencies} the number of times each holds it.
+     */
+    record Postings(Map<String, Integer> slots, int[][] docs, int[][] frequencies, int[] docLengths) {
+    }
+
+    /**
+     * Growable posting list of one term.
+     */
+    private static final class Posting {
+
+        private int[] docs = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+
+        void add(final int doc, final int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.audition.service.search;
+
+import com.audition.model.AuditionPost;
+import com.audition.service.cache.PostsSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a {@link TrigramIndex} over the posts snapshot, rebuilt in the background whenever a new snapshot is swapped
+ * in.
+ *
+ * <p>Readers only dereference the published index and never wait for a rebuild. Until the index of their snapshot is
+ * published they fall back to the linear scan, which returns the same posts. Rebuilds run one at a time and reuse the
+ * trigrams of unchanged posts; a snapshot announced while one runs is picked up right after it, and one superseded
+ * before its turn is skipped.
+ */
+@Component
+public class PostsTextIndex {
+
+    private final transient Timer rebuildTimer;
+    private final transient TaskScheduler taskScheduler;
+    private final AtomicReference<TrigramIndex> current = new AtomicReference<>();
+    private final AtomicReference<List<AuditionPost>> pending = new AtomicReference<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * Create the holder and register its metrics.
+     *
+     * @param meterRegistry MeterRegistry
+     * @param taskScheduler runs the rebuilds
+     */
+    public PostsTextIndex(final MeterRegistry meterRegistry, final TaskScheduler taskScheduler) {
+        this.taskScheduler = taskScheduler;
+        this.rebuildTimer = Timer.builder("audition.posts.text.index.rebuilds")
+            .description("Time spent rebuilding the trigram index of the posts snapshot")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Index the posts of a new snapshot in the background.
+     *
+     * @param event the new snapshot
+     */
+    @EventListener
+    public void onSnapshotRefreshed(final PostsSnapshot.Refreshed event) {
+        pending.set(event.posts());
+        if (rebuilding.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::rebuild, Instant.now());
+        }
+    }
+
+    /**
+     * Posts whose title or body contains the query.
+     *
+     * @param posts current posts snapshot
+     * @param query case-sensitive substring
+     * @return matching posts, in snapshot order
+     */
+    public List<AuditionPost> filter(final List<AuditionPost> posts, final String query) {
+        final TrigramIndex index = current.get();
+        if (index != null && index.isBuiltFrom(posts)) {
+            return index.search(query);
+        }
+        return TrigramIndex.scan(posts, query);
+    }
+
+    /**
+     * Index the latest announced posts until none is left, then let the next announcement schedule a rebuild. Only
+     * the thread holding {@code rebuilding} publishes, so an older index never replaces a newer one.
+     */
+    private void rebuild() {
+        do {
+            try {
+                List<AuditionPost> posts = pending.getAndSet(null);
+                while (posts != null) {
+                    final TrigramIndex previous = current.get();
+                    if (previous == null || !previous.isBuiltFrom(posts)) {
+                        final List<AuditionPost> source = posts;
+                        current.set(rebuildTimer.record(() -> TrigramIndex.build(source, previous)));
+                    }
+                    posts = pending.getAndSet(null);
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+        } while (pending.get() != null && rebuilding.compareAndSet(false, true));
+    }
+}
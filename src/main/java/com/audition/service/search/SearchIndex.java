@@ -0,0 +1,131 @@
+package com.audition.service.search;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.model.SearchPage;
+import com.audition.service.cache.CommentsIndex;
+import com.audition.service.cache.PostsSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a {@link Bm25Index} over the posts and comments, rebuilt in the background whenever either list changes.
+ *
+ * <p>A new posts snapshot or comments index is picked up from its refresh event, and lists coming from the caches
+ * when a search finds the index built from other ones. Readers only dereference the published index and keep using
+ * the last one built until the rebuild is published, so a change shows up in the results one rebuild later. Only the
+ * very first search, with no index at all, builds one itself. Rebuilds run one at a time and index the latest lists.
+ */
+@Component
+public class SearchIndex {
+
+    private final transient Timer rebuildTimer;
+    private final transient TaskScheduler taskScheduler;
+    private final AtomicReference<Bm25Index> current = new AtomicReference<>();
+    private final AtomicReference<Sources> requested = new AtomicReference<>(new Sources(null, null));
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * Create the holder and register its metrics.
+     *
+     * @param meterRegistry MeterRegistry
+     * @param taskScheduler runs the rebuilds
+     */
+    public SearchIndex(final MeterRegistry meterRegistry, final TaskScheduler taskScheduler) {
+        this.taskScheduler = taskScheduler;
+        this.rebuildTimer = Timer.builder("audition.search.index.rebuilds")
+            .description("Time spent rebuilding the full-text index of the posts and comments")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Index the posts of a new snapshot in the background.
+     *
+     * @param event the new snapshot
+     */
+    @EventListener
+    public void onPostsRefreshed(final PostsSnapshot.Refreshed event) {
+        request(sources -> new Sources(event.posts(), sources.comments()));
+    }
+
+    /**
+     * Index the comments of a new comments index in the background.
+     *
+     * @param event the new comments index
+     */
+    @EventListener
+    public void onCommentsRefreshed(final CommentsIndex.Refreshed event) {
+        request(sources -> new Sources(sources.posts(), event.comments()));
+    }
+
+    /**
+     * Rank the posts and comments matching the query.
+     *
+     * @param posts current posts
+     * @param comments current comments of every post
+     * @param query free text
+     * @param offset results to skip
+     * @param limit results to return at most
+     * @return the requested page of results, best first, from the last index built
+     */
+    public SearchPage search(final List<AuditionPost> posts, final List<Comment> comments, final String query,
+        final int offset, final int limit) {
+        Bm25Index index = current.get();
+        if (index == null) {
+            final Bm25Index first = rebuildTimer.record(() -> Bm25Index.build(posts, comments));
+            index = current.compareAndSet(null, first) ? first : current.get();
+        }
+        if (!index.isBuiltFrom(posts, comments)) {
+            request(sources -> new Sources(posts, comments));
+        }
+        return index.search(query, offset, limit);
+    }
+
+    private void request(final UnaryOperator<Sources> update) {
+        requested.updateAndGet(update);
+        if (rebuilding.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::rebuild, Instant.now());
+        }
+    }
+
+    /**
+     * Index the latest requested lists until the index is built from them, then let the next request schedule a
+     * rebuild. Only the thread holding {@code rebuilding} replaces a published index.
+     */
+    private void rebuild() {
+        do {
+            try {
+                Sources sources = requested.get();
+                while (isOutdated(sources)) {
+                    final Sources target = sources;
+                    current.set(rebuildTimer.record(() -> Bm25Index.build(target.posts(), target.comments())));
+                    sources = requested.get();
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+        } while (isOutdated(requested.get()) && rebuilding.compareAndSet(false, true));
+    }
+
+    /**
+     * Whether both lists are known and the published index was built from others.
+     */
+    private boolean isOutdated(final Sources sources) {
+        if (sources.posts() == null || sources.comments() == null) {
+            return false;
+        }
+        final Bm25Index index = current.get();
+        return index == null || !index.isBuiltFrom(sources.posts(), sources.comments());
+    }
+
+    private record Sources(List<AuditionPost> posts, List<Comment> comments) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.audition.service.search;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Splits text into the terms of {@link Bm25Index}: every maximal run of letters and digits, in lower case.
+ */
+final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Pass every term of the texts to the sink, in text order and with repetitions.
+     *
+     * @param sink receives the terms
+     * @param texts texts, any of them may be null
+     */
+    static void tokenize(final Consumer<String> sink, final String... texts) {
+        for (final String text : texts) {
+            tokenize(text, sink);
+        }
+    }
+
+    private static void tokenize(final String text, final Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            final boolean inTerm = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inTerm && start < 0) {
+                start = i;
+            } else if (!inTerm && start >= 0) {
+                sink.accept(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.audition.service.search;
+
+/**
+ * Bounded min-heap of the best scored documents offered so far, on primitive arrays. Selecting the best k of n
+ * candidates costs O(n log k) time and O(k) memory whatever n is. On equal scores the lower document number ranks
+ * first, so results are stable.
+ */
+final class TopHits {
+
+    private final int[] docs;
+    private final double[] scores;
+    private int count;
+
+    TopHits(final int capacity) {
+        this.docs = new int[capacity];
+        this.scores = new double[capacity];
+    }
+
+    /**
+     * Keep the document if it ranks among the best k offered so far.
+     *
+     * @param doc document number
+     * @param score relevance score
+     */
+    void offer(final int doc, final double score) {
+        if (count < docs.length) {
+            docs[count] = doc;
+            scores[count] = score;
+            siftUp(count++);
+        } else if (count > 0 && ranksBelow(docs[0], scores[0], doc, score)) {
+            docs[0] = doc;
+            scores[0] = score;
+            siftDown(0, count);
+        }
+    }
+
+    /**
+     * Sort the kept documents best first, in place; the heap is no longer usable for offers afterwards.
+     */
+    void sort() {
+        for (int end = count - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    int doc(final int rank) {
+        return docs[rank];
+    }
+
+    double score(final int rank) {
+        return scores[rank];
+    }
+
+    private void siftUp(final int start) {
+        int child = start;
+        while (child > 0) {
+            final int parent = (child - 1) / 2;
+            if (!ranksBelow(child, parent)) {
+                return;
+            }
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    private void siftDown(final int start, final int limit) {
+        int parent = start;
+        while (2 * parent + 1 < limit) {
+            int child = 2 * parent + 1;
+            if (child + 1 < limit && ranksBelow(child + 1, child)) {
+                child++;
+            }
+            if (!ranksBelow(child, parent)) {
+                return;
+            }
+            swap(child, parent);
+            parent = child;
+        }
+    }
+
+    private boolean ranksBelow(final int slot, final int other) {
+        return ranksBelow(docs[slot], scores[slot], docs[other], scores[other]);
+    }
+
+    private static boolean ranksBelow(final int doc, final double score, final int otherDoc, final double otherScore) {
+        final int byScore = Double.compare(score, otherScore);
+        return byScore < 0 || byScore == 0 && doc > otherDoc;
+    }
+
+    private void swap(final int first, final int second) {
+        final int doc = docs[first];
+        final double score = scores[first];
+        docs[first] = docs[second];
+        scores[first] = scores[second];
+        docs[second] = doc;
+        scores[second] = score;
+    }
+}
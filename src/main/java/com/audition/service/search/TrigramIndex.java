@@ -0,0 +1,185 @@
+package com.audition.service.search;
+
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable trigram inverted index over the title and body of a post list, answering the case-sensitive substring
+ * filter of {@code GET /posts}.
+ *
+ * <p>Every run of three characters is packed into a {@code long}. A query of three or more characters is split into
+ * its trigrams, the posting lists of those trigrams are intersected to get the candidate posts, and only the
+ * candidates are checked with {@link String#contains}. Results therefore match a linear scan exactly and keep the
+ * order of the source list. Shorter queries have no trigram and fall back to the scan.
+ */
+@SuppressWarnings("PMD.UseVarargs")
+public final class TrigramIndex {
+
+
+    private final List<AuditionPost> posts;
+    private final long[][] postGrams;
+    private final long[] dictionary;
+    private final int[][] postingLists;
+
+    private TrigramIndex(final List<AuditionPost> posts, final long[][] postGrams, final long[] dictionary,
+        final int[][] postingLists) {
+        this.posts = posts;
+        this.postGrams = postGrams;
+        this.dictionary = dictionary;
+        this.postingLists = postingLists;
+    }
+
+    /**
+     * Index a post list, reusing the trigrams of every post whose title and body are unchanged since the previous
+     * index. When every post is unchanged and in the same place, the dictionary and posting lists are reused as well.
+     *
+     * @param posts posts to index, kept by reference and not to be modified afterwards
+     * @param previous index of an earlier version of the list, or null
+     * @return TrigramIndex
+     */
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    public static TrigramIndex build(final List<AuditionPost> posts, final TrigramIndex previous) {
+        final Map<Integer, Integer> previousPositions = new HashMap<>();
+        if (previous != null) {
+            for (int i = 0; i < previous.posts.size(); i++) {
+                previousPositions.put(previous.posts.get(i).getId(), i);
+            }
+        }
+        final long[][] postGrams = new long[posts.size()][];
+        for (int i = 0; i < posts.size(); i++) {
+            final AuditionPost post = posts.get(i);
+            final Integer position = previousPositions.get(post.getId());
+            postGrams[i] = position != null && sameText(previous.posts.get(position), post)
+                ? previous.postGrams[position] : trigramsOf(post);
+        }
+        if (previous != null && allReused(postGrams, previous.postGrams)) {
+            return new TrigramIndex(posts, postGrams, previous.dictionary, previous.postingLists);
+        }
+        final long[] dictionary = Trigrams.union(postGrams);
+        return new TrigramIndex(posts, postGrams, dictionary, invert(dictionary, postGrams));
+    }
+
+    /**
+     * Whether this index was built from exactly this list instance.
+     *
+     * @param source post list
+     * @return boolean
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    public boolean isBuiltFrom(final List<AuditionPost> source) {
+        return posts == source;
+    }
+
+    /**
+     * Posts whose title or body contains the query, in source order.
+     *
+     * @param query case-sensitive substring
+     * @return matching posts
+     */
+    @SuppressWarnings("PMD.AvoidArrayLoops")
+    public List<AuditionPost> search(final String query) {
+        if (query.length() < Trigrams.LENGTH) {
+            return scan(posts, query);
+        }
+        final long[] queryGrams = Trigrams.sortedDistinct(Trigrams.extract(query, Trigrams.NONE));
+        final int[][] lists = new int[queryGrams.length][];
+        for (int i = 0; i < queryGrams.length; i++) {
+            final int slot = Arrays.binarySearch(dictionary, queryGrams[i]);
+            if (slot < 0) {
+                return List.of();
+            }
+            lists[i] = postingLists[slot];
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        int[] candidates = lists[0];
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = Trigrams.intersect(candidates, lists[i]);
+        }
+        final List<AuditionPost> matches = new ArrayList<>(candidates.length);
+        for (final int candidate : candidates) {
+            final AuditionPost post = posts.get(candidate);
+            if (contains(post, query)) {
+                matches.add(post);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * The filter without an index: check every post.
+     *
+     * @param posts posts to filter
+     * @param query case-sensitive substring
+     * @return matching posts, in source order
+     */
+    public static List<AuditionPost> scan(final List<AuditionPost> posts, final String query) {
+        final List<AuditionPost> matches = new ArrayList<>();
+        for (final AuditionPost post : posts) {
+            if (contains(post, query)) {
+                matches.add(post);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean contains(final AuditionPost post, final String query) {
+        return post.getTitle() != null && post.getTitle().contains(query)
+            || post.getBody() != null && post.getBody().contains(query);
+    }
+
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private static boolean allReused(final long[][] postGrams, final long[][] previous) {
+        if (postGrams.length != previous.length) {
+            return false;
+        }
+        for (int i = 0; i < postGrams.length; i++) {
+            if (postGrams[i] != previous[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameText(final AuditionPost before, final AuditionPost after) {
+        return Objects.equals(before.getTitle(), after.getTitle()) && Objects.equals(before.getBody(), after.getBody());
+    }
+
+    /**
+     * Trigrams of the title and of the body, taken separately so that none spans the two.
+     */
+    private static long[] trigramsOf(final AuditionPost post) {
+        final long[] titleGrams = Trigrams.extract(post.getTitle(), Trigrams.NONE);
+        return Trigrams.sortedDistinct(Trigrams.extract(post.getBody(), titleGrams));
+    }
+
+    /**
+     * Posting list of every trigram: the ascending positions of the posts containing it.
+     */
+    private static int[][] invert(final long[] dictionary, final long[][] postGrams) {
+        final int[] counts = new int[dictionary.length];
+        for (final long[] postGram : postGrams) {
+            for (final long gram : postGram) {
+                counts[Arrays.binarySearch(dictionary, gram)]++;
+            }
+        }
+        final int[][] postings = new int[dictionary.length][];
+        for (int slot = 0; slot < dictionary.length; slot++) {
+            postings[slot] = new int[counts[slot]];
+            counts[slot] = 0;
+        }
+        for (int position = 0; position < postGrams.length; position++) {
+            for (final long gram : postGrams[position]) {
+                final int slot = Arrays.binarySearch(dictionary, gram);
+                postings[slot][counts[slot]++] = position;
+            }
+        }
+        return postings;
+    }
+}
@@ -0,0 +1,86 @@
+package com.audition.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Primitive array helpers of {@link TrigramIndex}: a trigram is three consecutive chars packed into a {@code long}.
+ */
+@SuppressWarnings("PMD.UseVarargs")
+final class Trigrams {
+
+    static final int LENGTH = 3;
+    static final long[] NONE = new long[0];
+
+    private Trigrams() {
+    }
+
+    /**
+     * Append the trigrams of a text to the given ones.
+     *
+     * @param text text, may be null
+     * @param prefix trigrams to keep in front
+     * @return new array, or the prefix itself when the text is too short to have a trigram
+     */
+    static long[] extract(final String text, final long[] prefix) {
+        if (text == null || text.length() < LENGTH) {
+            return prefix;
+        }
+        final long[] result = Arrays.copyOf(prefix, prefix.length + text.length() - LENGTH + 1);
+        for (int i = 0; i + LENGTH <= text.length(); i++) {
+            result[prefix.length + i] = (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16
+                | text.charAt(i + 2);
+        }
+        return result;
+    }
+
+    /**
+     * Sort the values in place and drop the duplicates.
+     *
+     * @param values values, reordered by the call
+     * @return the distinct values in ascending order
+     */
+    @SuppressWarnings("PMD.AvoidArrayLoops")
+    static long[] sortedDistinct(final long[] values) {
+        Arrays.sort(values);
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[size - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    static long[] union(final long[][] sets) {
+        int total = 0;
+        for (final long[] set : sets) {
+            total += set.length;
+        }
+        final long[] all = new long[total];
+        int offset = 0;
+        for (final long[] set : sets) {
+            System.arraycopy(set, 0, all, offset, set.length);
+            offset += set.length;
+        }
+        return sortedDistinct(all);
+    }
+
+    static int[] intersect(final int[] left, final int[] right) {
+        final int[] result = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
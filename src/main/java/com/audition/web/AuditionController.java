@@ -1,20 +1,34 @@
 package com.audition.web;
 
+import static com.audition.configuration.BinaryFormats.APPLICATION_SMILE_VALUE;
+
+import com.audition.common.exception.InvalidRequestException;
 import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.AuditionPagingProperties;
 import com.audition.model.AuditionPost;
+import com.audition.model.BatchResult;
 import com.audition.model.Comment;
+import com.audition.model.SearchPage;
 import com.audition.service.AuditionService;
+import com.audition.service.SearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 public class AuditionController {
@@ -23,26 +37,73 @@ public class AuditionController {
     @Autowired
     private transient AuditionService auditionService;
     @Autowired
+    private transient SearchService searchService;
+    @Autowired
+    private transient AuditionPagingProperties pagingProperties;
+    @Autowired
+    private transient PostsResponseCache postsResponseCache;
+    @Autowired
+    private transient ObjectMapper objectMapper;
+    @Autowired
     private transient AuditionLogger logger;
 
     /**
-     * Get all posts.
+     * Get all posts, or one page of them when a limit or cursor is given. The serialized response is cached for as
+     * long as the posts do not change, and revalidated with its ETag.
      *
      * @param filterString used to filter the posts either title or body contains this filter string
-     * @return List of AuditionPost
+     * @param limit page size; the cursor of the next page, if any, is returned in the X-Next-Cursor header
+     * @param cursor X-Next-Cursor header of the previous page
+     * @param fields comma separated fields to write for each post, every field when absent
+     * @param requestHeaders for Accept, If-None-Match and Accept-Encoding
+     * @return List of AuditionPost as JSON, CBOR or Smile, or 304 Not Modified
      */
-    @RequestMapping(value = "/posts", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody List<AuditionPost> getPosts(
-        @RequestParam(value = "filterString", required = false) final String filterString) {
-        List<AuditionPost> posts = auditionService.getPosts();
+    @RequestMapping(value = "/posts", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<byte[]> getPosts(
+        @RequestParam(value = "filterString", required = false) final String filterString,
+        @RequestParam(value = "limit", required = false) final Integer limit,
+        @RequestParam(value = "cursor", required = false) final String cursor,
+        @RequestParam(value = "fields", required = false) final String fields,
+        @RequestHeader final HttpHeaders requestHeaders) {
+        final List<AuditionPost> source = auditionService.getPosts();
+        return postsResponseCache.respond(source, PostsResponseCache.key(filterString, limit, cursor, fields),
+            requestHeaders, () -> PostsPaging.select(selectPosts(filterString, source), cursor, limit,
+                pagingProperties), PostsPaging.fields(fields));
+    }
 
-        if (filterString != null && !filterString.isEmpty()) {
-            posts = posts.stream()
-                .filter((post) -> post.getTitle().contains(filterString) || post.getBody().contains(filterString))
-                .toList();
-        }
+    /**
+     * Get the same posts as {@link #getPosts}, written as newline-delimited JSON while they are serialized.
+     *
+     * @param filterString used to filter the posts either title or body contains this filter string
+     * @param limit page size; the cursor of the next page, if any, is returned in the X-Next-Cursor header
+     * @param cursor X-Next-Cursor header of the previous page
+     * @param fields comma separated fields to write for each post, every field when absent
+     * @return one post per line
+     */
+    @RequestMapping(value = "/posts", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPosts(
+        @RequestParam(value = "filterString", required = false) final String filterString,
+        @RequestParam(value = "limit", required = false) final Integer limit,
+        @RequestParam(value = "cursor", required = false) final String cursor,
+        @RequestParam(value = "fields", required = false) final String fields) {
+        final PostsPaging.Page page = PostsPaging.select(selectPosts(filterString, auditionService.getPosts()), cursor,
+            limit, pagingProperties);
+        return PostsPaging.respond(page).contentType(MediaType.APPLICATION_NDJSON)
+            .body(NdjsonStreams.stream(objectMapper, page.posts(), PostsPaging.fields(fields)));
+    }
 
-        return posts;
+    /**
+     * Get many posts in one request.
+     *
+     * @param postIds post ids, comma separated or repeated
+     * @return the posts found by id, and an error for each id that could not be served
+     */
+    @RequestMapping(value = "/posts", params = "ids", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public @ResponseBody CompletableFuture<BatchResult<AuditionPost>> getPostsByIds(
+        @RequestParam("ids") final List<String> postIds) {
+        return auditionService.getPostsByIds(parseIds(postIds));
     }
 
     /**
@@ -51,7 +112,8 @@ public class AuditionController {
      * @param postId used to query post match this post ID
      * @return AuditionPost
      */
-    @RequestMapping(value = "/posts/{id}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    @RequestMapping(value = "/posts/{id}", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
     @SuppressWarnings("PMD.GuardLogStatement")
     public @ResponseBody AuditionPost getPost(@PathVariable("id") final String postId) {
 
@@ -68,13 +130,39 @@ public class AuditionController {
         }
     }
 
+    /**
+     * Get a post together with its comments, both fetched from upstream concurrently.
+     *
+     * @param postId used to query post match this post ID
+     * @return AuditionPost with its comments, completed without holding the request thread
+     */
+    @RequestMapping(value = "/posts/{id}", params = "include=comments", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public @ResponseBody CompletableFuture<AuditionPost> getPostWithComments(@PathVariable("id") final String postId) {
+        return auditionService.getPostWithCommentsByIdAsync(parseId(postId));
+    }
+
+    /**
+     * Get the comments of many posts in one request.
+     *
+     * @param postIds post ids, comma separated or repeated
+     * @return the comment lists found by post id, and an error for each id that could not be served
+     */
+    @RequestMapping(value = "/comments", params = "postIds", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public @ResponseBody CompletableFuture<BatchResult<List<Comment>>> getCommentsByPostIds(
+        @RequestParam("postIds") final List<String> postIds) {
+        return auditionService.getCommentsByPostIds(parseIds(postIds));
+    }
+
     /**
      * Get comments of a post.
      *
      * @param postId used to query all comments of this post.
      * @return AuditionPost
      */
-    @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
     @SuppressWarnings("PMD.GuardLogStatement")
     public @ResponseBody List<Comment> getCommentsByPostId(@PathVariable("id") final String postId) {
         try {
@@ -89,4 +177,56 @@ public class AuditionController {
         }
     }
 
+    /**
+     * Search posts and comments by relevance.
+     *
+     * @param query free text, matched word by word and case-insensitively
+     * @param offset results to skip
+     * @param limit results to return at most
+     * @return a page of posts and comments, best first, with the number of matches
+     */
+    @RequestMapping(value = "/search", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public @ResponseBody SearchPage search(@RequestParam("q") final String query,
+        @RequestParam(value = "offset", defaultValue = "0") final int offset,
+        @RequestParam(value = "limit", defaultValue = "10") final int limit) {
+        return searchService.search(query, offset, limit);
+    }
+
+    /**
+     * Get comments of a post, written as newline-delimited JSON while they are serialized.
+     *
+     * @param postId used to query all comments of this post.
+     * @return one comment per line
+     */
+    @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET,
+        produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCommentsByPostId(@PathVariable("id") final String postId) {
+        final List<Comment> comments = auditionService.getCommentsByPostId(parseId(postId));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+            .body(NdjsonStreams.stream(objectMapper, comments, null));
+    }
+
+    private List<AuditionPost> selectPosts(final String filterString, final List<AuditionPost> posts) {
+        if (filterString != null && !filterString.isEmpty()) {
+            return auditionService.filterPosts(filterString);
+        }
+        return posts;
+    }
+
+    private static List<Integer> parseIds(final List<String> postIds) {
+        final List<Integer> ids = new ArrayList<>(postIds.size());
+        for (final String postId : postIds) {
+            ids.add(parseId(postId.trim()));
+        }
+        return ids;
+    }
+
+    private static int parseId(final String postId) {
+        try {
+            return Integer.parseInt(postId);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid Post ID format.", e);
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package com.audition.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes a list as newline-delimited JSON, one element per line, straight to the response stream.
+ *
+ * <p>Each element is serialized into the generator buffer and handed to the servlet stream in turn, so the server
+ * never holds the serialized list, only the container output buffer. The stream is flushed after the first element,
+ * for an early first byte, and then whenever the container buffer fills.
+ */
+final class NdjsonStreams {
+
+    private static final String LINE_SEPARATOR = "\n";
+
+    private NdjsonStreams() {
+    }
+
+    /**
+     * Stream the elements as NDJSON.
+     *
+     * @param objectMapper application ObjectMapper
+     * @param elements elements, written in order
+     * @param filters Jackson filters selecting the fields to write, or null for the defaults
+     * @return StreamingResponseBody
+     */
+    static StreamingResponseBody stream(final ObjectMapper objectMapper, final List<?> elements,
+        final FilterProvider filters) {
+        final ObjectWriter writer = (filters == null ? objectMapper.writer() : objectMapper.writer(filters))
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .withRootValueSeparator(LINE_SEPARATOR);
+        return out -> {
+            try (SequenceWriter sequence = writer.writeValues(out)) {
+                for (int i = 0; i < elements.size(); i++) {
+                    sequence.write(elements.get(i));
+                    if (i == 0) {
+                        sequence.flush();
+                    }
+                }
+            }
+            if (!elements.isEmpty()) {
+                out.write('\n');
+            }
+            out.flush();
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.audition.web;
+
+import com.audition.common.exception.InvalidRequestException;
+import com.audition.configuration.AuditionPagingProperties;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Cursor pagination and sparse fieldsets of {@code GET /posts}.
+ *
+ * <p>A cursor is the opaque encoding of the id of the last post of a page, and the next page holds the following
+ * posts with a higher id. As upstream lists posts by ascending id, paging stays consistent when posts are added or
+ * removed between requests. Fields are selected by a Jackson filter when the response is written, so the posts
+ * themselves are neither copied nor changed.
+ */
+final class PostsPaging {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final Set<String> KNOWN_FIELDS = Set.of("userId", "id", "title", "body", "comments");
+    private static final String CURSOR_PREFIX = "id:";
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    private PostsPaging() {
+    }
+
+    /**
+     * The posts a request asks for: all of them, or one page when it gives a limit or a cursor.
+     *
+     * @param posts all posts, in the order to page through
+     * @param cursor cursor of the previous page, or null
+     * @param limit page size, or null
+     * @param properties paging settings
+     * @return the posts and the cursor of the next page, if any
+     */
+    static Page select(final List<AuditionPost> posts, final String cursor, final Integer limit,
+        final AuditionPagingProperties properties) {
+        if (limit == null && cursor == null) {
+            return new Page(posts, null);
+        }
+        return page(posts, cursor, limit, properties);
+    }
+
+    /**
+     * A 200 response carrying the cursor of the next page, if any, in the X-Next-Cursor header.
+     *
+     * @param page page to respond with
+     * @return ResponseEntity.BodyBuilder
+     */
+    static ResponseEntity.BodyBuilder respond(final Page page) {
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response;
+    }
+
+    /**
+     * Cut one page out of the posts.
+     *
+     * @param posts all posts, in the order to page through
+     * @param cursor cursor of the previous page, or null for the first page
+     * @param limit page size, or null for the configured default
+     * @param properties paging settings
+     * @return the page and the cursor of the next one
+     */
+    static Page page(final List<AuditionPost> posts, final String cursor, final Integer limit,
+        final AuditionPagingProperties properties) {
+        final int size = limit == null ? properties.getDefaultLimit() : limit;
+        if (size <= 0 || size > properties.getMaxLimit()) {
+            throw new InvalidRequestException("Limit must be between 1 and " + properties.getMaxLimit());
+        }
+        final int afterId = cursor == null ? Integer.MIN_VALUE : decodeCursor(cursor);
+        final List<AuditionPost> page = new ArrayList<>(Math.min(size, posts.size()));
+        for (final AuditionPost post : posts) {
+            if (post.getId() <= afterId) {
+                continue;
+            }
+            if (page.size() == size) {
+                return new Page(page, encodeCursor(page.get(size - 1).getId()));
+            }
+            page.add(post);
+        }
+        return new Page(page, null);
+    }
+
+    /**
+     * Jackson filters writing only the requested fields of each post.
+     *
+     * @param fields comma separated field names, or null
+     * @return FilterProvider, or null to write every field
+     */
+    static FilterProvider fields(final String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        final Set<String> selected = new LinkedHashSet<>();
+        for (final String field : fields.split(",")) {
+            final String name = field.trim();
+            if (!KNOWN_FIELDS.contains(name)) {
+                throw new InvalidRequestException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return new SimpleFilterProvider()
+            .addFilter(AuditionPost.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(selected));
+    }
+
+    static String encodeCursor(final int id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decodeCursor(final String cursor) {
+        final String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(INVALID_CURSOR, e);
+        }
+        if (!decoded.startsWith(CURSOR_PREFIX)) {
+            throw new InvalidRequestException(INVALID_CURSOR);
+        }
+        try {
+            return Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException(INVALID_CURSOR, e);
+        }
+    }
+
+    /**
+     * One page of posts, and the cursor of the next page or null when this one is the last.
+     */
+    record Page(List<AuditionPost> posts, String nextCursor) {
+    }
+}
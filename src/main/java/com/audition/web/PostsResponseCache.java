@@ -0,0 +1,200 @@
+package com.audition.web;
+
+import com.audition.configuration.AuditionCacheProperties;
+import com.audition.configuration.BinaryFormats;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serialized {@code GET /posts} responses, written to the client as they are.
+ *
+ * <p>An entry holds the bytes of one query in one format (JSON, or CBOR or Smile when the Accept header prefers
+ * them), a gzip variant and a strong ETag of each. It stays valid while the
+ * post list it was rendered from is the current one, so a new posts snapshot retires every entry without explicit
+ * invalidation. A request whose If-None-Match names the ETag of a valid entry is answered 304 without touching the
+ * posts or the ObjectMapper.
+ */
+@Component
+class PostsResponseCache {
+
+    private static final String GETS = "audition.response.cache.gets";
+    private static final String RESULT = "result";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String ANY_ETAG = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private final transient Map<MediaType, ObjectMapper> mappers;
+    private final transient Cache<String, Rendered> cache;
+    private final boolean enabled;
+    private final transient Counter hits;
+    private final transient Counter misses;
+
+    PostsResponseCache(final ObjectMapper objectMapper, final AuditionCacheProperties cacheProperties,
+        final MeterRegistry meterRegistry) {
+        this.mappers = BinaryFormats.mappers(objectMapper);
+        this.enabled = cacheProperties.getResponses().isEnabled();
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(cacheProperties.getResponses().getMaximumWeight().toBytes())
+            .weigher((String key, Rendered rendered) -> rendered.weight())
+            .executor(Runnable::run)
+            .build();
+        this.hits = Counter.builder(GETS).tag(RESULT, "hit").register(meterRegistry);
+        this.misses = Counter.builder(GETS).tag(RESULT, "miss").register(meterRegistry);
+    }
+
+    /**
+     * Key of a query: every parameter that changes the response body.
+     *
+     * @param parameters request parameters, any of them may be null
+     * @return String
+     */
+    static String key(final Object... parameters) {
+        return Arrays.toString(parameters);
+    }
+
+    /**
+     * Answer a query from its serialized response, rendering and caching it first when the cached one is missing or
+     * was rendered from an older post list.
+     *
+     * @param source current post list, the version the response must reflect
+     * @param key key of the query
+     * @param request request headers, for Accept, If-None-Match and Accept-Encoding
+     * @param page selects the posts of the response, on a miss only
+     * @param filters fields to write, or null for every field
+     * @return 200 with the serialized posts, or 304 when the client already has them
+     */
+    ResponseEntity<byte[]> respond(final List<AuditionPost> source, final String key, final HttpHeaders request,
+        final Supplier<PostsPaging.Page> page, final FilterProvider filters) {
+        final MediaType format = BinaryFormats.negotiate(request.getAccept());
+        final String formatKey = key + format;
+        Rendered rendered = enabled ? cache.getIfPresent(formatKey) : null;
+        if (rendered == null || !rendered.isRenderedFrom(source)) {
+            misses.increment();
+            rendered = render(source, page.get(), filters, mappers.get(format));
+            if (enabled) {
+                cache.put(formatKey, rendered);
+            }
+        } else {
+            hits.increment();
+        }
+
+        final boolean gzip = rendered.gzip().length < rendered.body().length && acceptsGzip(request);
+        final String etag = gzip ? rendered.gzipEtag() : rendered.etag();
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        if (rendered.nextCursor() != null) {
+            headers.set(PostsPaging.NEXT_CURSOR_HEADER, rendered.nextCursor());
+        }
+        if (matches(request.getIfNoneMatch(), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        headers.setContentType(format);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+            return ResponseEntity.ok().headers(headers).body(rendered.gzip());
+        }
+        return ResponseEntity.ok().headers(headers).body(rendered.body());
+    }
+
+    private static Rendered render(final List<AuditionPost> source, final PostsPaging.Page page,
+        final FilterProvider filters, final ObjectMapper mapper) {
+        final byte[] body;
+        try {
+            body = (filters == null ? mapper.writer() : mapper.writer(filters))
+                .writeValueAsBytes(page.posts());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        final String tag = digest(body);
+        return new Rendered(source, body, gzip(body), '"' + tag + '"',
+            '"' + tag + '-' + GZIP_ENCODING + '"', page.nextCursor());
+    }
+
+    private static byte[] gzip(final byte[] body) {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static String digest(final byte[] body) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean acceptsGzip(final HttpHeaders request) {
+        for (final String encoding : request.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (final String token : encoding.split(",")) {
+                final String[] parts = token.trim().split(";");
+                if (GZIP_ENCODING.equalsIgnoreCase(parts[0].trim()) && !(parts.length > 1 && isZeroQuality(parts[1]))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(final String parameter) {
+        return parameter.trim().matches("q=0(\\.0{0,3})?");
+    }
+
+    /**
+     * Weak comparison, as If-None-Match requires: a W/ prefix on either side does not matter.
+     */
+    private static boolean matches(final List<String> ifNoneMatch, final String etag) {
+        for (final String candidate : ifNoneMatch) {
+            final String tag = candidate.startsWith(WEAK_PREFIX) ? candidate.substring(WEAK_PREFIX.length()) : candidate;
+            if (ANY_ETAG.equals(tag) || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One serialized response: plain and gzip bytes, their ETags, and the cursor of the next page. The gzip variant is
+     * only served when it is the smaller one.
+     */
+    record Rendered(List<AuditionPost> source, byte[] body, byte[] gzip, String etag, String gzipEtag,
+        String nextCursor) {
+
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        boolean isRenderedFrom(final List<AuditionPost> posts) {
+            return source == posts;
+        }
+
+        int weight() {
+            return body.length + gzip.length;
+        }
+    }
+}
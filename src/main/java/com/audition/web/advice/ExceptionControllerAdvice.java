@@ -3,15 +3,20 @@ package com.audition.web.advice;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
 
+import com.audition.common.exception.InvalidRequestException;
 import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
 import com.audition.common.logging.AuditionLogger;
 import io.micrometer.common.util.StringUtils;
 import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -51,7 +56,7 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
     @ExceptionHandler(Exception.class)
     ProblemDetail handleMainException(final Exception e) {
         // Log the exception
-        logger.logErrorWithException(LOG, "An unexpected error occurred: " + e.getMessage(), e);
+        logger.error(LOG, "An unexpected error occurred: {}", e.getMessage(), e);
 
         // Increment a custom metric for exceptions
         meterRegistry.counter("exceptions.main", "exception", e.getClass().getSimpleName()).increment();
@@ -76,7 +81,7 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
         //Add Handling for SystemException
 
         // Log the exception
-        logger.logErrorWithException(LOG, "A system error occurred: " + e.getMessage(), e);
+        logger.error(LOG, "A system error occurred: {}", e.getMessage(), e);
 
         // Increment a custom metric for system exceptions
         meterRegistry.counter("exceptions.system", "exception", e.getClass().getSimpleName()).increment();
@@ -90,6 +95,67 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
         return problemDetail;
     }
 
+    /**
+     * Requests rejected by validation: a client error, answered with 400 and logged at INFO only.
+     *
+     * @param e InvalidRequestException
+     * @return 400 ProblemDetail
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    ProblemDetail handleInvalidRequestException(final InvalidRequestException e) {
+        logger.info(LOG, "Invalid request: {}", e.getMessage());
+
+        meterRegistry.counter("exceptions.invalid.request", "exception", e.getClass().getSimpleName()).increment();
+
+        return createProblemDetail(e, getHttpStatusCodeFromSystemException(e));
+    }
+
+    /**
+     * Upstream calls refused locally by the circuit breaker or bulkhead, answered without waiting on upstream.
+     *
+     * @param e UpstreamUnavailableException
+     * @return 503 ProblemDetail with a Retry-After header
+     */
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    ResponseEntity<ProblemDetail> handleUpstreamUnavailableException(final UpstreamUnavailableException e) {
+        logger.warn(LOG, "Upstream call refused: {}", e.getMessage());
+
+        meterRegistry.counter("exceptions.upstream.unavailable", "operation", e.getOperation()).increment();
+
+        final ProblemDetail problemDetail = createProblemDetail(e, getHttpStatusCodeFromSystemException(e));
+        problemDetail.setProperty("operation", e.getOperation());
+        // round up so that clients never retry before the circuit lets probes through
+        final long retryAfterSeconds = (e.getRetryAfter().toMillis() + 999) / 1000;
+        return ResponseEntity.status(problemDetail.getStatus())
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)))
+            .body(problemDetail);
+    }
+
+    /**
+     * Failures of asynchronous upstream calls that reached a controller still wrapped, e.g. through join(): answer
+     * them as the underlying exception would have been.
+     *
+     * @param e CompletionException
+     * @return ProblemDetail of the cause
+     */
+    @ExceptionHandler(CompletionException.class)
+    ResponseEntity<ProblemDetail> handleCompletionException(final CompletionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof UpstreamUnavailableException) {
+            return handleUpstreamUnavailableException((UpstreamUnavailableException) cause);
+        }
+        final ProblemDetail problemDetail;
+        if (cause instanceof InvalidRequestException) {
+            problemDetail = handleInvalidRequestException((InvalidRequestException) cause);
+        } else if (cause instanceof SystemException) {
+            problemDetail = handleSystemException((SystemException) cause);
+        } else if (cause instanceof HttpClientErrorException) {
+            problemDetail = handleHttpClientException((HttpClientErrorException) cause);
+        } else {
+            problemDetail = handleMainException(cause instanceof Exception ? (Exception) cause : e);
+        }
+        return ResponseEntity.status(problemDetail.getStatus()).body(problemDetail);
+    }
 
     private ProblemDetail createProblemDetail(final Exception exception,
         final HttpStatusCode statusCode) {
@@ -114,7 +180,7 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
         try {
             return HttpStatusCode.valueOf(exception.getStatusCode());
         } catch (final IllegalArgumentException iae) {
-            logger.info(LOG, ERROR_MESSAGE + exception.getStatusCode());
+            logger.info(LOG, ERROR_MESSAGE + "{}", exception.getStatusCode());
             return INTERNAL_SERVER_ERROR;
         }
     }
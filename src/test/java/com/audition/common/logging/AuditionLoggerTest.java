@@ -1,21 +1,29 @@
 package com.audition.common.logging;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import java.net.URI;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.ProblemDetail;
 
 @SpringBootTest
-@SuppressWarnings("PMD.LoggerIsNotStaticFinal")
+@SuppressWarnings({"PMD.LoggerIsNotStaticFinal", "PMD.TooManyMethods"})
 class AuditionLoggerTest {
 
     private transient AuditionLogger auditionLogger;
@@ -96,4 +104,68 @@ class AuditionLoggerTest {
         auditionLogger.logHttpStatusCodeError(mockLogger, "Error occurred", 404);
         verify(mockLogger, times(1)).error("Error Code: 404 - Message: Error occurred\n");
     }
+
+    @Test
+    void testSupplierIsNotCalledWhenLevelIsDisabled() {
+        when(mockLogger.isDebugEnabled()).thenReturn(false);
+        auditionLogger.debug(mockLogger, () -> {
+            throw new AssertionError("message built for a disabled level");
+        });
+        verify(mockLogger, never()).debug(anyString());
+    }
+
+    @Test
+    void testSupplierIsLoggedWhenLevelIsEnabled() {
+        when(mockLogger.isWarnEnabled()).thenReturn(true);
+        auditionLogger.warn(mockLogger, () -> TEST_MESSAGE);
+        verify(mockLogger, times(1)).warn(TEST_MESSAGE);
+    }
+
+    @Test
+    void testErrorSupplierWithException() {
+        final Exception exception = new RuntimeException("Test exception");
+        when(mockLogger.isErrorEnabled()).thenReturn(true);
+        auditionLogger.error(mockLogger, () -> ERROR_MESSAGE, exception);
+        verify(mockLogger, times(1)).error(ERROR_MESSAGE, exception);
+    }
+
+    @Test
+    void testParameterizedOverloadsPassTheirArguments() {
+        when(mockLogger.isInfoEnabled()).thenReturn(true);
+        when(mockLogger.isErrorEnabled()).thenReturn(true);
+        auditionLogger.info(mockLogger, "{} {}", 1, 2);
+        auditionLogger.error(mockLogger, "{} {} {}", 1, 2, 3);
+        verify(mockLogger, times(1)).info("{} {}", 1, 2);
+        verify(mockLogger, times(1)).error("{} {} {}", 1, 2, 3);
+    }
+
+    @Test
+    void testParameterizedOverloadIsSkippedWhenLevelIsDisabled() {
+        auditionLogger.warn(mockLogger, "{}", 1);
+        verify(mockLogger, never()).warn(anyString(), any(Object.class));
+    }
+
+    @Test
+    void testEventCarriesItsKeyValuePairs() {
+        final ch.qos.logback.classic.Logger logger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("audition.logger.test");
+        final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            auditionLogger.event(logger, Level.INFO, "cache.miss", "region", "posts", "key", 7);
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        final ILoggingEvent event = appender.list.get(0);
+        assertEquals("cache.miss region=posts key=7", event.getFormattedMessage());
+        assertEquals("[region=\"posts\", key=\"7\"]", event.getKeyValuePairs().toString());
+    }
+
+    @Test
+    void testEventIsSkippedWhenLevelIsDisabled() {
+        auditionLogger.event(mockLogger, Level.DEBUG, "cache.miss", "region", "posts");
+        verify(mockLogger, never()).atLevel(any());
+    }
 }
@@ -0,0 +1,64 @@
+package com.audition.common.logging;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("PMD.DoNotUseThreads")
+class FlightRecorderTest {
+
+    @Test
+    void testCapacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new FlightRecorder<Integer>(5).capacity());
+        assertEquals(8, new FlightRecorder<Integer>(8).capacity());
+        assertEquals(1, new FlightRecorder<Integer>(0).capacity());
+    }
+
+    @Test
+    void testSnapshotKeepsTheMostRecentEntriesOldestFirst() {
+        final FlightRecorder<Integer> recorder = new FlightRecorder<>(4);
+        IntStream.range(0, 6).forEach(recorder::record);
+
+        assertEquals(List.of(2, 3, 4, 5), recorder.snapshot());
+    }
+
+    @Test
+    void testDrainReturnsOnlyEntriesSinceThePreviousDrain() {
+        final FlightRecorder<Integer> recorder = new FlightRecorder<>(4);
+        recorder.record(1);
+        recorder.record(2);
+        assertEquals(List.of(1, 2), recorder.drain());
+        assertTrue(recorder.drain().isEmpty());
+
+        IntStream.range(3, 10).forEach(recorder::record);
+        assertEquals(List.of(6, 7, 8, 9), recorder.drain());
+        assertEquals(List.of(6, 7, 8, 9), recorder.snapshot());
+    }
+
+    @Test
+    void testConcurrentWritersLoseNoEntryWithinCapacity() throws Exception {
+        final FlightRecorder<Integer> recorder = new FlightRecorder<>(4096);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> writers = IntStream.range(0, 4)
+                .<Future<?>>mapToObj(writer -> executor.submit(() -> IntStream.range(0, 1000)
+                    .forEach(i -> recorder.record(writer * 1000 + i))))
+                .toList();
+            for (final Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final List<Integer> entries = recorder.drain();
+        assertEquals(4000, entries.size());
+        assertEquals(4000, entries.stream().distinct().count());
+    }
+}
@@ -0,0 +1,65 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BinaryFormatsTest {
+
+    private final ObjectMapper objectMapper = new WebServiceConfiguration().objectMapper();
+
+    @Test
+    void testConvertersFollowTheJsonConverterAndReplaceTheDefaults() {
+        final List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(new StringHttpMessageConverter(),
+            new MappingJackson2HttpMessageConverter(), new MappingJackson2CborHttpMessageConverter()));
+
+        final BinaryFormats binaryFormats = new BinaryFormats();
+        ReflectionTestUtils.setField(binaryFormats, "objectMapper", objectMapper);
+        binaryFormats.extendMessageConverters(converters);
+
+        assertEquals(4, converters.size());
+        assertInstanceOf(MappingJackson2CborHttpMessageConverter.class, converters.get(2));
+        assertInstanceOf(MappingJackson2SmileHttpMessageConverter.class, converters.get(3));
+        assertNotNull(((MappingJackson2CborHttpMessageConverter) converters.get(2)).getObjectMapper()
+            .getSerializationConfig().getFilterProvider());
+    }
+
+    @Test
+    void testEveryFormatCarriesTheSameFields() throws Exception {
+        final AuditionPost post = new AuditionPost();
+        post.setId(3);
+        post.setTitle("title");
+
+        for (final Map.Entry<MediaType, ObjectMapper> format : BinaryFormats.mappers(objectMapper).entrySet()) {
+            final ObjectMapper mapper = format.getValue();
+            assertEquals("{\"userId\":0,\"id\":3,\"title\":\"title\"}",
+                mapper.readTree(mapper.writeValueAsBytes(post)).toString(), format.getKey().toString());
+        }
+    }
+
+    @Test
+    void testNegotiationFollowsTheAcceptPreferences() {
+        assertEquals(MediaType.APPLICATION_JSON, BinaryFormats.negotiate(List.of()));
+        assertEquals(MediaType.APPLICATION_JSON, BinaryFormats.negotiate(List.of(MediaType.ALL)));
+        assertEquals(BinaryFormats.APPLICATION_SMILE,
+            BinaryFormats.negotiate(List.of(MediaType.ALL, BinaryFormats.APPLICATION_SMILE)));
+        assertEquals(MediaType.APPLICATION_JSON,
+            BinaryFormats.negotiate(MediaType.parseMediaTypes("application/cbor;q=0.5, application/json")));
+        assertEquals(MediaType.APPLICATION_CBOR,
+            BinaryFormats.negotiate(MediaType.parseMediaTypes("application/cbor, application/*;q=0.9")));
+    }
+}
@@ -0,0 +1,57 @@
+package com.audition.configuration;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FlightRecorderEndpointTest {
+
+    @MockBean
+    private transient RequestLoggingInjector requestLoggingInjector;
+
+    @Autowired
+    private transient FlightRecorderEndpoint flightRecorderEndpoint;
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @Test
+    void testReadListsTheRecentRequests() {
+        final List<RequestLogEntry> entries = List.of(
+            new RequestLogEntry(null, "GET", "/posts", null, "/posts", null, 200, 10, null));
+        when(requestLoggingInjector.recentRequests()).thenReturn(entries);
+
+        assertEquals(entries, flightRecorderEndpoint.recentRequests());
+    }
+
+    @Test
+    void testWriteFlushesTheFlightRecorder() {
+        when(requestLoggingInjector.flushFlightRecorder(anyString())).thenReturn(3);
+
+        assertEquals(Map.of("flushed", 3), flightRecorderEndpoint.flush());
+    }
+
+    @Test
+    void testNotExposedOverHttpByDefault() throws Exception {
+        final String links = mockMvc.perform(get("/actuator")).andExpect(status().isOk()).andReturn().getResponse()
+            .getContentAsString();
+
+        assertTrue(links.contains("/actuator/health"), links);
+        assertFalse(links.contains("flightrecorder"), links);
+    }
+}
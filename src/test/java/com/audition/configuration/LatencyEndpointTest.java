@@ -0,0 +1,35 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@SpringBootTest
+@SuppressWarnings("PMD.UseConcurrentHashMap")
+class LatencyEndpointTest {
+
+    @MockBean
+    private transient LatencyRecorders latencyRecorders;
+
+    @Autowired
+    private transient LatencyEndpoint latencyEndpoint;
+
+    @Test
+    void testReportsEveryKindOrOneOfThem() {
+        final Map<String, LatencyRecorders.LatencyWindow> server = Map.of("/posts",
+            new LatencyRecorders.LatencyWindow(null, null, 1, 2.0, 2.0, 2.0, Map.of("p99", 2.0)));
+        final Map<String, Map<String, LatencyRecorders.LatencyWindow>> snapshot = Map.of(LatencyRecorders.SERVER,
+            server, LatencyRecorders.UPSTREAM, Map.of());
+        when(latencyRecorders.snapshot()).thenReturn(snapshot);
+
+        assertEquals(snapshot, latencyEndpoint.latency());
+        assertEquals(server, latencyEndpoint.latency(LatencyRecorders.SERVER));
+        assertNull(latencyEndpoint.latency("unknown"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
+
+class LatencyRecordersTest {
+
+    private static final String ROUTE = "/posts/{id}/comments";
+
+    private transient AuditionMetricsProperties properties;
+    private transient TaskScheduler taskScheduler;
+    private transient LatencyRecorders latencyRecorders;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditionMetricsProperties();
+        taskScheduler = Mockito.mock(TaskScheduler.class);
+        latencyRecorders = new LatencyRecorders(properties, taskScheduler);
+    }
+
+    @Test
+    void testNothingIsReportedBeforeTheFirstWindowCloses() {
+        latencyRecorders.recordServer(ROUTE, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertTrue(latencyRecorders.snapshot().get(LatencyRecorders.SERVER).isEmpty());
+    }
+
+    @Test
+    void testClosedWindowReportsItsPercentiles() {
+        for (int millis = 1; millis <= 1000; millis++) {
+            latencyRecorders.recordServer(ROUTE, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        latencyRecorders.recordUpstream("getCommentsByPostId", TimeUnit.MILLISECONDS.toNanos(40));
+        latencyRecorders.rotate();
+
+        final LatencyRecorders.LatencyWindow window = latencyRecorders.snapshot().get(LatencyRecorders.SERVER).get(ROUTE);
+        assertEquals(1000, window.count());
+        assertEquals(1.0, window.min(), 0.01);
+        assertEquals(1000.0, window.max(), 10.0);
+        assertEquals(500.0, window.percentiles().get("p50"), 5.0);
+        assertEquals(999.0, window.percentiles().get("p99.9"), 10.0);
+        assertEquals(1, latencyRecorders.snapshot().get(LatencyRecorders.UPSTREAM).get("getCommentsByPostId").count());
+    }
+
+    @Test
+    void testEachWindowOnlyHoldsItsOwnValues() {
+        latencyRecorders.recordServer(ROUTE, TimeUnit.MILLISECONDS.toNanos(5));
+        latencyRecorders.rotate();
+        latencyRecorders.rotate();
+
+        final LatencyRecorders.LatencyWindow window = latencyRecorders.snapshot().get(LatencyRecorders.SERVER).get(ROUTE);
+        assertEquals(0, window.count());
+        assertEquals(0.0, window.percentiles().get("p99"));
+    }
+
+    @Test
+    void testValuesAboveTheMaximumAreClamped() {
+        properties.getLatency().setMaxValue(Duration.ofSeconds(1));
+        final LatencyRecorders recorders = new LatencyRecorders(properties, taskScheduler);
+        recorders.recordServer(ROUTE, TimeUnit.MINUTES.toNanos(5));
+        recorders.rotate();
+
+        assertEquals(1000.0, recorders.snapshot().get(LatencyRecorders.SERVER).get(ROUTE).max(), 10.0);
+    }
+
+    @Test
+    void testRotationIsScheduledOnlyWhenEnabled() {
+        latencyRecorders.scheduleRotation();
+        verify(taskScheduler).scheduleAtFixedRate(any(Runnable.class), eq(Duration.ofMinutes(1)));
+
+        properties.getLatency().setEnabled(false);
+        final TaskScheduler unused = Mockito.mock(TaskScheduler.class);
+        final LatencyRecorders disabled = new LatencyRecorders(properties, unused);
+        disabled.scheduleRotation();
+        disabled.recordServer(ROUTE, 1000);
+        disabled.rotate();
+
+        verify(unused, never()).scheduleAtFixedRate(any(Runnable.class), any(Duration.class));
+        assertEquals(Map.of(), disabled.snapshot().get(LatencyRecorders.SERVER));
+    }
+}
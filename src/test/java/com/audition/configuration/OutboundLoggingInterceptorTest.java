@@ -0,0 +1,116 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.logging.AuditionLogger;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.unit.DataSize;
+
+class OutboundLoggingInterceptorTest {
+
+    private static final byte[] REQUEST_BODY = "{\"q\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private transient AuditionLogger logger;
+    private transient UpstreamProperties upstreamProperties;
+    private transient HttpRequest request;
+    private transient ClientHttpResponse response;
+    private transient ClientHttpRequestExecution execution;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logger = mock(AuditionLogger.class);
+        upstreamProperties = new UpstreamProperties();
+        upstreamProperties.getStreaming().setEnabled(false);
+        request = mock(HttpRequest.class);
+        when(request.getURI()).thenReturn(URI.create("https://upstream/posts"));
+        when(request.getMethod()).thenReturn(HttpMethod.GET);
+        response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(response.getBody()).thenAnswer(invocation ->
+            new ByteArrayInputStream("[{\"id\":1},{\"id\":2}]".getBytes(StandardCharsets.UTF_8)));
+        execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenReturn(response);
+    }
+
+    @Test
+    void testBodiesAreNotReadWhenCaptureIsOff() throws IOException {
+        final List<String> messages = intercept(new OutboundLoggingInterceptor(logger, upstreamProperties));
+
+        verify(response, never()).getBody();
+        assertEquals("Request URI: https://upstream/posts\nRequest Method: GET\n", messages.get(0));
+        assertEquals("Response Status Code: 200 OK\n", messages.get(1));
+    }
+
+    @Test
+    void testSampledBodiesAreCappedAtMaxBytes() throws IOException {
+        upstreamProperties.getBodyLogging().setEnabled(true);
+        upstreamProperties.getBodyLogging().setMaxBytes(DataSize.ofBytes(9));
+
+        final List<String> messages = intercept(new OutboundLoggingInterceptor(logger, upstreamProperties, () -> 0.0));
+
+        assertTrue(messages.get(0).endsWith("Request Body: {\"q\":1}\n"), messages.get(0));
+        assertTrue(messages.get(1).endsWith("Response Body: [{\"id\":1}... (truncated)\n"), messages.get(1));
+    }
+
+    @Test
+    void testUnsampledExchangeSkipsTheBodies() throws IOException {
+        upstreamProperties.getBodyLogging().setEnabled(true);
+        upstreamProperties.getBodyLogging().setSampleRate(0.1);
+
+        intercept(new OutboundLoggingInterceptor(logger, upstreamProperties, () -> 0.5));
+
+        verify(response, never()).getBody();
+    }
+
+    @Test
+    void testCaptureWhileStreamingIsWarnedAtCreation() {
+        upstreamProperties.getBodyLogging().setEnabled(true);
+        new OutboundLoggingInterceptor(logger, upstreamProperties);
+        verify(logger, never()).warn(any(Logger.class), anyString());
+
+        upstreamProperties.getStreaming().setEnabled(true);
+        new OutboundLoggingInterceptor(logger, upstreamProperties);
+        verify(logger, times(1)).warn(any(Logger.class), anyString());
+    }
+
+    @Test
+    void testBufferingOnlyWhenNonStreamedBodiesAreCaptured() {
+        assertFalse(OutboundLoggingInterceptor.needsBuffering(upstreamProperties));
+
+        upstreamProperties.getBodyLogging().setEnabled(true);
+        assertTrue(OutboundLoggingInterceptor.needsBuffering(upstreamProperties));
+
+        upstreamProperties.getStreaming().setEnabled(true);
+        assertFalse(OutboundLoggingInterceptor.needsBuffering(upstreamProperties));
+    }
+
+    private List<String> intercept(final OutboundLoggingInterceptor interceptor) throws IOException {
+        assertSame(response, interceptor.intercept(request, REQUEST_BODY, execution));
+        final ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(logger, times(2)).info(any(Logger.class), messages.capture());
+        return messages.getAllValues();
+    }
+}
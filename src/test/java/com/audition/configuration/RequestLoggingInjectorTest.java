@@ -1,30 +1,38 @@
 package com.audition.configuration;
 
 import com.audition.common.logging.AuditionLogger;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.web.servlet.HandlerMapping;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
-@SpringBootTest
+@SuppressWarnings("unchecked")
 class RequestLoggingInjectorTest {
 
     private static final String TEST_URI_STR = "/test-uri";
-    @MockBean
-    private transient AuditionLogger logger;
+    private static final String ROUTE = "/posts/{id}";
 
-    @Autowired
+    private transient AuditionLogger logger;
+    private transient RequestLoggingProperties properties;
+    private transient double draw;
     private transient RequestLoggingInjector requestLoggingInjector;
 
     private transient HttpServletRequest mockRequest;
@@ -32,46 +40,136 @@ class RequestLoggingInjectorTest {
 
     @BeforeEach
     void setUp() {
+        logger = Mockito.mock(AuditionLogger.class);
+        properties = new RequestLoggingProperties();
+        draw = 0.5;
+        requestLoggingInjector = new RequestLoggingInjector(logger, properties, () -> draw);
         mockRequest = Mockito.mock(HttpServletRequest.class);
         mockResponse = Mockito.mock(HttpServletResponse.class);
+        when(mockRequest.getRequestURI()).thenReturn(TEST_URI_STR);
+        when(mockRequest.getMethod()).thenReturn("GET");
     }
 
     @Test
-    void testPreHandle() {
-        when(mockRequest.getRequestURI()).thenReturn(TEST_URI_STR);
-        when(mockRequest.getMethod()).thenReturn("GET");
+    void testPreHandleDoesNotLog() {
+        requestLoggingInjector.preHandle(mockRequest, mockResponse, new Object());
+
+        Mockito.verifyNoInteractions(logger);
+    }
+
+    @Test
+    void testAsyncDispatchKeepsTheStartOfTheInitialDispatch() {
+        when(mockRequest.getDispatcherType()).thenReturn(DispatcherType.REQUEST, DispatcherType.ASYNC);
+
+        requestLoggingInjector.preHandle(mockRequest, mockResponse, new Object());
+        requestLoggingInjector.preHandle(mockRequest, mockResponse, new Object());
+
+        verify(mockRequest, times(1)).setAttribute(eq(RequestLoggingInjector.class.getName() + ".start"), anyLong());
+    }
+
+    @Test
+    void testQueryStringValuesAreRedacted() {
+        when(mockRequest.getQueryString()).thenReturn("q=secret+term&cursor=abc%3D&flag&empty=");
+        when(mockResponse.getStatus()).thenReturn(200);
+
+        requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), null);
+
+        assertEquals("q=***&cursor=***&flag&empty=***", requestLoggingInjector.recentRequests().get(0).queryString());
+        assertNull(RequestLogEntry.redact(null));
+    }
+
+    @Test
+    void testSampledRequestIsLoggedInOneLine() {
+        properties.setSampleRate(1.0);
         when(mockRequest.getQueryString()).thenReturn("param1=value1");
         when(mockRequest.getRemoteUser()).thenReturn("user123");
+        when(mockResponse.getStatus()).thenReturn(200);
 
-        requestLoggingInjector.preHandle(mockRequest, mockResponse, new Object());
+        requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), null);
 
-        final String expectedLogMessage = new StringBuilder()
+        final ArgumentCaptor<Supplier<String>> message = ArgumentCaptor.forClass(Supplier.class);
+        verify(logger, times(1)).info(any(Logger.class), message.capture());
+        final String logged = message.getValue().get();
+        assertTrue(logged.startsWith(new StringBuilder()
             .append("Request URI: ").append(TEST_URI_STR)
             .append("\nRequest Method: ").append("GET")
-            .append("\nRequest Query String: ").append("param1=value1")
+            .append("\nRequest Query String: ").append("param1=***")
             .append("\nRequest Remote User: ").append("user123")
-            .toString();
+            .append("\nResponse Status: ").append(200)
+            .toString()), logged);
+    }
+
+    @Test
+    void testSuccessfulRequestOutsideTheSampleIsOnlyRecorded() {
+        when(mockResponse.getStatus()).thenReturn(200);
 
-        verify(logger, times(1)).info(any(Logger.class), eq(expectedLogMessage));
+        requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), null);
+
+        Mockito.verifyNoInteractions(logger);
+        assertEquals(1, requestLoggingInjector.recentRequests().size());
     }
 
     @Test
-    void testAfterCompletion() {
-        when(mockRequest.getRequestURI()).thenReturn("/test-uri");
+    void testRouteSampleRateOverridesTheDefault() {
+        properties.getRoutes().put(ROUTE, 0.9);
+        when(mockRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn(ROUTE);
         when(mockResponse.getStatus()).thenReturn(200);
 
         requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), null);
 
-        verify(logger, times(1)).info(any(Logger.class), eq("Response Status: {}"), eq(200));
+        verify(logger, times(1)).info(any(Logger.class), any(Supplier.class));
+        assertEquals(ROUTE, requestLoggingInjector.recentRequests().get(0).route());
+    }
+
+    @Test
+    void testClientErrorUsesTheErrorSampleRateWithoutFlushing() {
+        when(mockResponse.getStatus()).thenReturn(404);
+
+        requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), null);
+
+        verify(logger, times(1)).info(any(Logger.class), any(Supplier.class));
+        verify(logger, never()).warn(any(Logger.class), any(Supplier.class));
     }
 
     @Test
     void testAfterCompletionWithException() {
         final Exception ex = new RuntimeException("Test exception");
-        when(mockRequest.getRequestURI()).thenReturn("/test-uri");
+        when(mockResponse.getStatus()).thenReturn(200);
 
         requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), ex);
 
-        verify(logger, times(1)).logErrorWithException(any(Logger.class), eq("Request to /test-uri resulted in an exception"), eq(ex));
+        verify(logger, times(1)).error(any(Logger.class), eq("Request to {} resulted in an exception"), eq(TEST_URI_STR),
+            eq(ex));
+        final ArgumentCaptor<Supplier<String>> dump = ArgumentCaptor.forClass(Supplier.class);
+        verify(logger, times(1)).warn(any(Logger.class), dump.capture());
+        assertTrue(dump.getValue().get().contains("exception=java.lang.RuntimeException: Test exception"));
+    }
+
+    @Test
+    void testServerErrorFlushesTheRequestsSinceTheLastFlush() {
+        when(mockResponse.getStatus()).thenReturn(200, 200, 503, 503);
+
+        requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), null);
+        requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), null);
+        requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), null);
+        requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), null);
+
+        final ArgumentCaptor<Supplier<String>> dump = ArgumentCaptor.forClass(Supplier.class);
+        verify(logger, times(2)).warn(any(Logger.class), dump.capture());
+        final List<Supplier<String>> dumps = dump.getAllValues();
+        assertTrue(dumps.get(0).get().startsWith("Flight recorder, 3 requests up to the failed request"));
+        assertTrue(dumps.get(1).get().startsWith("Flight recorder, 1 requests up to the failed request"));
+        assertEquals(4, requestLoggingInjector.recentRequests().size());
+    }
+
+    @Test
+    void testDisabledFlightRecorderKeepsNothing() {
+        properties.getFlightRecorder().setEnabled(false);
+        when(mockResponse.getStatus()).thenReturn(500);
+
+        requestLoggingInjector.afterCompletion(mockRequest, mockResponse, new Object(), null);
+
+        assertTrue(requestLoggingInjector.recentRequests().isEmpty());
+        assertEquals(0, requestLoggingInjector.flushFlightRecorder("test"));
     }
-}
\ No newline at end of file
+}
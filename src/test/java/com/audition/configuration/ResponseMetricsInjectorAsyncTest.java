@@ -0,0 +1,107 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import com.audition.model.AuditionPost;
+import com.audition.service.AuditionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ResponseMetricsInjectorAsyncTest.SimpleRegistry.class)
+class ResponseMetricsInjectorAsyncTest {
+
+    private static final long UPSTREAM_DELAY_MILLIS = 400;
+
+    @MockBean
+    private transient AuditionService auditionService;
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @Autowired
+    private transient MeterRegistry meterRegistry;
+
+    @Autowired
+    private transient LatencyRecorders latencyRecorders;
+
+    @Test
+    void testAsyncRouteIsTimedFromTheInitialDispatchAndCountedOnce() throws Exception {
+        Mockito.when(auditionService.getPostWithCommentsByIdAsync(1)).thenAnswer(invocation -> delayedPost());
+        final double requestsBefore = meterRegistry.get("http.server.requests.total").counter().count();
+        final Timer timer = postTimer();
+        final long countBefore = timer.count();
+        final double millisBefore = timer.totalTime(TimeUnit.MILLISECONDS);
+
+        final MvcResult started = mockMvc.perform(get("/posts/1?include=comments")).andReturn();
+        assertTrue(started.getRequest().isAsyncStarted());
+        assertEquals(200, mockMvc.perform(asyncDispatch(started)).andReturn().getResponse().getStatus());
+
+        assertEquals(countBefore + 1, timer.count());
+        final double recorded = timer.totalTime(TimeUnit.MILLISECONDS) - millisBefore;
+        assertTrue(recorded >= UPSTREAM_DELAY_MILLIS, () -> "recorded " + recorded + " ms");
+        assertEquals(requestsBefore + 1, meterRegistry.get("http.server.requests.total").counter().count());
+    }
+
+    @Test
+    void testAsyncRouteLatencyWindowIncludesTheUpstreamWait() throws Exception {
+        Mockito.when(auditionService.getPostWithCommentsByIdAsync(1)).thenAnswer(invocation -> delayedPost());
+        latencyRecorders.rotate();
+
+        final MvcResult started = mockMvc.perform(get("/posts/1?include=comments")).andReturn();
+        assertEquals(200, mockMvc.perform(asyncDispatch(started)).andReturn().getResponse().getStatus());
+        latencyRecorders.rotate();
+
+        final LatencyRecorders.LatencyWindow window = latencyRecorders.snapshot().get(LatencyRecorders.SERVER)
+            .get("/posts/{id}");
+        assertEquals(1, window.count());
+        assertTrue(window.max() >= UPSTREAM_DELAY_MILLIS, () -> "max " + window.max() + " ms");
+        assertTrue(window.percentiles().get("p99.9") >= UPSTREAM_DELAY_MILLIS, window::toString);
+    }
+
+    /**
+     * The timer of the route, registered on first use and shared with the other tests of the context.
+     */
+    private Timer postTimer() {
+        return meterRegistry.timer("http.server.requests", "method", "GET", "uri", "/posts/{id}", "status", "2xx");
+    }
+
+    /**
+     * A registry that keeps what it records, in front of the exporting ones of the application.
+     */
+    @TestConfiguration
+    static class SimpleRegistry {
+
+        @Bean
+        @Primary
+        MeterRegistry simpleMeterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private static CompletableFuture<AuditionPost> delayedPost() {
+        final AuditionPost post = new AuditionPost();
+        post.setId(1);
+        return CompletableFuture.supplyAsync(() -> post,
+            CompletableFuture.delayedExecutor(UPSTREAM_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+    }
+}
@@ -3,26 +3,42 @@ package com.audition.configuration;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ResponseMetricsInjectorTest {
 
+    private static final String TIMER_SAMPLE = "timerSample";
+    private static final String GET = "GET";
+    private static final String REQUESTS = "http.server.requests";
+    private static final String POST_ROUTE = "/posts/{id}";
+
     private transient MeterRegistry meterRegistry;
     private transient Counter totalRequestsCounter;
     private transient Counter errorCounter;
@@ -30,6 +46,7 @@ class ResponseMetricsInjectorTest {
     private transient HttpServletRequest request;
     private transient HttpServletResponse response;
     private transient ResponseMetricsInjector responseMetricsInjector;
+    private transient LatencyRecorders latencyRecorders;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -39,9 +56,11 @@ class ResponseMetricsInjectorTest {
         timerSample = mock(Timer.Sample.class);
         request = mock(HttpServletRequest.class);
         response = mock(HttpServletResponse.class);
+        latencyRecorders = mock(LatencyRecorders.class);
 
         // Create an instance of ResponseMetricsInjector
-        responseMetricsInjector = new ResponseMetricsInjector(meterRegistry);
+        responseMetricsInjector = new ResponseMetricsInjector(meterRegistry, new AuditionMetricsProperties(),
+            latencyRecorders);
 
         // Use reflection to inject the mocked Counters into the private fields
         setPrivateField(responseMetricsInjector, "totalRequestsCounter", totalRequestsCounter);
@@ -68,7 +87,7 @@ class ResponseMetricsInjectorTest {
             mockedTimer.verify(() -> Timer.start(eq(meterRegistry)));
 
             // Verify that the timer sample was stored in the request attribute
-            verify(request).setAttribute(eq("timerSample"), eq(timerSample));
+            verify(request).setAttribute(eq(TIMER_SAMPLE), eq(timerSample));
 
             // Verify that the totalRequestsCounter was incremented
             verify(totalRequestsCounter).increment();
@@ -78,17 +97,17 @@ class ResponseMetricsInjectorTest {
     @Test
     void testAfterCompletionSuccess() {
         // Setup request and response
-        when(request.getAttribute("timerSample")).thenReturn(timerSample);
+        when(request.getAttribute(TIMER_SAMPLE)).thenReturn(timerSample);
         when(response.getStatus()).thenReturn(200);
 
         // Set up mock behavior for request and response
-        when(request.getMethod()).thenReturn("GET");
+        when(request.getMethod()).thenReturn(GET);
         when(request.getRequestURI()).thenReturn("/test-uri");
         when(response.getStatus()).thenReturn(200);
 
         try (MockedStatic<Timer> mockedTimer = mockStatic(Timer.class)) {
-            final Timer.Builder timerBuilder = mock(Timer.Builder.class);
-            when(Timer.builder("http.server.requests")).thenReturn(timerBuilder);
+            final Timer.Builder timerBuilder = mock(Timer.Builder.class, RETURNS_SELF);
+            mockedTimer.when(() -> Timer.builder("http.server.requests")).thenReturn(timerBuilder);
             when(timerBuilder.tag(anyString(), anyString())).thenReturn(timerBuilder);
             when(timerBuilder.description(anyString())).thenReturn(timerBuilder);
             when(timerBuilder.register(meterRegistry)).thenReturn(mock(Timer.class));
@@ -108,17 +127,17 @@ class ResponseMetricsInjectorTest {
     @Test
     void testAfterCompletionError() {
         // Setup request and response
-        when(request.getAttribute("timerSample")).thenReturn(timerSample);
+        when(request.getAttribute(TIMER_SAMPLE)).thenReturn(timerSample);
         when(response.getStatus()).thenReturn(500);
 
         // Set up mock behavior for request and response
-        when(request.getMethod()).thenReturn("GET");
+        when(request.getMethod()).thenReturn(GET);
         when(request.getRequestURI()).thenReturn("/test-uri");
         when(response.getStatus()).thenReturn(200);
 
         try (MockedStatic<Timer> mockedTimer = mockStatic(Timer.class)) {
-            final Timer.Builder timerBuilder = mock(Timer.Builder.class);
-            when(Timer.builder("http.server.requests")).thenReturn(timerBuilder);
+            final Timer.Builder timerBuilder = mock(Timer.Builder.class, RETURNS_SELF);
+            mockedTimer.when(() -> Timer.builder("http.server.requests")).thenReturn(timerBuilder);
             when(timerBuilder.tag(anyString(), anyString())).thenReturn(timerBuilder);
             when(timerBuilder.description(anyString())).thenReturn(timerBuilder);
             when(timerBuilder.register(meterRegistry)).thenReturn(mock(Timer.class));
@@ -134,4 +153,61 @@ class ResponseMetricsInjectorTest {
             verify(errorCounter).increment();
         }
     }
+
+    @Test
+    void testTimerIsTaggedWithTheRouteTemplateAndReused() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final ResponseMetricsInjector injector = injector(registry, new AuditionMetricsProperties());
+        when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn(POST_ROUTE);
+        when(request.getMethod()).thenReturn(GET);
+        when(response.getStatus()).thenReturn(200, 204);
+
+        when(request.getRequestURI()).thenReturn("/posts/1");
+        when(request.getAttribute(TIMER_SAMPLE)).thenReturn(Timer.start(registry));
+        injector.afterCompletion(request, response, new Object(), null);
+        when(request.getRequestURI()).thenReturn("/posts/2");
+        when(request.getAttribute(TIMER_SAMPLE)).thenReturn(Timer.start(registry));
+        injector.afterCompletion(request, response, new Object(), null);
+
+        final Collection<Timer> timers = registry.find(REQUESTS).timers();
+        assertEquals(1, timers.size());
+        final Timer timer = timers.iterator().next();
+        assertEquals(POST_ROUTE, timer.getId().getTag("uri"));
+        assertEquals("2xx", timer.getId().getTag("status"));
+        assertEquals(2, timer.count());
+        assertSame(timer, injector.timer(POST_ROUTE, GET, 201));
+        verify(latencyRecorders, times(2)).recordServer(eq(POST_ROUTE), anyLong());
+    }
+
+    @Test
+    void testUnmatchedRoutesAndUnknownMethodsShareOneTimer() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final ResponseMetricsInjector injector = injector(registry, new AuditionMetricsProperties());
+
+        final Timer timer = injector.timer(ResponseMetricsInjector.UNKNOWN_ROUTE, "PROPFIND", 404);
+
+        assertSame(timer, injector.timer(ResponseMetricsInjector.UNKNOWN_ROUTE, "BREW", 405));
+        assertEquals(ResponseMetricsInjector.OTHER_METHOD, timer.getId().getTag("method"));
+        assertEquals("4xx", timer.getId().getTag("status"));
+    }
+
+    @Test
+    void testTimerPublishesTheConfiguredObjectivesAndPercentiles() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final AuditionMetricsProperties properties = new AuditionMetricsProperties();
+        properties.getHttpServer().setServiceLevelObjectives(List.of(Duration.ofMillis(100)));
+        properties.getHttpServer().setPercentiles(List.of(0.99));
+        final Timer timer = injector(registry, properties).timer(POST_ROUTE, GET, 200);
+        timer.record(Duration.ofMillis(20));
+
+        final HistogramSnapshot snapshot = timer.takeSnapshot();
+        assertEquals(1, snapshot.histogramCounts().length);
+        assertEquals(1, snapshot.histogramCounts()[0].count());
+        assertEquals(1, snapshot.percentileValues().length);
+        assertEquals(0.99, snapshot.percentileValues()[0].percentile());
+    }
+
+    private ResponseMetricsInjector injector(final MeterRegistry registry, final AuditionMetricsProperties properties) {
+        return new ResponseMetricsInjector(registry, properties, latencyRecorders);
+    }
 }
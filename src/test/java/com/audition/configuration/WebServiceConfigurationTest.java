@@ -1,17 +1,22 @@
 package com.audition.configuration;
 
+import com.audition.integration.transport.JdkClientHttpRequestFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import java.net.http.HttpClient;
 import java.text.SimpleDateFormat;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -19,6 +24,7 @@ import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -39,6 +45,9 @@ class WebServiceConfigurationTest {
     @MockBean
     private transient ResponseMetricsInjector responseMetricsInjector;
 
+    @Autowired
+    private transient UpstreamProperties upstreamProperties;
+
     @BeforeEach
     void setUp() {
     }
@@ -80,4 +89,38 @@ class WebServiceConfigurationTest {
         final ClientHttpRequestInterceptor interceptor = webServiceConfiguration.loggingInterceptor();
         assertNotNull(interceptor);
     }
+
+    @Test
+    void testUpstreamHttpClient() {
+        final HttpClient httpClient = webServiceConfiguration.upstreamHttpClient();
+
+        assertEquals(HttpClient.Version.HTTP_2, httpClient.version());
+        assertTrue(httpClient.connectTimeout().isPresent());
+    }
+
+    @Test
+    void testCreateClientFactorySwitchesOnTransportType() {
+        assertTrue(webServiceConfiguration.createClientFactory() instanceof JdkClientHttpRequestFactory);
+
+        upstreamProperties.getTransport().setType(UpstreamProperties.TransportType.SIMPLE);
+        try {
+            assertTrue(webServiceConfiguration.createClientFactory() instanceof SimpleClientHttpRequestFactory);
+        } finally {
+            upstreamProperties.getTransport().setType(UpstreamProperties.TransportType.JDK);
+        }
+    }
+
+    @Test
+    void testMdcTaskDecoratorCopiesContext() {
+        final AtomicReference<String> seen = new AtomicReference<>();
+        MDC.put("trace_id", "abc");
+        final Runnable decorated = webServiceConfiguration.mdcTaskDecorator().decorate(
+            () -> seen.set(MDC.get("trace_id")));
+        MDC.clear();
+
+        decorated.run();
+
+        assertEquals("abc", seen.get());
+        assertNull(MDC.get("trace_id"));
+    }
 }
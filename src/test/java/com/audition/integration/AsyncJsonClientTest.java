@@ -0,0 +1,159 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.audition.configuration.UpstreamProperties;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+@SuppressWarnings("PMD.ExcessiveImports")
+class AsyncJsonClientTest {
+
+    private static final String ETAG = "\"v5\"";
+
+    private transient HttpServer server;
+    private transient String baseUrl;
+    private transient ObjectMapper objectMapper;
+    private transient AsyncJsonClient asyncJsonClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        respond("/posts/1", 200, "{\"id\":1,\"title\":\"title\"}");
+        respond("/posts/2", 404, "{}");
+        respond("/posts/3", 503, "down");
+        respond("/posts/4", 200, "");
+        server.createContext("/posts/5", exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            final byte[] bytes = "{\"id\":5}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add(HttpHeaders.ETAG, ETAG);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        objectMapper = new WebServiceConfiguration().objectMapper();
+        asyncJsonClient = new AsyncJsonClient();
+        ReflectionTestUtils.setField(asyncJsonClient, "upstreamHttpClient",
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
+        ReflectionTestUtils.setField(asyncJsonClient, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(asyncJsonClient, "upstreamProperties", new UpstreamProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testCancellingTheResultAbortsTheExchange() {
+        final HttpClient httpClient = mock(HttpClient.class);
+        final CompletableFuture<HttpResponse<byte[]>> exchange = new CompletableFuture<>();
+        when(httpClient.<byte[]>sendAsync(any(), any())).thenReturn(exchange);
+        ReflectionTestUtils.setField(asyncJsonClient, "upstreamHttpClient", httpClient);
+
+        asyncJsonClient.get(baseUrl + "/posts/2", objectMapper.constructType(AuditionPost.class)).cancel(true);
+
+        assertTrue(exchange.isCancelled());
+    }
+
+    @Test
+    void testDecodesBody() throws Exception {
+        final AuditionPost post = asyncJsonClient.<AuditionPost>get(baseUrl + "/posts/1",
+            objectMapper.constructType(AuditionPost.class)).get();
+
+        assertEquals(1, post.getId());
+        assertEquals("title", post.getTitle());
+    }
+
+    @Test
+    void testEmptyBodyIsNull() throws Exception {
+        assertNull(asyncJsonClient.get(baseUrl + "/posts/4", objectMapper.constructType(AuditionPost.class)).get());
+    }
+
+    @Test
+    void testUnchangedResourceIsRevalidatedToTheStoredValue() throws Exception {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(asyncJsonClient, "upstreamValidators",
+            new UpstreamValidators(new UpstreamProperties(), meterRegistry));
+
+        final Object first = asyncJsonClient.get(baseUrl + "/posts/5",
+            objectMapper.constructType(AuditionPost.class)).get();
+        final Object second = asyncJsonClient.get(baseUrl + "/posts/5",
+            objectMapper.constructType(AuditionPost.class)).get();
+
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("audition.upstream.revalidations").tag("result", "not_modified")
+            .counter().count());
+    }
+
+    @Test
+    void testClientErrorRaisedLikeRestTemplate() {
+        final HttpClientErrorException e = assertInstanceOf(HttpClientErrorException.class, failure("/posts/2"));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+
+    @Test
+    void testServerErrorRaisedLikeRestTemplate() {
+        final HttpServerErrorException e = assertInstanceOf(HttpServerErrorException.class, failure("/posts/3"));
+        assertEquals("down", e.getResponseBodyAsString());
+    }
+
+    @Test
+    void testConnectionFailureRaisedAsResourceAccess() {
+        server.stop(0);
+
+        assertInstanceOf(ResourceAccessException.class, failure("/posts/1"));
+    }
+
+    private Throwable failure(final String path) {
+        final ExecutionException e = assertThrows(ExecutionException.class,
+            () -> asyncJsonClient.get(baseUrl + path, objectMapper.constructType(AuditionPost.class)).get());
+        return Futures.unwrap(e);
+    }
+
+    private void respond(final String path, final int status, final String body) {
+        server.createContext(path, exchange -> {
+            final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+    }
+}
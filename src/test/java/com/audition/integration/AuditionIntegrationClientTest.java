@@ -1,9 +1,16 @@
 package com.audition.integration;
 
 import com.audition.common.exception.SystemException;
+import com.audition.configuration.UpstreamProperties;
+import com.audition.configuration.WebServiceConfiguration;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -11,8 +18,12 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
@@ -20,22 +31,52 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessiveImports"})
 class AuditionIntegrationClientTest {
 
+    private static final String POSTS_URL = "https://jsonplaceholder.typicode.com/posts";
+    private static final String COMMENTS_URL = "https://jsonplaceholder.typicode.com/posts/1/comments";
+    private static final String TEST_EXCEPTION = "test exception";
+
     private transient RestTemplate restTemplate;
 
+    private transient AsyncJsonClient asyncJsonClient;
+
     private transient AuditionIntegrationClient auditionIntegrationClient;
 
+    private transient UpstreamProperties upstreamProperties;
+
     @BeforeEach
     void setUp() throws Exception {
         restTemplate = Mockito.mock(RestTemplate.class);
+        asyncJsonClient = Mockito.mock(AsyncJsonClient.class);
+        // the mapped variant runs for real on top of the stubbed exchanges
+        Mockito.when(asyncJsonClient.get(anyString(), any(), any())).thenCallRealMethod();
+        upstreamProperties = new UpstreamProperties();
         auditionIntegrationClient = new AuditionIntegrationClient();
 
         // Set the private field 'restTemplate' using ReflectionTestUtils
         ReflectionTestUtils.setField(auditionIntegrationClient, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(auditionIntegrationClient, "objectMapper",
+            new WebServiceConfiguration().objectMapper());
+        ReflectionTestUtils.setField(auditionIntegrationClient, "upstreamProperties", upstreamProperties);
+        ReflectionTestUtils.setField(auditionIntegrationClient, "asyncJsonClient", asyncJsonClient);
+    }
+
+    private void mockStreamedResponse(final String url, final String json) {
+        Mockito.when(restTemplate.execute(eq(url), eq(HttpMethod.GET), any(RequestCallback.class),
+            Mockito.<ResponseExtractor<Object>>any())).thenAnswer(invocation -> {
+                final ClientHttpResponse response = Mockito.mock(ClientHttpResponse.class);
+                Mockito.when(response.getBody())
+                    .thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+                return ((ResponseExtractor<?>) invocation.getArgument(3)).extractData(response);
+            });
     }
 
     @Test
@@ -43,7 +84,7 @@ class AuditionIntegrationClientTest {
         final List<AuditionPost> mockPosts = List.of(new AuditionPost());
         final ParameterizedTypeReference<List<AuditionPost>> responseType = new ParameterizedTypeReference<List<AuditionPost>>() {};
         Mockito.when(restTemplate.exchange(
-            eq("https://jsonplaceholder.typicode.com/posts"),
+            eq(POSTS_URL),
             eq(HttpMethod.GET),
             isNull(),
             eq(responseType))
@@ -58,11 +99,11 @@ class AuditionIntegrationClientTest {
     void testGetPostsHttpClientErrorException() {
         final ParameterizedTypeReference<List<AuditionPost>> responseType = new ParameterizedTypeReference<List<AuditionPost>>() {};
         Mockito.when(restTemplate.exchange(
-            eq("https://jsonplaceholder.typicode.com/posts"),
+            eq(POSTS_URL),
             eq(HttpMethod.GET),
             isNull(),
             eq(responseType))
-        ).thenThrow(new HttpClientErrorException(HttpStatusCode.valueOf(404), "test exception"));
+        ).thenThrow(new HttpClientErrorException(HttpStatusCode.valueOf(404), TEST_EXCEPTION));
 
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getPosts());
     }
@@ -80,46 +121,11 @@ class AuditionIntegrationClientTest {
     @Test
     void testGetPostByIdHttpClientErrorException() {
         Mockito.when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
-            .thenThrow(new HttpClientErrorException(HttpStatusCode.valueOf(404), "test exception"));
+            .thenThrow(new HttpClientErrorException(HttpStatusCode.valueOf(404), TEST_EXCEPTION));
 
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getPostById(1));
     }
 
-    @Test
-    @SuppressWarnings("deprecation")
-    void testGetPostWithCommentsById() {
-        final Comment comment = new Comment();
-        comment.setId(1);
-        comment.setPostId(1);
-        comment.setBody("test body");
-        final List<Comment> mockComments = new ArrayList<>();
-        mockComments.add(comment);
-        final ResponseEntity<List<Comment>> mockResponseEntity = ResponseEntity.ok(mockComments);
-
-        final AuditionPost post = new AuditionPost();
-        post.setId(1);
-        post.setTitle("test title");
-        post.setBody("any test body");
-
-        Mockito.when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
-            .thenReturn(post);
-
-        // Mock RestTemplate call
-        final ParameterizedTypeReference<List<Comment>> responseType = new ParameterizedTypeReference<List<Comment>>() {};
-        Mockito.when(restTemplate.exchange(
-            eq("https://jsonplaceholder.typicode.com/posts/1/comments"),
-            eq(HttpMethod.GET),
-            eq(null),
-            eq(responseType))
-        ).thenReturn(mockResponseEntity);
-
-        // Call the method under test
-        final AuditionPost resltPost = auditionIntegrationClient.getPostWithCommentsById(1);
-        assertNotNull(resltPost);
-        assertEquals(1, resltPost.getComments().size());
-        assertEquals(1, resltPost.getComments().get(0).getId());
-    }
-
     @Test
     void testGetCommentsByPostId() {
         final List<Comment> mockComments = List.of(new Comment());
@@ -127,7 +133,7 @@ class AuditionIntegrationClientTest {
 
         final ParameterizedTypeReference<List<Comment>> responseType = new ParameterizedTypeReference<List<Comment>>() {};
         Mockito.when(restTemplate.exchange(
-            eq("https://jsonplaceholder.typicode.com/posts/1/comments"),
+            eq(COMMENTS_URL),
             eq(HttpMethod.GET),
             isNull(),
             eq(responseType))
@@ -142,12 +148,162 @@ class AuditionIntegrationClientTest {
     void testGetCommentsByPostIdHttpClientErrorException() {
         final ParameterizedTypeReference<List<Comment>> responseType = new ParameterizedTypeReference<List<Comment>>() {};
         Mockito.when(restTemplate.exchange(
-            eq("https://jsonplaceholder.typicode.com/posts/1/comments"),
+            eq(COMMENTS_URL),
             eq(HttpMethod.GET),
             isNull(),
             eq(responseType))
-        ).thenThrow(new HttpClientErrorException(HttpStatusCode.valueOf(404), "test exception"));
+        ).thenThrow(new HttpClientErrorException(HttpStatusCode.valueOf(404), TEST_EXCEPTION));
 
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getCommentsByPostId(1));
     }
+
+    @Test
+    void testGetPostsStreaming() {
+        upstreamProperties.getStreaming().setEnabled(true);
+        mockStreamedResponse(POSTS_URL,
+            "[{\"id\":1,\"title\":\"first\",\"unknown\":true},{\"id\":2,\"title\":\"second\"}]");
+
+        final List<AuditionPost> posts = auditionIntegrationClient.getPosts();
+
+        assertEquals(2, posts.size());
+        assertEquals("first", posts.get(0).getTitle());
+        assertEquals(2, posts.get(1).getId());
+    }
+
+    @Test
+    void testForEachPostMalformedPayload() {
+        mockStreamedResponse(POSTS_URL, "{\"id\":1}");
+
+        final List<AuditionPost> posts = new ArrayList<>();
+        assertThrows(SystemException.class, () -> auditionIntegrationClient.forEachPost(posts::add));
+    }
+
+    @Test
+    void testGetCommentsByPostIdStreaming() {
+        upstreamProperties.getStreaming().setEnabled(true);
+        mockStreamedResponse(COMMENTS_URL,
+            "[{\"postId\":1,\"id\":7,\"email\":\"a@b.c\"}]");
+
+        final List<Comment> comments = auditionIntegrationClient.getCommentsByPostId(1);
+
+        assertEquals(1, comments.size());
+        assertEquals(7, comments.get(0).getId());
+        assertEquals("a@b.c", comments.get(0).getEmail());
+    }
+
+    @Test
+    void testForEachCommentByPostIdHttpClientErrorException() {
+        Mockito.when(restTemplate.execute(eq(COMMENTS_URL),
+            eq(HttpMethod.GET), any(RequestCallback.class), Mockito.<ResponseExtractor<Integer>>any()))
+            .thenThrow(new HttpClientErrorException(HttpStatusCode.valueOf(404), TEST_EXCEPTION));
+
+        final SystemException exception = assertThrows(SystemException.class,
+            () -> auditionIntegrationClient.forEachCommentByPostId(1, comment -> { }));
+        assertEquals(404, exception.getStatusCode());
+    }
+
+    @Test
+    void testInterceptorsWrapUpstreamCallInOrder() {
+        final List<String> trace = new ArrayList<>();
+        final UpstreamCallInterceptor outer = new UpstreamCallInterceptor() {
+            @Override
+            public <T> T intercept(final UpstreamCall call, final Supplier<T> next) {
+                trace.add("outer:" + call.resource());
+                return next.get();
+            }
+        };
+        final UpstreamCallInterceptor inner = new UpstreamCallInterceptor() {
+            @Override
+            public <T> T intercept(final UpstreamCall call, final Supplier<T> next) {
+                trace.add("inner:" + call.operation());
+                return next.get();
+            }
+        };
+        ReflectionTestUtils.setField(auditionIntegrationClient, "interceptors", List.of(outer, inner));
+        Mockito.when(restTemplate.getForObject(POSTS_URL + "/1", AuditionPost.class)).thenReturn(new AuditionPost());
+
+        assertNotNull(auditionIntegrationClient.getPostById(1));
+        assertEquals(List.of("outer:posts/1", "inner:getPostById"), trace);
+    }
+
+    @Test
+    void testGetPostByIdAsync() throws Exception {
+        final AuditionPost mockPost = new AuditionPost();
+        Mockito.when(asyncJsonClient.get(eq(POSTS_URL + "/1"), any()))
+            .thenReturn(CompletableFuture.completedFuture(mockPost));
+
+        assertEquals(mockPost, auditionIntegrationClient.getPostByIdAsync(1).get());
+    }
+
+    @Test
+    void testGetPostByIdAsyncMapsNotFound() {
+        Mockito.when(asyncJsonClient.get(eq(POSTS_URL + "/1"), any()))
+            .thenReturn(CompletableFuture.failedFuture(HttpClientErrorException.create(
+                HttpStatusCode.valueOf(404), "Not Found", null, null, null)));
+
+        final ExecutionException e = assertThrows(ExecutionException.class,
+            () -> auditionIntegrationClient.getPostByIdAsync(1).get());
+        final SystemException cause = assertInstanceOf(SystemException.class, e.getCause());
+        assertEquals(404, cause.getStatusCode());
+        assertEquals("Cannot find a Post with id 1", cause.getDetail());
+    }
+
+    @Test
+    void testGetCommentsAsyncFetchesEveryComment() throws Exception {
+        Mockito.when(asyncJsonClient.get(eq("https://jsonplaceholder.typicode.com/comments"), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new Comment(), new Comment())));
+
+        assertEquals(2, auditionIntegrationClient.getCommentsAsync().get().size());
+    }
+
+    @Test
+    void testGetPostsAsyncMapsNetworkError() {
+        Mockito.when(asyncJsonClient.get(eq(POSTS_URL), any()))
+            .thenReturn(CompletableFuture.failedFuture(new ResourceAccessException(TEST_EXCEPTION)));
+
+        final ExecutionException e = assertThrows(ExecutionException.class,
+            () -> auditionIntegrationClient.getPostsAsync().get());
+        assertEquals("Failed to retrieve posts due to network issues", e.getCause().getMessage());
+    }
+
+    @Test
+    void testAsyncCallsRunThroughInterceptors() throws Exception {
+        final List<String> trace = new ArrayList<>();
+        final UpstreamCallInterceptor interceptor = new UpstreamCallInterceptor() {
+            @Override
+            public <T> T intercept(final UpstreamCall call, final Supplier<T> next) {
+                return next.get();
+            }
+
+            @Override
+            public <T> CompletableFuture<T> interceptAsync(final UpstreamCall call,
+                final Supplier<CompletableFuture<T>> next) {
+                trace.add(call.resource());
+                return next.get();
+            }
+        };
+        ReflectionTestUtils.setField(auditionIntegrationClient, "interceptors", List.of(interceptor));
+        Mockito.when(asyncJsonClient.get(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new Comment())));
+
+        assertEquals(1, auditionIntegrationClient.getCommentsByPostIdAsync(1).get().size());
+        assertEquals(List.of("posts/1/comments"), trace);
+    }
+
+    @Test
+    void testLookupsGoThroughBulkLookupsWhenBatchingIsEnabled() {
+        final BulkLookups bulkLookups = Mockito.mock(BulkLookups.class);
+        Mockito.when(bulkLookups.isEnabled()).thenReturn(true);
+        Mockito.when(bulkLookups.getPostById(1)).thenReturn(CompletableFuture.failedFuture(
+            new SystemException("Cannot find a Post with id 1", "Resource Not Found", 404)));
+        Mockito.when(bulkLookups.getCommentsByPostId(1))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new Comment())));
+        ReflectionTestUtils.setField(auditionIntegrationClient, "bulkLookups", bulkLookups);
+
+        final SystemException exception = assertThrows(SystemException.class,
+            () -> auditionIntegrationClient.getPostById(1));
+        assertEquals(404, exception.getStatusCode());
+        assertEquals(1, auditionIntegrationClient.getCommentsByPostId(1).size());
+        Mockito.verifyNoInteractions(restTemplate, asyncJsonClient);
+    }
 }
@@ -0,0 +1,97 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.UpstreamProperties;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+class BulkLookupsTest {
+
+    private static final String POSTS_URL = "https://jsonplaceholder.typicode.com/posts";
+    private static final String COMMENTS_URL = "https://jsonplaceholder.typicode.com/comments";
+
+    private transient AsyncJsonClient asyncJsonClient;
+    private transient BulkLookups bulkLookups;
+
+    @BeforeEach
+    void setUp() {
+        asyncJsonClient = Mockito.mock(AsyncJsonClient.class);
+        final TaskScheduler taskScheduler = Mockito.mock(TaskScheduler.class);
+        Mockito.when(taskScheduler.getClock()).thenReturn(Clock.systemUTC());
+        final UpstreamProperties upstreamProperties = new UpstreamProperties();
+        upstreamProperties.getBatching().setMaxBatchSize(2);
+
+        bulkLookups = new BulkLookups();
+        ReflectionTestUtils.setField(bulkLookups, "asyncJsonClient", asyncJsonClient);
+        ReflectionTestUtils.setField(bulkLookups, "objectMapper", new WebServiceConfiguration().objectMapper());
+        ReflectionTestUtils.setField(bulkLookups, "upstreamProperties", upstreamProperties);
+        ReflectionTestUtils.setField(bulkLookups, "taskScheduler", taskScheduler);
+        bulkLookups.initBatchers();
+    }
+
+    @Test
+    void testPostLookupsAreSplitFromOneBulkQuery() {
+        Mockito.when(asyncJsonClient.get(eq(POSTS_URL + "?id=1&id=2"), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(post(2))));
+
+        final CompletableFuture<AuditionPost> first = bulkLookups.getPostById(1);
+        final CompletableFuture<AuditionPost> second = bulkLookups.getPostById(2);
+
+        assertEquals(2, second.join().getId());
+        final SystemException missing = assertInstanceOf(SystemException.class,
+            assertThrows(CompletionException.class, first::join).getCause());
+        assertEquals(404, missing.getStatusCode());
+        assertEquals("Cannot find a Post with id 1", missing.getDetail());
+        Mockito.verify(asyncJsonClient, Mockito.times(1)).get(any(), any());
+    }
+
+    @Test
+    void testCommentLookupsAreGroupedByPost() {
+        final Comment comment = new Comment();
+        comment.setPostId(4);
+        Mockito.when(asyncJsonClient.get(eq(COMMENTS_URL + "?postId=3&postId=4"), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(comment)));
+
+        final CompletableFuture<List<Comment>> first = bulkLookups.getCommentsByPostId(3);
+        final CompletableFuture<List<Comment>> second = bulkLookups.getCommentsByPostId(4);
+
+        assertEquals(List.of(), first.join());
+        assertEquals(List.of(comment), second.join());
+    }
+
+    @Test
+    void testBulkFailureIsMappedForEachCaller() {
+        Mockito.when(asyncJsonClient.get(any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new ResourceAccessException("timeout")));
+
+        final CompletableFuture<List<Comment>> first = bulkLookups.getCommentsByPostId(5);
+        bulkLookups.getCommentsByPostId(6);
+
+        final SystemException failure = assertInstanceOf(SystemException.class,
+            assertThrows(CompletionException.class, first::join).getCause());
+        assertEquals("An unexpected error occurred while retrieving comments", failure.getMessage());
+    }
+
+    private static AuditionPost post(final int id) {
+        final AuditionPost post = new AuditionPost();
+        post.setId(id);
+        return post;
+    }
+}
@@ -0,0 +1,82 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("PMD.DoNotUseThreads")
+class BulkheadUpstreamCallInterceptorTest {
+
+    private static final UpstreamCall POST_CALL = UpstreamCall.read("getPostById", "posts/1");
+    private static final UpstreamCall POSTS_CALL = UpstreamCall.read("getPosts", "posts");
+
+    private transient MeterRegistry meterRegistry;
+    private transient UpstreamProperties upstreamProperties;
+    private transient BulkheadUpstreamCallInterceptor interceptor;
+    private transient ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamProperties = new UpstreamProperties();
+        upstreamProperties.getBulkhead().setMaxConcurrentCalls(1);
+        interceptor = new BulkheadUpstreamCallInterceptor(meterRegistry, upstreamProperties);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRejectsCallsBeyondTheLimitPerOperation() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<String> blocked = CompletableFuture.supplyAsync(
+            () -> interceptor.intercept(POST_CALL, () -> {
+                started.countDown();
+                await(release);
+                return "slow";
+            }), executor);
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThrows(UpstreamUnavailableException.class, () -> interceptor.intercept(POST_CALL, () -> "fast"));
+        assertEquals("other", interceptor.intercept(POSTS_CALL, () -> "other"));
+        assertEquals(0.0, meterRegistry.get("upstream.bulkhead.available").tag("operation", "getPostById")
+            .gauge().value());
+
+        release.countDown();
+        assertEquals("slow", blocked.get(5, TimeUnit.SECONDS));
+        assertEquals("fast", interceptor.intercept(POST_CALL, () -> "fast"));
+        assertEquals(1.0, meterRegistry.get("upstream.bulkhead.rejected").counter().count());
+    }
+
+    @Test
+    void testDisabledBulkheadPassesThrough() {
+        upstreamProperties.getBulkhead().setEnabled(false);
+        upstreamProperties.getBulkhead().setMaxConcurrentCalls(0);
+
+        assertEquals("ok", interceptor.intercept(POST_CALL, () -> "ok"));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
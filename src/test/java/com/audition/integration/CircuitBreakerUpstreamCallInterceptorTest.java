@@ -0,0 +1,146 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerUpstreamCallInterceptorTest {
+
+    private static final String OPERATION = "getPosts";
+    private static final UpstreamCall CALL = UpstreamCall.read(OPERATION, "posts");
+
+    private final transient AtomicLong now = new AtomicLong();
+    private final transient AtomicInteger calls = new AtomicInteger();
+    private transient MeterRegistry meterRegistry;
+    private transient CircuitBreakerUpstreamCallInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        final UpstreamProperties upstreamProperties = new UpstreamProperties();
+        upstreamProperties.getCircuitBreaker().setSlidingWindowSize(4);
+        upstreamProperties.getCircuitBreaker().setMinimumCalls(4);
+        upstreamProperties.getCircuitBreaker().setPermittedCallsInHalfOpen(2);
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new CircuitBreakerUpstreamCallInterceptor(meterRegistry, upstreamProperties, now::get);
+    }
+
+    @Test
+    void testOpensAtFailureRateAndFailsFast() {
+        succeed();
+        succeed();
+        fail();
+        assertEquals(CircuitBreaker.State.CLOSED, interceptor.state(OPERATION));
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, interceptor.state(OPERATION));
+
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        final UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class, this::succeed);
+        assertEquals(Duration.ofSeconds(6), e.getRetryAfter());
+        assertEquals(4, calls.get());
+        assertEquals(1.0, meterRegistry.get("upstream.circuit.state").tag("state", "open").gauge().value());
+        assertEquals(1.0, meterRegistry.get("upstream.circuit.calls").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenTheCircuit() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(SystemException.class, () -> interceptor.intercept(CALL, () -> {
+                throw new SystemException("Cannot find a Post with id 1", "Resource Not Found", 404);
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, interceptor.state(OPERATION));
+    }
+
+    @Test
+    void testHalfOpenClosesAfterSuccessfulProbes() {
+        openCircuit();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        succeed();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, interceptor.state(OPERATION));
+        succeed();
+
+        assertEquals(CircuitBreaker.State.CLOSED, interceptor.state(OPERATION));
+    }
+
+    @Test
+    void testHalfOpenReopensOnFailedProbe() {
+        openCircuit();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        fail();
+
+        assertEquals(CircuitBreaker.State.OPEN, interceptor.state(OPERATION));
+        assertThrows(UpstreamUnavailableException.class, this::succeed);
+    }
+
+    @Test
+    void testSlidingWindowForgetsOldFailures() {
+        fail();
+        fail();
+        succeed();
+        succeed();
+        assertEquals(CircuitBreaker.State.OPEN, interceptor.state(OPERATION));
+
+        final UpstreamProperties upstreamProperties = new UpstreamProperties();
+        upstreamProperties.getCircuitBreaker().setSlidingWindowSize(4);
+        upstreamProperties.getCircuitBreaker().setMinimumCalls(4);
+        interceptor = new CircuitBreakerUpstreamCallInterceptor(meterRegistry, upstreamProperties, now::get);
+        fail();
+        succeed();
+        succeed();
+        succeed();
+        succeed();
+        fail();
+        assertEquals(CircuitBreaker.State.CLOSED, interceptor.state(OPERATION));
+    }
+
+    @Test
+    void testAsyncCallsShareTheCircuit() {
+        final CompletableFuture<Integer> failed = CompletableFuture.failedFuture(
+            new SystemException("Failed to retrieve posts due to network issues"));
+        for (int i = 0; i < 4; i++) {
+            interceptor.interceptAsync(CALL, () -> failed);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, interceptor.state(OPERATION));
+
+        final CompletableFuture<Integer> refused = interceptor.interceptAsync(CALL,
+            () -> CompletableFuture.completedFuture(calls.incrementAndGet()));
+        assertTrue(refused.isCompletedExceptionally());
+        assertInstanceOf(UpstreamUnavailableException.class,
+            assertThrows(CompletionException.class, refused::join).getCause());
+        assertEquals(0, calls.get());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, interceptor.state(OPERATION));
+    }
+
+    private void succeed() {
+        interceptor.intercept(CALL, calls::incrementAndGet);
+    }
+
+    private void fail() {
+        assertThrows(SystemException.class, () -> interceptor.intercept(CALL, () -> {
+            calls.incrementAndGet();
+            throw new SystemException("Failed to retrieve posts due to network issues");
+        }));
+    }
+}
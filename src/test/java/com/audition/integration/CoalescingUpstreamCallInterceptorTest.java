@@ -0,0 +1,153 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("PMD.DoNotUseThreads")
+class CoalescingUpstreamCallInterceptorTest {
+
+    private static final UpstreamCall POST_CALL = UpstreamCall.read("getPostById", "posts/1");
+
+    private transient MeterRegistry meterRegistry;
+    private transient UpstreamProperties upstreamProperties;
+    private transient CoalescingUpstreamCallInterceptor interceptor;
+    private transient ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamProperties = new UpstreamProperties();
+        interceptor = new CoalescingUpstreamCallInterceptor(meterRegistry, upstreamProperties);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneUpstreamCall() throws Exception {
+        final CountDownLatch leaderStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger upstreamCalls = new AtomicInteger();
+        final Object result = new Object();
+        final Supplier<Object> upstream = () -> {
+            upstreamCalls.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return result;
+        };
+
+        final CompletableFuture<Object> leader = CompletableFuture.supplyAsync(
+            () -> interceptor.intercept(POST_CALL, upstream), executor);
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        final CompletableFuture<Object> follower = CompletableFuture.supplyAsync(
+            () -> interceptor.intercept(POST_CALL, upstream), executor);
+        waitForCoalescedCall();
+        release.countDown();
+
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1.0, meterRegistry.get("upstream.calls.coalesced").tag("operation", "getPostById")
+            .counter().count());
+    }
+
+    @Test
+    void testAsyncCallersShareOneUpstreamCall() throws Exception {
+        final CompletableFuture<Object> upstream = new CompletableFuture<>();
+        final AtomicInteger upstreamCalls = new AtomicInteger();
+        final Supplier<CompletableFuture<Object>> next = () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream;
+        };
+
+        final CompletableFuture<Object> leader = interceptor.interceptAsync(POST_CALL, next);
+        final CompletableFuture<Object> follower = interceptor.interceptAsync(POST_CALL, next);
+        final SystemException failure = new SystemException("upstream down", 503);
+        upstream.completeExceptionally(failure);
+
+        assertSame(failure, assertThrows(CompletionException.class, leader::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, follower::join).getCause());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testErrorReachesEveryWaiter() throws Exception {
+        final CountDownLatch leaderStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final SystemException failure = new SystemException("upstream down", 503);
+        final Supplier<Object> upstream = () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw failure;
+        };
+
+        final CompletableFuture<Object> leader = CompletableFuture.supplyAsync(
+            () -> interceptor.intercept(POST_CALL, upstream), executor);
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        final CompletableFuture<Object> follower = CompletableFuture.supplyAsync(
+            () -> interceptor.intercept(POST_CALL, upstream), executor);
+        waitForCoalescedCall();
+        release.countDown();
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+    }
+
+    @Test
+    void testSequentialCallsAreNotCoalesced() {
+        final AtomicInteger upstreamCalls = new AtomicInteger();
+
+        interceptor.intercept(POST_CALL, upstreamCalls::incrementAndGet);
+        interceptor.intercept(POST_CALL, upstreamCalls::incrementAndGet);
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testStreamingAndDisabledCallsPassThrough() {
+        final AtomicInteger upstreamCalls = new AtomicInteger();
+
+        interceptor.intercept(UpstreamCall.stream("forEachPost", "posts"), upstreamCalls::incrementAndGet);
+        upstreamProperties.getCoalescing().setEnabled(false);
+        interceptor.intercept(POST_CALL, upstreamCalls::incrementAndGet);
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private void waitForCoalescedCall() throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("upstream.calls.coalesced").counter() == null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings({"PMD.DoNotUseThreads", "PMD.TooManyMethods"})
+class ConcurrencyLimitUpstreamCallInterceptorTest {
+
+    private static final UpstreamCall CALL = UpstreamCall.read("getPostById", "posts/1");
+    private static final String SLOW = "slow";
+
+    private final transient AtomicLong now = new AtomicLong();
+    private transient MeterRegistry meterRegistry;
+    private transient UpstreamProperties upstreamProperties;
+    private transient ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamProperties = new UpstreamProperties();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyIsSteady() {
+        upstreamProperties.getConcurrencyLimit().setInitialLimit(1);
+        upstreamProperties.getConcurrencyLimit().setMinLimit(1);
+        final ConcurrencyLimitUpstreamCallInterceptor interceptor = interceptor();
+
+        for (int i = 0; i < 20; i++) {
+            callTaking(interceptor, Duration.ofMillis(10));
+        }
+
+        // sequential calls only ever use one slot, so the limit stops growing at twice that
+        assertEquals(2, interceptor.limit());
+        assertEquals(interceptor.limit(), meterRegistry.get("upstream.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        upstreamProperties.getConcurrencyLimit().setInitialLimit(40);
+        final ConcurrencyLimitUpstreamCallInterceptor interceptor = interceptor();
+        for (int i = 0; i < 10; i++) {
+            callTaking(interceptor, Duration.ofMillis(10));
+        }
+        final int before = interceptor.limit();
+
+        for (int i = 0; i < 20; i++) {
+            callTaking(interceptor, Duration.ofMillis(200));
+        }
+
+        assertTrue(interceptor.limit() < before);
+    }
+
+    @Test
+    void testUpstreamFailureBacksOff() {
+        upstreamProperties.getConcurrencyLimit().setInitialLimit(20);
+        upstreamProperties.getConcurrencyLimit().setBackoffRatio(0.5);
+        final ConcurrencyLimitUpstreamCallInterceptor interceptor = interceptor();
+
+        assertThrows(SystemException.class, () -> interceptor.intercept(CALL, () -> {
+            throw new SystemException("Failed to retrieve posts due to network issues");
+        }));
+
+        assertEquals(10, interceptor.limit());
+        assertEquals(0, interceptor.inFlight());
+    }
+
+    @Test
+    void testCallOverLimitIsRejectedAfterQueueWait() throws Exception {
+        fixedLimitOfOne(Duration.ofMillis(20));
+        final ConcurrencyLimitUpstreamCallInterceptor interceptor = interceptor();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<String> blocked = blockOneSlot(interceptor, release);
+
+        assertThrows(UpstreamUnavailableException.class, () -> interceptor.intercept(CALL, () -> "fast"));
+        assertEquals(1.0, meterRegistry.get("upstream.concurrency.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("upstream.concurrency.inflight").gauge().value());
+
+        release.countDown();
+        assertEquals(SLOW, blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testQueuedCallGetsTheFreedSlot() throws Exception {
+        fixedLimitOfOne(Duration.ofSeconds(5));
+        final ConcurrencyLimitUpstreamCallInterceptor interceptor = interceptor();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<String> blocked = blockOneSlot(interceptor, release);
+
+        CompletableFuture.runAsync(release::countDown, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+
+        assertEquals("queued", interceptor.intercept(CALL, () -> "queued"));
+        assertEquals(SLOW, blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDisabledLimiterPassesThrough() {
+        upstreamProperties.getConcurrencyLimit().setEnabled(false);
+
+        assertEquals("ok", interceptor().intercept(CALL, () -> "ok"));
+    }
+
+    private ConcurrencyLimitUpstreamCallInterceptor interceptor() {
+        return new ConcurrencyLimitUpstreamCallInterceptor(meterRegistry, upstreamProperties, now::get);
+    }
+
+    private void fixedLimitOfOne(final Duration maxQueueWait) {
+        upstreamProperties.getConcurrencyLimit().setInitialLimit(1);
+        upstreamProperties.getConcurrencyLimit().setMinLimit(1);
+        upstreamProperties.getConcurrencyLimit().setMaxLimit(1);
+        upstreamProperties.getConcurrencyLimit().setMaxQueueWait(maxQueueWait);
+    }
+
+    private CompletableFuture<String> blockOneSlot(final ConcurrencyLimitUpstreamCallInterceptor interceptor,
+        final CountDownLatch release) throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<String> blocked = CompletableFuture.supplyAsync(
+            () -> interceptor.intercept(CALL, () -> {
+                started.countDown();
+                await(release);
+                return SLOW;
+            }), executor);
+        started.await(5, TimeUnit.SECONDS);
+        return blocked;
+    }
+
+    private void callTaking(final ConcurrencyLimitUpstreamCallInterceptor interceptor, final Duration rtt) {
+        interceptor.intercept(CALL, () -> now.addAndGet(rtt.toNanos()));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
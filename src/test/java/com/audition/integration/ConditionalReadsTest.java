@@ -0,0 +1,119 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.UpstreamProperties;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+class ConditionalReadsTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final String POSTS = "/posts";
+
+    private final AtomicInteger bodiesSent = new AtomicInteger();
+    private transient HttpServer server;
+    private transient String baseUrl;
+    private transient ObjectMapper objectMapper;
+    private transient UpstreamProperties upstreamProperties;
+    private transient ConditionalReads conditionalReads;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(POSTS, exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            final byte[] bytes = "[{\"id\":1},{\"id\":2}]".getBytes(StandardCharsets.UTF_8);
+            bodiesSent.incrementAndGet();
+            exchange.getResponseHeaders().add(HttpHeaders.ETAG, ETAG);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.createContext("/empty", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        objectMapper = new WebServiceConfiguration().objectMapper();
+        upstreamProperties = new UpstreamProperties();
+        conditionalReads = new ConditionalReads();
+        ReflectionTestUtils.setField(conditionalReads, "restTemplate", new RestTemplate());
+        ReflectionTestUtils.setField(conditionalReads, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(conditionalReads, "upstreamProperties", upstreamProperties);
+        ReflectionTestUtils.setField(conditionalReads, "upstreamValidators",
+            new UpstreamValidators(upstreamProperties, new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testUnchangedResourceIsNotDownloadedOrParsedAgain() {
+        final List<AuditionPost> first = read(POSTS);
+        final List<AuditionPost> second = read(POSTS);
+
+        assertEquals(2, first.size());
+        assertSame(first, second);
+        assertEquals(1, bodiesSent.get());
+    }
+
+    @Test
+    void testBufferedParsingWhenStreamingIsDisabled() {
+        upstreamProperties.getStreaming().setEnabled(false);
+
+        assertEquals(2, read(POSTS).get(1).getId());
+    }
+
+    @Test
+    void testEmptyBodyIsNull() {
+        assertNull(read("/empty"));
+    }
+
+    @Test
+    void testFailureIsMappedByTheCaller() {
+        final SystemException e = assertThrows(SystemException.class, () -> read("/missing"));
+
+        assertInstanceOf(HttpClientErrorException.class, e.getCause());
+    }
+
+    private List<AuditionPost> read(final String path) {
+        final JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, AuditionPost.class);
+        return conditionalReads.read(baseUrl + path, type, e -> new SystemException("failed", e));
+    }
+}
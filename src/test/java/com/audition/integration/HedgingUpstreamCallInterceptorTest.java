@@ -0,0 +1,347 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@SuppressWarnings({"PMD.DoNotUseThreads", "PMD.TooManyMethods"})
+class HedgingUpstreamCallInterceptorTest {
+
+    private static final UpstreamCall POST_CALL = UpstreamCall.read("getPostById", "posts/1");
+    private static final String FAST = "fast";
+    private static final String PRIMARY = "primary";
+    private static final String HEDGING_REQUESTS = "upstream.hedging.requests";
+
+    private transient MeterRegistry meterRegistry;
+    private transient UpstreamProperties upstreamProperties;
+    private transient ThreadPoolTaskExecutor executor;
+    private transient ThreadPoolTaskScheduler taskScheduler;
+    private transient HedgingUpstreamCallInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamProperties = new UpstreamProperties();
+        upstreamProperties.getHedging().setEnabled(true);
+        upstreamProperties.getHedging().setMinSamples(5);
+        upstreamProperties.getHedging().setBudgetRatio(1);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.initialize();
+        interceptor = new HedgingUpstreamCallInterceptor(meterRegistry, upstreamProperties, executor, taskScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        interceptor.destroy();
+        taskScheduler.shutdown();
+    }
+
+    @Test
+    void testSlowPrimaryIsHedgedAndCancelled() {
+        warmUp();
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch primaryCancelled = new CountDownLatch(1);
+
+        final String result = interceptor.intercept(POST_CALL, () -> {
+            if (attempts.getAndIncrement() == 0) {
+                return sleepUntilInterrupted(primaryCancelled);
+            }
+            return FAST;
+        });
+
+        assertEquals(FAST, result);
+        assertEquals(2, attempts.get());
+        assertTrue(await(primaryCancelled));
+        assertEquals(1.0, meterRegistry.get(HEDGING_REQUESTS).counter().count());
+        assertEquals(1.0, meterRegistry.get("upstream.hedging.wins").counter().count());
+    }
+
+    @Test
+    void testCancelledAttemptIsNotAnUpstreamFailure() {
+        warmUp();
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch primaryCancelled = new CountDownLatch(1);
+        final AtomicReference<Boolean> upstreamFailure = new AtomicReference<>();
+
+        assertEquals(FAST, interceptor.intercept(POST_CALL, () -> {
+            if (attempts.getAndIncrement() == 0) {
+                sleepUntilInterrupted(primaryCancelled);
+                upstreamFailure.set(UpstreamErrors.isUpstreamFailure(new SystemException("connection reset")));
+                return PRIMARY;
+            }
+            return FAST;
+        }));
+
+        assertTrue(await(primaryCancelled));
+        assertEquals(Boolean.FALSE, awaitValue(upstreamFailure::get));
+    }
+
+    @Test
+    void testInterruptOutsideAHedgeRaceDoesNotHideUpstreamFailures() {
+        Thread.currentThread().interrupt();
+        try {
+            assertTrue(UpstreamErrors.isUpstreamFailure(new SystemException("connection reset")));
+            assertFalse(HedgingUpstreamCallInterceptor.isCancelledAttempt());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testFastPrimaryIsNotHedged() {
+        warmUp();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertEquals(FAST, interceptor.intercept(POST_CALL, () -> {
+            attempts.incrementAndGet();
+            return FAST;
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testBudgetCapsBackupRequests() {
+        upstreamProperties.getHedging().setBudgetRatio(0);
+        warmUp();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertEquals(PRIMARY, interceptor.intercept(POST_CALL, () -> {
+            attempts.incrementAndGet();
+            sleep(Duration.ofMillis(100));
+            return PRIMARY;
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, meterRegistry.get("upstream.hedging.budget.exhausted").counter().count());
+    }
+
+    @Test
+    void testFailsWhenEveryAttemptFails() {
+        warmUp();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final SystemException e = assertThrows(SystemException.class, () -> interceptor.intercept(POST_CALL, () -> {
+            final int attempt = attempts.incrementAndGet();
+            sleep(Duration.ofMillis(attempt == 1 ? 100 : 0));
+            throw new SystemException("attempt " + attempt);
+        }));
+
+        assertEquals(2, attempts.get());
+        assertEquals("attempt 2", e.getMessage());
+    }
+
+    @Test
+    void testOperationsNotListedRunInline() {
+        upstreamProperties.getHedging().getOperations().clear();
+        final Thread caller = Thread.currentThread();
+
+        assertEquals(Boolean.TRUE, interceptor.intercept(POST_CALL, () -> caller.equals(Thread.currentThread())));
+    }
+
+    @Test
+    void testCallFindingNoFreeThreadRunsInlineWithoutQueueing() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        interceptor = new HedgingUpstreamCallInterceptor(meterRegistry, upstreamProperties, executor, taskScheduler);
+        warmUp();
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+        final Thread caller = Thread.currentThread();
+
+        try {
+            assertEquals(Boolean.TRUE, interceptor.intercept(POST_CALL, () -> caller.equals(Thread.currentThread())));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testFailingPrimaryFailsPromptlyWhenTheBackupIsRejected() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        interceptor = new HedgingUpstreamCallInterceptor(meterRegistry, upstreamProperties, executor, taskScheduler);
+        // one token after the warm-up and the first call, none left for the second call unless it is refunded
+        upstreamProperties.getHedging().setBudgetRatio(0.2);
+        warmUp();
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+
+        try {
+            final SystemException e = assertThrows(SystemException.class,
+                () -> assertTimeoutPreemptively(Duration.ofSeconds(2), () -> interceptor.intercept(POST_CALL, () -> {
+                    sleep(Duration.ofMillis(100));
+                    throw new SystemException(PRIMARY);
+                })));
+            assertEquals(PRIMARY, e.getMessage());
+            assertNull(meterRegistry.find(HEDGING_REQUESTS).counter());
+        } finally {
+            release.countDown();
+        }
+        // both threads must be free again, or the backup of the second call is rejected too
+        awaitValue(() -> executor.getActiveCount() == 0 ? Boolean.TRUE : null);
+
+        final AtomicInteger attempts = new AtomicInteger();
+        assertEquals(FAST, interceptor.intercept(POST_CALL, () -> {
+            if (attempts.getAndIncrement() == 0) {
+                sleep(Duration.ofMillis(200));
+                return PRIMARY;
+            }
+            return FAST;
+        }));
+        assertEquals(1.0, meterRegistry.get(HEDGING_REQUESTS).counter().count());
+    }
+
+    @Test
+    void testSlowAsyncPrimaryIsHedgedWithoutAThread() {
+        warmUp();
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> primary = new CompletableFuture<>();
+
+        final CompletableFuture<String> result = interceptor.interceptAsync(POST_CALL,
+            () -> attempts.getAndIncrement() == 0 ? primary : CompletableFuture.completedFuture(FAST));
+
+        assertEquals(FAST, result.join());
+        assertEquals(2, attempts.get());
+        assertEquals(0, executor.getActiveCount());
+        assertEquals(1.0, meterRegistry.get(HEDGING_REQUESTS).counter().count());
+        // the win is counted once the race has settled, after the caller may already have the result
+        final Counter wins = awaitValue(() -> meterRegistry.find("upstream.hedging.wins").counter());
+        assertEquals(1.0, wins.count());
+    }
+
+    @Test
+    void testLosingAsyncAttemptIsCancelledAndNotAnUpstreamFailure() {
+        warmUp();
+        final CompletableFuture<String> primary = new CompletableFuture<>();
+        final AtomicReference<Boolean> upstreamFailure = new AtomicReference<>();
+        primary.whenComplete((value, e) -> upstreamFailure.set(UpstreamErrors.isUpstreamFailure(e)));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final CompletableFuture<String> result = interceptor.interceptAsync(POST_CALL,
+            () -> attempts.getAndIncrement() == 0 ? primary : CompletableFuture.completedFuture(FAST));
+
+        assertEquals(FAST, result.join());
+        assertEquals(Boolean.FALSE, awaitValue(upstreamFailure::get));
+        assertTrue(primary.isCancelled());
+        assertFalse(HedgingUpstreamCallInterceptor.isCancelledAttempt());
+    }
+
+    @Test
+    void testLosingAsyncBackupIsCancelled() {
+        warmUp();
+        final CompletableFuture<String> primary = new CompletableFuture<>();
+        final CompletableFuture<String> backup = new CompletableFuture<>();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final CompletableFuture<String> result = interceptor.interceptAsync(POST_CALL,
+            () -> attempts.getAndIncrement() == 0 ? primary : backup);
+        assertEquals(Boolean.TRUE, awaitValue(() -> attempts.get() == 2 ? Boolean.TRUE : null));
+        primary.complete(PRIMARY);
+
+        assertEquals(PRIMARY, result.join());
+        assertTrue(backup.isCancelled());
+    }
+
+    @Test
+    void testFastAsyncPrimaryIsNotHedged() {
+        warmUp();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertEquals(FAST, interceptor.interceptAsync(POST_CALL, () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(FAST);
+        }).join());
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testAsyncFailsWhenEveryAttemptFails() {
+        warmUp();
+        final CompletableFuture<String> primary = new CompletableFuture<>();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final CompletableFuture<String> result = interceptor.interceptAsync(POST_CALL, () ->
+            attempts.getAndIncrement() == 0 ? primary : CompletableFuture.failedFuture(new SystemException("backup")));
+        sleep(Duration.ofMillis(100));
+        primary.completeExceptionally(new SystemException(PRIMARY));
+
+        final SystemException e = assertThrows(SystemException.class, () -> Futures.join(result));
+        assertEquals("backup", e.getMessage());
+    }
+
+    private void warmUp() {
+        final Supplier<String> fast = () -> FAST;
+        for (int i = 0; i < 5; i++) {
+            interceptor.intercept(POST_CALL, fast);
+        }
+    }
+
+    private static String sleepUntilInterrupted(final CountDownLatch cancelled) {
+        try {
+            Thread.sleep(5000);
+        } catch (InterruptedException e) {
+            cancelled.countDown();
+            Thread.currentThread().interrupt();
+        }
+        return "slow";
+    }
+
+    private static void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> T awaitValue(final Supplier<T> value) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        T current = value.get();
+        while (current == null && System.nanoTime() < deadline) {
+            sleep(Duration.ofMillis(5));
+            current = value.get();
+        }
+        return current;
+    }
+
+    private static boolean await(final CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.configuration.AuditionMetricsProperties;
+import com.audition.configuration.LatencyRecorders;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
+
+class LatencyUpstreamCallInterceptorTest {
+
+    private static final UpstreamCall POST_CALL = UpstreamCall.read("getPostById", "posts/1");
+    private static final String UPSTREAM = "upstream";
+    private static final String POST = "post";
+
+    private transient AuditionMetricsProperties properties;
+    private transient LatencyRecorders latencyRecorders;
+    private transient LatencyUpstreamCallInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditionMetricsProperties();
+        latencyRecorders = Mockito.spy(new LatencyRecorders(properties, Mockito.mock(TaskScheduler.class)));
+        interceptor = new LatencyUpstreamCallInterceptor(latencyRecorders);
+    }
+
+    @Test
+    void testRecordsSuccessfulAndFailedCalls() {
+        assertEquals(POST, interceptor.intercept(POST_CALL, () -> POST));
+        assertThrows(IllegalStateException.class, () -> interceptor.intercept(POST_CALL, () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+
+        assertEquals(2, closedWindow().get("getPostById").count());
+    }
+
+    @Test
+    void testRecordsAsyncCallsOnCompletion() {
+        final CompletableFuture<String> pending = new CompletableFuture<>();
+        final CompletableFuture<String> result = interceptor.interceptAsync(POST_CALL, () -> pending);
+        Mockito.verify(latencyRecorders, Mockito.never()).recordUpstream(Mockito.anyString(), Mockito.anyLong());
+
+        pending.complete(POST);
+
+        assertEquals(POST, result.join());
+        assertEquals(1, closedWindow().get("getPostById").count());
+    }
+
+    @Test
+    void testDisabledRecordersAreBypassed() {
+        properties.getLatency().setEnabled(false);
+
+        interceptor.intercept(POST_CALL, () -> POST);
+        interceptor.interceptAsync(POST_CALL, () -> CompletableFuture.completedFuture(POST)).join();
+
+        assertTrue(closedWindow().isEmpty());
+    }
+
+    private Map<String, LatencyRecorders.LatencyWindow> closedWindow() {
+        latencyRecorders.rotate();
+        return latencyRecorders.snapshot().get(UPSTREAM);
+    }
+}
@@ -0,0 +1,95 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
+
+class MicroBatcherTest {
+
+    private final transient List<List<Integer>> bulkCalls = new ArrayList<>();
+    private transient TaskScheduler taskScheduler;
+
+    @BeforeEach
+    void setUp() {
+        taskScheduler = Mockito.mock(TaskScheduler.class);
+        Mockito.when(taskScheduler.getClock()).thenReturn(Clock.systemUTC());
+    }
+
+    @Test
+    void testLookupsWithinWindowShareOneBulkCall() {
+        final MicroBatcher<Integer, String> batcher = new MicroBatcher<>(10, Duration.ofMillis(5), taskScheduler,
+            this::load);
+
+        final CompletableFuture<String> first = batcher.get(1);
+        final CompletableFuture<String> second = batcher.get(2);
+        assertSame(first, batcher.get(1));
+        assertFalse(first.isDone());
+
+        runScheduledFlush();
+
+        assertEquals(List.of(List.of(1, 2)), bulkCalls);
+        assertEquals("value1", first.join());
+        assertEquals("value2", second.join());
+    }
+
+    @Test
+    void testFullBatchIsSentWithoutWaiting() {
+        final MicroBatcher<Integer, String> batcher = new MicroBatcher<>(2, Duration.ofMillis(5), taskScheduler,
+            this::load);
+
+        batcher.get(1);
+        final CompletableFuture<String> second = batcher.get(2);
+        final CompletableFuture<String> third = batcher.get(3);
+
+        assertEquals("value2", second.join());
+        assertFalse(third.isDone());
+        runScheduledFlush();
+        assertEquals(List.of(List.of(1, 2), List.of(3)), bulkCalls);
+        assertEquals("value3", third.join());
+    }
+
+    @Test
+    void testMissingKeyCompletesWithNullAndFailureFailsEveryKey() {
+        final MicroBatcher<Integer, String> partial = new MicroBatcher<>(2, Duration.ofMillis(5), taskScheduler,
+            keys -> CompletableFuture.completedFuture(Map.of(1, "value1")));
+        partial.get(1);
+        assertNull(partial.get(2).join());
+
+        final IllegalStateException failure = new IllegalStateException("upstream down");
+        final MicroBatcher<Integer, String> failing = new MicroBatcher<>(2, Duration.ofMillis(5), taskScheduler,
+            keys -> CompletableFuture.failedFuture(failure));
+        final CompletableFuture<String> first = failing.get(1);
+        final CompletableFuture<String> second = failing.get(2);
+        assertSame(failure, assertThrows(CompletionException.class, first::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, second::join).getCause());
+    }
+
+    private CompletableFuture<Map<Integer, String>> load(final List<Integer> keys) {
+        bulkCalls.add(keys);
+        return CompletableFuture.completedFuture(keys.stream().collect(Collectors.toMap(key -> key, key -> "value" + key)));
+    }
+
+    private void runScheduledFlush() {
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(taskScheduler, Mockito.atLeastOnce()).schedule(task.capture(), any(Instant.class));
+        task.getValue().run();
+    }
+}
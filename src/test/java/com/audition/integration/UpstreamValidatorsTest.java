@@ -0,0 +1,121 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.configuration.UpstreamProperties;
+import com.audition.model.Comment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestClientException;
+
+class UpstreamValidatorsTest {
+
+    private static final String URL = "https://upstream/posts";
+    private static final String POST = "post";
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Mon, 01 Jan 2024 00:00:00 GMT";
+
+    private transient MeterRegistry meterRegistry;
+    private transient UpstreamValidators validators;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        validators = new UpstreamValidators(new UpstreamProperties(), meterRegistry);
+    }
+
+    @Test
+    void testUnknownResourceIsReadWithoutConditions() {
+        assertTrue(conditions().isEmpty());
+    }
+
+    @Test
+    void testResponseValidatorsBecomeTheNextConditions() {
+        validators.resolve(URL, 200, headers(ETAG, LAST_MODIFIED), () -> List.of(POST));
+
+        assertEquals(Map.of(HttpHeaders.IF_NONE_MATCH, ETAG, HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED),
+            conditions());
+    }
+
+    @Test
+    void testNotModifiedReturnsTheStoredValueWithoutReading() {
+        final List<String> value = List.of(POST);
+        validators.resolve(URL, 200, headers(ETAG, null), () -> value);
+
+        final Object revalidated = validators.resolve(URL, 304, headers(ETAG, null), () -> {
+            throw new AssertionError("body read on 304");
+        });
+
+        assertSame(value, revalidated);
+        assertEquals(1.0, count("not_modified"));
+        assertEquals(1.0, count("fetched"));
+    }
+
+    @Test
+    void testNotModifiedWithoutStoredValueFails() {
+        assertThrows(RestClientException.class, () -> validators.resolve(URL, 304, headers(null, null), () -> null));
+    }
+
+    @Test
+    void testResponseWithoutValidatorsForgetsTheResource() {
+        validators.resolve(URL, 200, headers(ETAG, null), () -> List.of(POST));
+        validators.resolve(URL, 200, headers(null, null), () -> List.of(POST));
+
+        assertTrue(conditions().isEmpty());
+    }
+
+    @Test
+    void testValuesAreBoundedByTheirWeight() {
+        final UpstreamProperties properties = new UpstreamProperties();
+        properties.getRevalidation().setMaximumWeight(DataSize.ofKilobytes(1));
+        validators = new UpstreamValidators(properties, meterRegistry);
+        final Comment comment = new Comment();
+        comment.setBody("x".repeat(1024));
+
+        validators.resolve(URL, 200, headers(ETAG, null), () -> List.of(comment));
+
+        assertTrue(conditions().isEmpty());
+    }
+
+    @Test
+    void testDisabledByProperty() {
+        final UpstreamProperties properties = new UpstreamProperties();
+        properties.getRevalidation().setEnabled(false);
+
+        assertTrue(validators.isEnabled());
+        assertFalse(new UpstreamValidators(properties, meterRegistry).isEnabled());
+    }
+
+    private Map<String, String> conditions() {
+        final Map<String, String> headers = new ConcurrentHashMap<>();
+        validators.addConditions(URL, headers::put);
+        return headers;
+    }
+
+    private static UnaryOperator<String> headers(final String etag, final String lastModified) {
+        final HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        if (lastModified != null) {
+            headers.set(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+        return headers::getFirst;
+    }
+
+    private double count(final String result) {
+        return meterRegistry.get("audition.upstream.revalidations").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,119 @@
+package com.audition.integration.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+class JdkClientHttpRequestFactoryTest {
+
+    private static final String POSTS_PATH = "/posts";
+    private static final String POSTS_BODY = "[{\"id\":1}]";
+
+    private transient HttpServer server;
+    private transient URI baseUri;
+    private transient HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(POSTS_PATH, exchange -> {
+            final byte[] body = POSTS_BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUri = URI.create("http://localhost:" + server.getAddress().getPort());
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testExecuteReturnsStatusHeadersAndBody() throws IOException {
+        final JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient,
+            Duration.ofSeconds(2), 2, Duration.ofMillis(100));
+
+        final ClientHttpRequest request = factory.createRequest(baseUri.resolve(POSTS_PATH), HttpMethod.GET);
+        request.getHeaders().add("Accept", "application/json");
+        request.getHeaders().add("Host", "ignored.example");
+
+        try (ClientHttpResponse response = request.execute(); InputStream body = response.getBody()) {
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("OK", response.getStatusText());
+            assertEquals("application/json", response.getHeaders().getFirst("Content-Type"));
+            assertEquals(POSTS_BODY, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("PMD.CloseResource")
+    void testRouteSlotReleasedWhenResponseClosed() throws IOException {
+        final URI uri = baseUri.resolve(POSTS_PATH);
+        final JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient,
+            Duration.ofSeconds(2), 2, Duration.ofMillis(100));
+
+        final ClientHttpResponse response = factory.createRequest(uri, HttpMethod.GET).execute();
+        assertEquals(1, factory.availablePermits(uri));
+
+        response.close();
+        response.close();
+        assertEquals(2, factory.availablePermits(uri));
+    }
+
+    @Test
+    void testFailsFastWhenRouteIsExhausted() throws IOException {
+        final URI uri = baseUri.resolve(POSTS_PATH);
+        final JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient,
+            Duration.ofSeconds(2), 1, Duration.ofMillis(50));
+
+        try (ClientHttpResponse first = factory.createRequest(uri, HttpMethod.GET).execute()) {
+            assertEquals(200, first.getStatusCode().value());
+            final ClientHttpRequest second = factory.createRequest(uri, HttpMethod.GET);
+            assertThrows(IOException.class, second::execute);
+        }
+        assertEquals(1, factory.availablePermits(uri));
+    }
+
+    @Test
+    void testReadTimeoutAppliesPerCall() throws IOException {
+        final URI uri = baseUri.resolve("/slow");
+        final JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient,
+            Duration.ofMillis(100), 1, Duration.ofMillis(50));
+
+        final ClientHttpRequest request = factory.createRequest(uri, HttpMethod.GET);
+        assertThrows(HttpTimeoutException.class, request::execute);
+        assertEquals(1, factory.availablePermits(uri));
+    }
+}
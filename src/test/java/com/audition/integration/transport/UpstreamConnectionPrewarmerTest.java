@@ -0,0 +1,66 @@
+package com.audition.integration.transport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.UpstreamProperties;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class UpstreamConnectionPrewarmerTest {
+
+    private transient HttpClient httpClient;
+    private transient AuditionLogger auditionLogger;
+    private transient UpstreamProperties upstreamProperties;
+    private transient UpstreamConnectionPrewarmer prewarmer;
+
+    @BeforeEach
+    void setUp() {
+        httpClient = mock(HttpClient.class);
+        auditionLogger = mock(AuditionLogger.class);
+        upstreamProperties = new UpstreamProperties();
+
+        prewarmer = new UpstreamConnectionPrewarmer();
+        ReflectionTestUtils.setField(prewarmer, "upstreamHttpClient", httpClient);
+        ReflectionTestUtils.setField(prewarmer, "upstreamProperties", upstreamProperties);
+        ReflectionTestUtils.setField(prewarmer, "logger", auditionLogger);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPrewarmSendsConfiguredNumberOfRequests() {
+        upstreamProperties.getTransport().setType(UpstreamProperties.TransportType.JDK);
+        upstreamProperties.getTransport().setPrewarmRequests(3);
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        final CompletableFuture<Void> done = prewarmer.prewarm();
+
+        assertTrue(done.isDone());
+        verify(httpClient, times(3)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        verify(auditionLogger).info(any(Logger.class), anyString(), eq(3));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPrewarmSkippedForSimpleTransport() {
+        upstreamProperties.getTransport().setPrewarmRequests(3);
+
+        assertTrue(prewarmer.prewarm().isDone());
+        verify(httpClient, never()).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+}
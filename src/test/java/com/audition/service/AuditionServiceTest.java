@@ -1,8 +1,13 @@
 package com.audition.service;
 
+import com.audition.common.exception.InvalidRequestException;
+import com.audition.common.exception.SystemException;
 import com.audition.integration.AuditionIntegrationClient;
 import com.audition.model.AuditionPost;
+import com.audition.model.BatchResult;
 import com.audition.model.Comment;
+import com.audition.service.cache.CommentsIndex;
+import com.audition.service.cache.ReadThroughCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,6 +15,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -22,16 +29,26 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
+@SuppressWarnings("PMD.TooManyMethods")
 class AuditionServiceTest {
 
     @MockBean
     private transient AuditionIntegrationClient auditionIntegrationClient;
 
+    @MockBean
+    private transient CommentsIndex commentsIndex;
+
     @Autowired
     private transient AuditionService auditionService;
 
+    @Autowired
+    private transient ReadThroughCache cache;
+
     @BeforeEach
     void setUp() {
+        cache.invalidateAll();
+        when(commentsIndex.get(anyInt())).thenReturn(null);
+        when(commentsIndex.all()).thenReturn(null);
     }
 
     @Test
@@ -44,6 +61,19 @@ class AuditionServiceTest {
         assertEquals(1, posts.size());
     }
 
+    @Test
+    void testFilterPosts() {
+        final AuditionPost match = new AuditionPost();
+        match.setTitle("a needle here");
+        match.setBody("");
+        final AuditionPost other = new AuditionPost();
+        other.setTitle("nothing");
+        other.setBody("Needle");
+        when(auditionIntegrationClient.getPosts()).thenReturn(List.of(match, other));
+
+        assertEquals(List.of(match), auditionService.filterPosts("needle"));
+    }
+
     @Test
     void testGetPostById() {
         final AuditionPost mockPost = new AuditionPost();
@@ -63,6 +93,26 @@ class AuditionServiceTest {
         assertEquals(1, comments.size());
     }
 
+    @Test
+    void testRepeatedReadsAreServedFromCache() {
+        final AuditionPost mockPost = new AuditionPost();
+        mockPost.setId(2);
+        when(auditionIntegrationClient.getPostById(2)).thenReturn(mockPost);
+        when(auditionIntegrationClient.getCommentsByPostId(2)).thenReturn(List.of(new Comment()));
+
+        auditionService.getPostById(2);
+        auditionService.getPostById(2);
+        auditionService.getCommentsByPostId(2);
+        final AuditionPost result = auditionService.getPostWithCommentsById(2);
+
+        assertEquals(1, result.getComments().size());
+        assertNull(mockPost.getComments());
+        verify(auditionIntegrationClient, times(1)).getPostById(2);
+        verify(auditionIntegrationClient, times(1)).getCommentsByPostId(2);
+        verify(auditionIntegrationClient, never()).getPostByIdAsync(anyInt());
+        verify(auditionIntegrationClient, never()).getCommentsByPostIdAsync(anyInt());
+    }
+
     @Test
     void testGetPostWithCommentsByValidId() {
         // Arrange
@@ -76,8 +126,9 @@ class AuditionServiceTest {
 
         final List<Comment> mockComments = List.of(mockComment);
 
-        when(auditionIntegrationClient.getPostById(1)).thenReturn(mockPost);
-        when(auditionIntegrationClient.getCommentsByPostId(1)).thenReturn(mockComments);
+        when(auditionIntegrationClient.getPostByIdAsync(1)).thenReturn(CompletableFuture.completedFuture(mockPost));
+        when(auditionIntegrationClient.getCommentsByPostIdAsync(1))
+            .thenReturn(CompletableFuture.completedFuture(mockComments));
 
         // Act
         final AuditionPost result = auditionService.getPostWithCommentsById(1);
@@ -90,8 +141,8 @@ class AuditionServiceTest {
         assertEquals("Test comment", result.getComments().get(0).getBody());
 
         // Verify that the client methods were called
-        verify(auditionIntegrationClient, times(1)).getPostById(1);
-        verify(auditionIntegrationClient, times(1)).getCommentsByPostId(1);
+        verify(auditionIntegrationClient, times(1)).getPostByIdAsync(1);
+        verify(auditionIntegrationClient, times(1)).getCommentsByPostIdAsync(1);
     }
 
     @Test
@@ -104,14 +155,16 @@ class AuditionServiceTest {
         assertEquals("Post ID must be positive", exception.getMessage());
 
         // Verify that no client methods were called
-        verify(auditionIntegrationClient, never()).getPostById(anyInt());
-        verify(auditionIntegrationClient, never()).getCommentsByPostId(anyInt());
+        verify(auditionIntegrationClient, never()).getPostByIdAsync(anyInt());
+        verify(auditionIntegrationClient, never()).getCommentsByPostIdAsync(anyInt());
     }
 
     @Test
     void testGetPostWithCommentsByIdReturnPostNotFound() {
         // Arrange
-        when(auditionIntegrationClient.getPostById(1)).thenReturn(null);
+        when(auditionIntegrationClient.getPostByIdAsync(1)).thenReturn(CompletableFuture.completedFuture(null));
+        when(auditionIntegrationClient.getCommentsByPostIdAsync(1))
+            .thenReturn(CompletableFuture.completedFuture(List.of()));
 
         // Act
         final AuditionPost result = auditionService.getPostWithCommentsById(1);
@@ -119,11 +172,87 @@ class AuditionServiceTest {
         // Assert
         assertNull(result);
 
-        // Verify that the client method was called once
-        verify(auditionIntegrationClient, times(1)).getPostById(1);
+        // Verify that both calls were started together
+        verify(auditionIntegrationClient, times(1)).getPostByIdAsync(1);
+        verify(auditionIntegrationClient, times(1)).getCommentsByPostIdAsync(1);
+    }
 
-        // Verify that getCommentsByPostId was never called
-        verify(auditionIntegrationClient, never()).getCommentsByPostId(anyInt());
+    @Test
+    void testGetPostWithCommentsStartsBothCallsBeforeEitherCompletes() {
+        final CompletableFuture<AuditionPost> post = new CompletableFuture<>();
+        final CompletableFuture<List<Comment>> comments = new CompletableFuture<>();
+        when(auditionIntegrationClient.getPostByIdAsync(3)).thenReturn(post);
+        when(auditionIntegrationClient.getCommentsByPostIdAsync(3)).thenReturn(comments);
+
+        final CompletableFuture<AuditionPost> result = auditionService.getPostWithCommentsByIdAsync(3);
+
+        verify(auditionIntegrationClient, times(1)).getPostByIdAsync(3);
+        verify(auditionIntegrationClient, times(1)).getCommentsByPostIdAsync(3);
+        final AuditionPost mockPost = new AuditionPost();
+        mockPost.setId(3);
+        post.complete(mockPost);
+        comments.complete(List.of(new Comment(), new Comment()));
+        assertEquals(2, result.join().getComments().size());
     }
 
+    @Test
+    void testGetPostWithCommentsRethrowsUpstreamFailure() {
+        when(auditionIntegrationClient.getPostByIdAsync(4))
+            .thenReturn(CompletableFuture.failedFuture(new SystemException("Upstream failed", 502)));
+        when(auditionIntegrationClient.getCommentsByPostIdAsync(4))
+            .thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        final SystemException exception = assertThrows(SystemException.class,
+            () -> auditionService.getPostWithCommentsById(4));
+        assertEquals(502, exception.getStatusCode().intValue());
+    }
+
+    @Test
+    void testGetPostsByIdsDedupesAndReportsFailures() {
+        final AuditionPost mockPost = new AuditionPost();
+        mockPost.setId(5);
+        when(auditionIntegrationClient.getPostByIdAsync(5)).thenReturn(CompletableFuture.completedFuture(mockPost));
+        when(auditionIntegrationClient.getPostByIdAsync(6))
+            .thenReturn(CompletableFuture.failedFuture(new SystemException("Cannot find a Post with id 6",
+                "Resource Not Found", 404)));
+
+        final BatchResult<AuditionPost> result = auditionService.getPostsByIds(List.of(5, 6, 5)).join();
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(5, result.getItems().get(5).getId());
+        assertEquals(404, result.getErrors().get(6).getStatus());
+        verify(auditionIntegrationClient, times(1)).getPostByIdAsync(5);
+    }
+
+    @Test
+    void testGetCommentsByPostIds() {
+        when(auditionIntegrationClient.getCommentsByPostIdAsync(anyInt()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new Comment())));
+
+        final BatchResult<List<Comment>> result = auditionService.getCommentsByPostIds(List.of(7, 8)).join();
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(0, result.getErrors().size());
+    }
+
+    @Test
+    void testBatchSizeIsBounded() {
+        final List<Integer> tooMany = IntStream.rangeClosed(1, 101).boxed().toList();
+
+        assertThrows(InvalidRequestException.class, () -> auditionService.getPostsByIds(tooMany));
+        assertThrows(InvalidRequestException.class, () -> auditionService.getPostsByIds(List.of()));
+        assertThrows(InvalidRequestException.class, () -> auditionService.getCommentsByPostIds(List.of(1, -2)));
+        verify(auditionIntegrationClient, never()).getPostByIdAsync(anyInt());
+    }
+
+    @Test
+    void testCommentsAreServedFromTheIndexOnceLoaded() {
+        final List<Comment> indexed = List.of(new Comment());
+        when(commentsIndex.get(9)).thenReturn(indexed);
+
+        assertEquals(indexed, auditionService.getCommentsByPostId(9));
+        assertEquals(indexed, auditionService.getCommentsByPostIds(List.of(9)).join().getItems().get(9));
+        verify(auditionIntegrationClient, never()).getCommentsByPostId(anyInt());
+        verify(auditionIntegrationClient, never()).getCommentsByPostIdAsync(anyInt());
+    }
 }
@@ -0,0 +1,66 @@
+package com.audition.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import com.audition.model.BatchError;
+import com.audition.model.BatchResult;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class BatchLoaderTest {
+
+    private static final String NOT_FOUND = "missing";
+
+    @Test
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    void testCollectsItemsAndErrorsInRequestOrder() {
+        final Map<Integer, CompletableFuture<String>> prepared = Map.of(
+            3, CompletableFuture.completedFuture("item3"),
+            1, CompletableFuture.completedFuture(null),
+            2, CompletableFuture.failedFuture(new SystemException("Upstream failed", 502)));
+
+        final BatchResult<String> result = BatchLoader.load(List.of(3, 1, 2, 4), 4, id -> {
+            final CompletableFuture<String> future = prepared.get(id);
+            if (future == null) {
+                throw new IllegalStateException("refused");
+            }
+            return future;
+        }, id -> NOT_FOUND).join();
+
+        assertEquals(List.of(3), List.copyOf(result.getItems().keySet()));
+        assertEquals(List.of(1, 2, 4), List.copyOf(result.getErrors().keySet()));
+        assertEquals(new BatchError(404, "Resource Not Found", NOT_FOUND), result.getErrors().get(1));
+        assertEquals(502, result.getErrors().get(2).getStatus());
+        assertEquals("Upstream failed", result.getErrors().get(2).getDetail());
+        assertEquals(500, result.getErrors().get(4).getStatus());
+    }
+
+    @Test
+    void testKeepsAtMostParallelismFetchesInFlight() {
+        final Map<Integer, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        final CompletableFuture<BatchResult<String>> result = BatchLoader.load(List.of(1, 2, 3, 4, 5), 2, id -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            pending.put(id, future);
+            return future.whenComplete((value, e) -> inFlight.decrementAndGet());
+        }, id -> NOT_FOUND);
+
+        assertEquals(2, pending.size());
+        for (int id = 1; id <= 5; id++) {
+            pending.get(id).complete("item" + id);
+        }
+
+        assertTrue(result.isDone());
+        assertEquals(5, result.join().getItems().size());
+        assertEquals(2, maxInFlight.get());
+    }
+}
@@ -0,0 +1,101 @@
+package com.audition.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.exception.InvalidRequestException;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.model.SearchPage;
+import com.audition.service.cache.CommentsIndex;
+import com.audition.service.cache.ReadThroughCache;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@SpringBootTest
+class SearchServiceTest {
+
+    @MockBean
+    private transient AuditionIntegrationClient auditionIntegrationClient;
+
+    @MockBean
+    private transient CommentsIndex commentsIndex;
+
+    @Autowired
+    private transient SearchService searchService;
+
+    @Autowired
+    private transient ReadThroughCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache.invalidateAll();
+        when(commentsIndex.all()).thenReturn(null);
+    }
+
+    @Test
+    void testSearchRanksPostsAndCommentsFetchedOnce() {
+        final AuditionPost post = new AuditionPost();
+        post.setId(1);
+        post.setTitle("needle");
+        final Comment comment = new Comment();
+        comment.setId(2);
+        comment.setPostId(1);
+        comment.setBody("a needle and a needle");
+        when(auditionIntegrationClient.getPosts()).thenReturn(List.of(post));
+        when(auditionIntegrationClient.getCommentsAsync())
+            .thenReturn(CompletableFuture.completedFuture(List.of(comment)));
+
+        final SearchPage page = searchOnceIndexed("Needle", 0, 1, 2);
+        assertEquals(1, page.getHits().size());
+        assertEquals(2, searchService.search("needle", 1, 1).getHits().get(0).getId());
+        verify(auditionIntegrationClient, times(1)).getCommentsAsync();
+    }
+
+    @Test
+    void testSearchUsesTheCommentsIndexOnceLoaded() {
+        final Comment comment = new Comment();
+        comment.setBody("indexed");
+        when(auditionIntegrationClient.getPosts()).thenReturn(List.of());
+        when(commentsIndex.all()).thenReturn(List.of(comment));
+
+        assertEquals(1, searchOnceIndexed("indexed", 0, 10, 1).getTotal());
+        verify(auditionIntegrationClient, never()).getCommentsAsync();
+    }
+
+    @Test
+    void testSearchRejectsBadRequests() {
+        assertThrows(InvalidRequestException.class, () -> searchService.search(" ", 0, 10));
+        assertThrows(InvalidRequestException.class, () -> searchService.search("a", -1, 10));
+        assertThrows(InvalidRequestException.class, () -> searchService.search("a", 0, 101));
+        assertThrows(InvalidRequestException.class, () -> searchService.search("a", 990, 20));
+        verify(auditionIntegrationClient, never()).getCommentsAsync();
+    }
+
+    /**
+     * Search until the index built from the current lists answers, since the index of an earlier test is served
+     * while it is rebuilt in the background.
+     */
+    private SearchPage searchOnceIndexed(final String query, final int offset, final int limit, final int total) {
+        return assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            SearchPage page = searchService.search(query, offset, limit);
+            while (page.getTotal() != total) {
+                Thread.sleep(10);
+                page = searchService.search(query, offset, limit);
+            }
+            return page;
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.audition.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.AuditionCacheProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.Comment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+class CommentsIndexTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private transient AuditionIntegrationClient client;
+    private transient TaskScheduler taskScheduler;
+    private transient MeterRegistry meterRegistry;
+    private transient AuditionCacheProperties cacheProperties;
+    private transient CommentsIndex index;
+    private transient Instant now;
+    private transient List<Object> events;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(AuditionIntegrationClient.class);
+        taskScheduler = mock(TaskScheduler.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cacheProperties = new AuditionCacheProperties();
+        setNow(START);
+        events = new ArrayList<>();
+        index = new CommentsIndex(client, cacheProperties, taskScheduler, meterRegistry, events::add,
+            new AuditionLogger(), () -> now);
+    }
+
+    @Test
+    void testLookupsAreServedFromTheLoadedIndex() {
+        when(client.getCommentsAsync()).thenReturn(CompletableFuture.completedFuture(
+            List.of(comment(3, 1), comment(1, 2), comment(3, 3), comment(2, 4))));
+
+        assertNull(index.get(1));
+        index.refresh().join();
+
+        assertEquals(List.of(1, 3), index.get(3).stream().map(Comment::getId).toList());
+        assertEquals(2, index.get(1).get(0).getId());
+        assertSame(index.get(3), index.get(3));
+        assertEquals(List.of(), index.get(7));
+        assertEquals(4.0, meterRegistry.get("audition.comments.index.size").gauge().value());
+    }
+
+    @Test
+    void testAllCommentsAreServedFromTheLoadedIndex() {
+        when(client.getCommentsAsync()).thenReturn(CompletableFuture.completedFuture(
+            List.of(comment(3, 1), comment(1, 2))));
+
+        assertNull(index.all());
+        index.refresh().join();
+
+        assertEquals(List.of(2, 1), index.all().stream().map(Comment::getId).toList());
+        assertSame(index.all(), index.all());
+        assertEquals(1, events.size());
+        assertSame(index.all(), ((CommentsIndex.Refreshed) events.get(0)).comments());
+    }
+
+    @Test
+    void testFailedRefreshKeepsThePreviousIndexUntilItIsTooOld() {
+        when(client.getCommentsAsync())
+            .thenReturn(CompletableFuture.completedFuture(List.of(comment(1, 1))))
+            .thenReturn(CompletableFuture.failedFuture(new SystemException("Upstream failed", 502)));
+        index.refresh().join();
+
+        setNow(START.plus(Duration.ofMinutes(10)));
+        index.refresh().join();
+        assertEquals(1, index.get(1).size());
+        assertEquals(1, events.size());
+
+        setNow(START.plus(Duration.ofMinutes(31)));
+        assertNull(index.get(1));
+        assertEquals(1.0, meterRegistry.get("audition.comments.index.refreshes").tag("result", "failure")
+            .counter().count());
+    }
+
+    @Test
+    void testRefreshIsScheduledOnlyWhenEnabled() {
+        index.scheduleRefresh();
+        verify(taskScheduler, never()).scheduleWithFixedDelay(any(Runnable.class), any(Duration.class));
+
+        cacheProperties.getCommentsIndex().setEnabled(true);
+        index.scheduleRefresh();
+        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(Duration.ofMinutes(5)));
+    }
+
+    private void setNow(final Instant instant) {
+        now = instant;
+    }
+
+    private static Comment comment(final int postId, final int id) {
+        final Comment comment = new Comment();
+        comment.setPostId(postId);
+        comment.setId(id);
+        return comment;
+    }
+}
@@ -0,0 +1,132 @@
+package com.audition.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.AuditionCacheProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+class PostsSnapshotTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final String AGE = "audition.posts.snapshot.age";
+
+    private transient AuditionIntegrationClient client;
+    private transient TaskScheduler taskScheduler;
+    private transient MeterRegistry meterRegistry;
+    private transient PostsSnapshot snapshot;
+    private transient Instant now;
+    private transient List<Object> events;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(AuditionIntegrationClient.class);
+        taskScheduler = mock(TaskScheduler.class);
+        meterRegistry = new SimpleMeterRegistry();
+        events = new ArrayList<>();
+        setNow(START);
+        snapshot = new PostsSnapshot(client, new AuditionCacheProperties(), taskScheduler, meterRegistry,
+            events::add, new AuditionLogger(), () -> now);
+    }
+
+    @Test
+    void testFirstReadLoadsAndLaterReadsShareTheSnapshot() {
+        when(client.getPosts()).thenReturn(List.of(new AuditionPost()));
+
+        final List<AuditionPost> first = snapshot.get();
+        setNow(START.plusSeconds(5));
+
+        assertSame(first, snapshot.get());
+        verify(client, times(1)).getPosts();
+        assertEquals(5.0, meterRegistry.get(AGE).gauge().value());
+    }
+
+    @Test
+    void testFailedRefreshKeepsServingLastSnapshot() {
+        final List<AuditionPost> posts = List.of(new AuditionPost());
+        when(client.getPosts()).thenReturn(posts).thenThrow(new SystemException("down"));
+        snapshot.get();
+
+        final ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        snapshot.scheduleRefresh();
+        verify(taskScheduler).scheduleWithFixedDelay(refresh.capture(), eq(Duration.ofSeconds(30)));
+        refresh.getValue().run();
+
+        assertEquals(posts, snapshot.get());
+        assertEquals(1.0, meterRegistry.get("audition.posts.snapshot.refreshes").tag("result", "failure")
+            .counter().count());
+    }
+
+    @Test
+    void testOverdueSnapshotIsRevalidatedInBackground() {
+        final List<AuditionPost> posts = List.of(new AuditionPost());
+        when(client.getPosts()).thenReturn(posts);
+        snapshot.get();
+        setNow(START.plusSeconds(60));
+
+        assertEquals(posts, snapshot.get());
+        assertEquals(posts, snapshot.get());
+
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        verify(client, times(1)).getPosts();
+    }
+
+    @Test
+    void testSnapshotPastStalenessLimitIsNotServed() {
+        when(client.getPosts()).thenReturn(List.of(new AuditionPost())).thenThrow(new SystemException("down"));
+        snapshot.get();
+        setNow(START.plus(Duration.ofMinutes(11)));
+
+        assertThrows(SystemException.class, snapshot::get);
+    }
+
+    @Test
+    void testUnchangedUpstreamListKeepsThePostsInstance() {
+        final List<AuditionPost> unchanged = new ArrayList<>(List.of(new AuditionPost()));
+        when(client.getPosts()).thenReturn(unchanged).thenReturn(unchanged)
+            .thenReturn(new ArrayList<>(unchanged));
+
+        final List<AuditionPost> first = snapshot.refresh().posts();
+
+        assertSame(first, snapshot.refresh().posts());
+        final List<AuditionPost> third = snapshot.refresh().posts();
+        assertNotSame(first, third);
+        assertEquals(List.of(new PostsSnapshot.Refreshed(first), new PostsSnapshot.Refreshed(third)), events);
+    }
+
+    @Test
+    void testDisabledSnapshotIsNotScheduled() {
+        final AuditionCacheProperties properties = new AuditionCacheProperties();
+        properties.getPostsSnapshot().setEnabled(false);
+        new PostsSnapshot(client, properties, taskScheduler, new SimpleMeterRegistry(), events::add,
+            new AuditionLogger()).scheduleRefresh();
+
+        verify(taskScheduler, never()).scheduleWithFixedDelay(any(Runnable.class), any(Duration.class));
+    }
+
+    private void setNow(final Instant instant) {
+        now = instant;
+    }
+}
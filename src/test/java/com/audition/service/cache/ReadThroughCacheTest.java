@@ -0,0 +1,165 @@
+package com.audition.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("PMD.TooManyMethods")
+class ReadThroughCacheTest {
+
+    private static final CacheRegion<String> REGION = new CacheRegion<>("test", Duration.ofSeconds(10),
+        value -> value == null ? 1 : value.length());
+    private static final String GETS = "audition.cache.gets";
+    private static final String RESULT = "result";
+    private static final String VALUE = "value";
+
+    private final transient AtomicLong now = new AtomicLong();
+    private final transient AtomicInteger loads = new AtomicInteger();
+    private transient MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testHitAfterMiss() {
+        final ReadThroughCache cache = cache(true, 1000, 0);
+
+        assertEquals(VALUE, cache.get(REGION, 1, this::load));
+        assertEquals(VALUE, cache.get(REGION, 1, this::load));
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get(GETS).tag(RESULT, "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get(GETS).tag(RESULT, "hit").counter().count());
+    }
+
+    @Test
+    void testEntryExpiresAfterTtl() {
+        final ReadThroughCache cache = cache(true, 1000, 0);
+        cache.get(REGION, 1, this::load);
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        cache.get(REGION, 1, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testNullValuesAreCached() {
+        final ReadThroughCache cache = cache(true, 1000, 0);
+
+        assertNull(cache.get(REGION, 1, () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.get(REGION, 1, this::load));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        final ReadThroughCache cache = cache(true, 1000, 0);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(REGION, 1, () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+        assertEquals(VALUE, cache.get(REGION, 1, this::load));
+    }
+
+    @Test
+    void testAsyncLoadIsCachedOnceCompleted() {
+        final ReadThroughCache cache = cache(true, 1000, 0);
+        final CompletableFuture<String> pending = new CompletableFuture<>();
+
+        final CompletableFuture<String> first = cache.getAsync(REGION, 1, () -> pending);
+        assertNull(cache.getIfPresent(REGION, 1));
+        pending.complete(VALUE);
+
+        assertEquals(VALUE, first.join());
+        assertEquals(VALUE, cache.getAsync(REGION, 1, () -> CompletableFuture.failedFuture(
+            new IllegalStateException("not expected"))).join());
+        assertEquals(1.0, meterRegistry.get(GETS).tag(RESULT, "hit").counter().count());
+    }
+
+    @Test
+    void testFailedAsyncLoadIsNotCached() {
+        final ReadThroughCache cache = cache(true, 1000, 0);
+
+        cache.getAsync(REGION, 1, () -> CompletableFuture.<String>failedFuture(new IllegalStateException("down")));
+
+        assertEquals(VALUE, cache.getAsync(REGION, 1, () -> CompletableFuture.completedFuture(load())).join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testEvictsByWeight() {
+        final ReadThroughCache cache = cache(true, 10, 0);
+
+        cache.get(REGION, 1, this::load);
+        cache.get(REGION, 2, this::load);
+        cache.get(REGION, 3, this::load);
+
+        assertEquals(2.0, meterRegistry.get("audition.cache.size").gauge().value());
+        assertEquals(10.0, meterRegistry.get("audition.cache.weight").gauge().value());
+        assertEquals(1.0, meterRegistry.get("audition.cache.evictions").tag("cause", "SIZE").counter().count());
+    }
+
+    @Test
+    void testSlowEntryIsRefreshedBeforeExpiry() {
+        final ReadThroughCache cache = cache(true, 1000, 1_000_000);
+        cache.get(REGION, 1, this::slowLoad);
+
+        now.addAndGet(Duration.ofSeconds(8).toNanos());
+        cache.get(REGION, 1, this::slowLoad);
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get(GETS).tag(RESULT, "early_refresh").counter().count());
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        final ReadThroughCache cache = cache(false, 1000, 0);
+
+        cache.get(REGION, 1, this::load);
+        cache.get(REGION, 1, this::load);
+
+        assertEquals(2, loads.get());
+        assertNull(cache.getIfPresent(REGION, 1));
+    }
+
+    @Test
+    void testPutAndInvalidateAll() {
+        final ReadThroughCache cache = cache(true, 1000, 0);
+
+        cache.put(REGION, 1, VALUE);
+        assertEquals(VALUE, cache.getIfPresent(REGION, 1));
+
+        cache.invalidateAll();
+        assertNull(cache.getIfPresent(REGION, 1));
+    }
+
+    private ReadThroughCache cache(final boolean enabled, final long maximumWeight, final double beta) {
+        return new ReadThroughCache(enabled, maximumWeight, beta, now::get, meterRegistry);
+    }
+
+    private String load() {
+        loads.incrementAndGet();
+        return VALUE;
+    }
+
+    private String slowLoad() {
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        return load();
+    }
+}
@@ -0,0 +1,97 @@
+package com.audition.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.model.SearchHit;
+import com.audition.model.SearchPage;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class Bm25IndexTest {
+
+    private static final String POST_TYPE = "post";
+
+    private final transient List<AuditionPost> posts = List.of(
+        post(1, "Quick brown fox", "The fox jumps over the lazy dog"),
+        post(2, "Lazy afternoon", "Nothing happens"),
+        post(3, "Fox, fox, FOX!", "A post about foxes"));
+    private final transient List<Comment> comments = List.of(
+        comment(2, 10, "About the dog", "Eliseo@Gardner.biz", "The dog was lazy too"));
+
+    @Test
+    void testRanksByTermFrequencyAndRarity() {
+        final SearchPage page = Bm25Index.build(posts, comments).search("fox", 0, 10);
+
+        assertEquals(2, page.getTotal());
+        assertEquals(List.of(3, 1), page.getHits().stream().map(SearchHit::getId).toList());
+        assertTrue(page.getHits().get(0).getScore() > page.getHits().get(1).getScore());
+        assertEquals(POST_TYPE, page.getHits().get(0).getType());
+        assertSame(posts.get(2), page.getHits().get(0).getPost());
+    }
+
+    @Test
+    void testMatchesAnyTermAcrossPostsAndComments() {
+        final SearchPage page = Bm25Index.build(posts, comments).search("DOG gardner", 0, 10);
+
+        assertEquals(2, page.getTotal());
+        final SearchHit best = page.getHits().get(0);
+        assertEquals("comment", best.getType());
+        assertEquals(10, best.getId());
+        assertEquals(2, best.getPostId());
+        assertSame(comments.get(0), best.getComment());
+        assertEquals(1, page.getHits().get(1).getId());
+    }
+
+    @Test
+    void testPagesThroughTheRanking() {
+        final Bm25Index index = Bm25Index.build(posts, comments);
+        final List<SearchHit> all = index.search("lazy fox dog", 0, 10).getHits();
+
+        final SearchPage second = index.search("lazy fox dog", 1, 2);
+        assertEquals(4, second.getTotal());
+        assertEquals(all.subList(1, 3), second.getHits());
+        assertEquals(List.of(), index.search("lazy fox dog", 10, 5).getHits());
+    }
+
+    @Test
+    void testUnknownTermsMatchNothing() {
+        final Bm25Index index = Bm25Index.build(posts, comments);
+
+        assertEquals(0, index.search("zebra", 0, 10).getTotal());
+        assertEquals(0, index.search("!!!", 0, 10).getTotal());
+        assertEquals(0, Bm25Index.build(List.of(), List.of()).search("fox", 0, 10).getTotal());
+    }
+
+    @Test
+    void testIsBuiltFromTheSameInstances() {
+        final Bm25Index index = Bm25Index.build(posts, comments);
+
+        assertTrue(index.isBuiltFrom(posts, comments));
+        assertFalse(index.isBuiltFrom(new ArrayList<>(posts), comments));
+    }
+
+    private static AuditionPost post(final int id, final String title, final String body) {
+        final AuditionPost post = new AuditionPost();
+        post.setId(id);
+        post.setTitle(title);
+        post.setBody(body);
+        return post;
+    }
+
+    private static Comment comment(final int postId, final int id, final String name, final String email,
+        final String body) {
+        final Comment comment = new Comment();
+        comment.setPostId(postId);
+        comment.setId(id);
+        comment.setName(name);
+        comment.setEmail(email);
+        comment.setBody(body);
+        return comment;
+    }
+}
@@ -0,0 +1,99 @@
+package com.audition.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.audition.model.AuditionPost;
+import com.audition.service.cache.PostsSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+class PostsTextIndexTest {
+
+    private static final String REBUILD_TIMER = "audition.posts.text.index.rebuilds";
+    private static final String SECOND = "second";
+
+    private transient MeterRegistry meterRegistry;
+    private transient TaskScheduler taskScheduler;
+    private transient PostsTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskScheduler = mock(TaskScheduler.class);
+        index = new PostsTextIndex(meterRegistry, taskScheduler);
+    }
+
+    @Test
+    void testReadersScanUntilTheIndexIsBuiltInTheBackground() {
+        final List<AuditionPost> first = List.of(post("first title"));
+
+        assertEquals(first, index.filter(first, "title"));
+        index.onSnapshotRefreshed(new PostsSnapshot.Refreshed(first));
+        assertEquals(0, rebuilds());
+
+        runScheduled(1);
+        assertEquals(first, index.filter(first, "title"));
+        assertEquals(List.of(), index.filter(first, SECOND));
+        assertEquals(1, rebuilds());
+    }
+
+    @Test
+    void testIndexIsRebuiltOnlyForAnAnnouncedSnapshot() {
+        final List<AuditionPost> first = List.of(post("first title"));
+        final List<AuditionPost> second = List.of(post("second title"));
+        index.onSnapshotRefreshed(new PostsSnapshot.Refreshed(first));
+        runScheduled(1);
+
+        assertEquals(second, index.filter(second, SECOND));
+        assertEquals(1, rebuilds());
+
+        index.onSnapshotRefreshed(new PostsSnapshot.Refreshed(second));
+        runScheduled(2);
+        assertEquals(second, index.filter(second, SECOND));
+        assertEquals(2, rebuilds());
+    }
+
+    @Test
+    void testSnapshotsAnnouncedDuringARebuildShareOneRun() {
+        final List<AuditionPost> first = List.of(post("first title"));
+        final List<AuditionPost> second = List.of(post("second title"));
+
+        index.onSnapshotRefreshed(new PostsSnapshot.Refreshed(first));
+        index.onSnapshotRefreshed(new PostsSnapshot.Refreshed(second));
+        runScheduled(1);
+
+        assertEquals(1, rebuilds());
+        assertEquals(second, index.filter(second, SECOND));
+        assertEquals(first, index.filter(first, "first"));
+    }
+
+    /**
+     * Run the last rebuild handed to the scheduler, checking how many were handed over so far.
+     */
+    private void runScheduled(final int scheduled) {
+        final ArgumentCaptor<Runnable> rebuild = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(scheduled)).schedule(rebuild.capture(), any(Instant.class));
+        rebuild.getValue().run();
+    }
+
+    private long rebuilds() {
+        return meterRegistry.get(REBUILD_TIMER).timer().count();
+    }
+
+    private static AuditionPost post(final String title) {
+        final AuditionPost post = new AuditionPost();
+        post.setTitle(title);
+        post.setBody("");
+        return post;
+    }
+}
@@ -0,0 +1,120 @@
+package com.audition.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.service.cache.CommentsIndex;
+import com.audition.service.cache.PostsSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+class SearchIndexTest {
+
+    private static final String REBUILD_TIMER = "audition.search.index.rebuilds";
+    private static final String TITLE = "title";
+    private static final String SECOND = "second";
+    private static final String FIRST_TITLE = "first title";
+
+    private transient MeterRegistry meterRegistry;
+    private transient TaskScheduler taskScheduler;
+    private transient SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskScheduler = mock(TaskScheduler.class);
+        index = new SearchIndex(meterRegistry, taskScheduler);
+    }
+
+    @Test
+    void testOnlyTheFirstSearchBuildsTheIndex() {
+        final List<AuditionPost> posts = List.of(post(FIRST_TITLE));
+        final List<Comment> comments = List.of();
+
+        assertEquals(1, index.search(posts, comments, TITLE, 0, 10).getTotal());
+        assertEquals(0, index.search(posts, comments, SECOND, 0, 10).getTotal());
+        assertEquals(1, rebuilds());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void testSearchKeepsTheLastIndexUntilTheRebuildIsPublished() {
+        final List<Comment> comments = List.of();
+        index.search(List.of(post(FIRST_TITLE)), comments, TITLE, 0, 10);
+        final List<AuditionPost> second = List.of(post("second title"));
+
+        assertEquals(0, index.search(second, comments, SECOND, 0, 10).getTotal());
+        assertEquals(1, rebuilds());
+
+        runScheduled(1);
+        assertEquals(1, index.search(second, comments, SECOND, 0, 10).getTotal());
+        assertEquals(2, rebuilds());
+    }
+
+    @Test
+    void testRefreshEventsRebuildOnceBothListsAreKnown() {
+        final List<AuditionPost> posts = List.of(post(FIRST_TITLE));
+        final List<Comment> comments = List.of(comment("second comment"));
+
+        index.onPostsRefreshed(new PostsSnapshot.Refreshed(posts));
+        runScheduled(1);
+        assertEquals(0, rebuilds());
+
+        index.onCommentsRefreshed(new CommentsIndex.Refreshed(comments));
+        runScheduled(2);
+        assertEquals(1, rebuilds());
+        assertEquals(1, index.search(posts, comments, SECOND, 0, 10).getTotal());
+        assertEquals(1, rebuilds());
+    }
+
+    @Test
+    void testRefreshesBeforeARebuildRunsShareIt() {
+        final List<Comment> comments = List.of();
+        index.search(List.of(post(FIRST_TITLE)), comments, TITLE, 0, 10);
+        final List<AuditionPost> second = List.of(post("second title"));
+
+        index.onCommentsRefreshed(new CommentsIndex.Refreshed(comments));
+        index.onPostsRefreshed(new PostsSnapshot.Refreshed(second));
+        runScheduled(1);
+
+        assertEquals(2, rebuilds());
+        assertEquals(1, index.search(second, comments, SECOND, 0, 10).getTotal());
+    }
+
+    /**
+     * Run the last rebuild handed to the scheduler, checking how many were handed over so far.
+     */
+    private void runScheduled(final int scheduled) {
+        final ArgumentCaptor<Runnable> rebuild = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(scheduled)).schedule(rebuild.capture(), any(Instant.class));
+        rebuild.getValue().run();
+    }
+
+    private long rebuilds() {
+        return meterRegistry.get(REBUILD_TIMER).timer().count();
+    }
+
+    private static AuditionPost post(final String title) {
+        final AuditionPost post = new AuditionPost();
+        post.setTitle(title);
+        return post;
+    }
+
+    private static Comment comment(final String body) {
+        final Comment comment = new Comment();
+        comment.setBody(body);
+        return comment;
+    }
+}
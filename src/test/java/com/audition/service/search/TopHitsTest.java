@@ -0,0 +1,44 @@
+package com.audition.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TopHitsTest {
+
+    @Test
+    void testKeepsTheBestInRankOrder() {
+        final Random random = new Random(7);
+        final List<double[]> offered = new ArrayList<>();
+        final TopHits top = new TopHits(25);
+        for (int doc = 0; doc < 1000; doc++) {
+            final double score = random.nextInt(100);
+            offered.add(new double[] {doc, score});
+            top.offer(doc, score);
+        }
+        offered.sort(Comparator.<double[]>comparingDouble(entry -> -entry[1]).thenComparingDouble(entry -> entry[0]));
+        top.sort();
+
+        assertEquals(25, top.size());
+        for (int rank = 0; rank < top.size(); rank++) {
+            assertEquals((int) offered.get(rank)[0], top.doc(rank));
+            assertEquals(offered.get(rank)[1], top.score(rank));
+        }
+    }
+
+    @Test
+    void testHoldsFewerThanCapacity() {
+        final TopHits top = new TopHits(10);
+        top.offer(4, 1.0);
+        top.offer(2, 3.0);
+        top.sort();
+
+        assertEquals(2, top.size());
+        assertEquals(2, top.doc(0));
+        assertEquals(4, top.doc(1));
+    }
+}
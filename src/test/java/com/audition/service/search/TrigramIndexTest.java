@@ -0,0 +1,91 @@
+package com.audition.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TrigramIndexTest {
+
+    private static final String ALPHABET = "abcAB c";
+    private static final String POSTING_LISTS = "postingLists";
+
+    @Test
+    void testMatchesTheLinearScan() {
+        final Random random = new Random(42);
+        final List<AuditionPost> posts = new ArrayList<>();
+        for (int id = 1; id <= 200; id++) {
+            posts.add(post(id, text(random, 20), text(random, 80)));
+        }
+        final TrigramIndex index = TrigramIndex.build(posts, null);
+
+        for (int i = 0; i < 500; i++) {
+            final String query = text(random, 1 + random.nextInt(6));
+            assertEquals(TrigramIndex.scan(posts, query), index.search(query), query);
+        }
+    }
+
+    @Test
+    void testIsCaseSensitiveAndDoesNotMatchAcrossTitleAndBody() {
+        final List<AuditionPost> posts = List.of(post(1, "Hello", "world"), post(2, "hello there", "x"));
+        final TrigramIndex index = TrigramIndex.build(posts, null);
+
+        assertEquals(List.of(posts.get(0)), index.search("Hel"));
+        assertEquals(List.of(posts.get(1)), index.search("hello"));
+        assertEquals(List.of(), index.search("lowor"));
+        assertEquals(List.of(), index.search("absent"));
+        assertEquals(posts, index.search("l"));
+    }
+
+    @Test
+    void testRebuildSeesChangedAndAddedPosts() {
+        final List<AuditionPost> before = List.of(post(1, "alpha", "one"), post(2, "beta", "two"));
+        final TrigramIndex first = TrigramIndex.build(before, null);
+        final List<AuditionPost> after = List.of(post(1, "alpha", "one"), post(2, "gamma", "two"),
+            post(3, "beta", "three"));
+
+        final TrigramIndex second = TrigramIndex.build(after, first);
+
+        assertTrue(second.isBuiltFrom(after));
+        assertEquals(List.of(after.get(0)), second.search("alp"));
+        assertEquals(List.of(after.get(1)), second.search("gamm"));
+        assertEquals(List.of(after.get(2)), second.search("beta"));
+    }
+
+    @Test
+    void testUnchangedPostsReuseThePostingLists() {
+        final TrigramIndex first = TrigramIndex.build(List.of(post(1, "red", "sun"), post(2, "blue", "sea")), null);
+
+        final TrigramIndex same = TrigramIndex.build(List.of(post(1, "red", "sun"), post(2, "blue", "sea")), first);
+        final TrigramIndex changed = TrigramIndex.build(List.of(post(1, "red", "sun"), post(2, "green", "sea")),
+            first);
+
+        assertSame(ReflectionTestUtils.getField(first, POSTING_LISTS), ReflectionTestUtils.getField(same, POSTING_LISTS));
+        assertNotSame(ReflectionTestUtils.getField(first, POSTING_LISTS),
+            ReflectionTestUtils.getField(changed, POSTING_LISTS));
+        assertEquals(List.of(), changed.search("blue"));
+    }
+
+    private static String text(final Random random, final int length) {
+        final StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    private static AuditionPost post(final int id, final String title, final String body) {
+        final AuditionPost post = new AuditionPost();
+        post.setId(id);
+        post.setTitle(title);
+        post.setBody(body);
+        return post;
+    }
+}
@@ -0,0 +1,85 @@
+package com.audition.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import com.audition.common.exception.InvalidRequestException;
+import com.audition.model.AuditionPost;
+import com.audition.service.AuditionService;
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuditionControllerBadRequestTest {
+
+    @SpyBean
+    private transient AuditionService auditionService;
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        final AuditionPost post = new AuditionPost();
+        post.setId(1);
+        Mockito.doReturn(List.of(post)).when(auditionService).getPosts();
+    }
+
+    @Test
+    void testUnknownFieldIsABadRequest() throws Exception {
+        assertBadRequest(mockMvc.perform(get("/posts?fields=password")).andReturn().getResponse());
+    }
+
+    @Test
+    void testMalformedCursorIsABadRequest() throws Exception {
+        assertBadRequest(mockMvc.perform(get("/posts?cursor=%25%25")).andReturn().getResponse());
+    }
+
+    @Test
+    void testOutOfRangeLimitIsABadRequest() throws Exception {
+        assertBadRequest(mockMvc.perform(get("/posts?limit=0")).andReturn().getResponse());
+        assertBadRequest(mockMvc.perform(get("/posts?limit=1000")).andReturn().getResponse());
+    }
+
+    @Test
+    void testBatchOverTheMaximumSizeIsABadRequest() throws Exception {
+        final String ids = IntStream.rangeClosed(1, 101).mapToObj(Integer::toString).collect(Collectors.joining(","));
+
+        assertBadRequest(mockMvc.perform(get("/posts").param("ids", ids)).andReturn().getResponse());
+        assertBadRequest(mockMvc.perform(get("/comments").param("postIds", ids)).andReturn().getResponse());
+    }
+
+    @Test
+    void testMalformedBatchIdIsABadRequest() throws Exception {
+        assertBadRequest(mockMvc.perform(get("/posts?ids=1,x")).andReturn().getResponse());
+        assertBadRequest(mockMvc.perform(get("/comments?postIds=1,-2")).andReturn().getResponse());
+    }
+
+    @Test
+    void testBlankOrOutOfRangeSearchIsABadRequest() throws Exception {
+        assertBadRequest(mockMvc.perform(get("/search").param("q", " ")).andReturn().getResponse());
+        assertBadRequest(mockMvc.perform(get("/search?q=a&offset=-1")).andReturn().getResponse());
+        assertBadRequest(mockMvc.perform(get("/search?q=a&limit=101")).andReturn().getResponse());
+        assertBadRequest(mockMvc.perform(get("/search?q=a&offset=990&limit=20")).andReturn().getResponse());
+    }
+
+    private static void assertBadRequest(final MockHttpServletResponse response)
+        throws UnsupportedEncodingException {
+        assertEquals(400, response.getStatus());
+        assertTrue(response.getContentAsString().contains(InvalidRequestException.TITLE),
+            response.getContentAsString());
+    }
+}
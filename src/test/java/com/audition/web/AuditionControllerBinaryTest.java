@@ -0,0 +1,96 @@
+package com.audition.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import com.audition.configuration.BinaryFormats;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.service.AuditionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuditionControllerBinaryTest {
+
+    private static final String TITLE = "a title long enough to be worth encoding";
+
+    @MockBean
+    private transient AuditionService auditionService;
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        final AuditionPost first = new AuditionPost();
+        first.setId(1);
+        first.setTitle(TITLE);
+        final AuditionPost second = new AuditionPost();
+        second.setId(2);
+        second.setTitle(TITLE);
+        Mockito.when(auditionService.getPosts()).thenReturn(List.of(first, second));
+        Mockito.when(auditionService.getPostById(1)).thenReturn(first);
+    }
+
+    @Test
+    void testPostsAreEncodedAsCborWhenAccepted() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/posts?limit=1&fields=id,title")
+            .accept(MediaType.APPLICATION_CBOR)).andReturn();
+
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, result.getResponse().getContentType());
+        assertNotNull(result.getResponse().getHeader(PostsPaging.NEXT_CURSOR_HEADER));
+        assertNotNull(result.getResponse().getHeader(HttpHeaders.ETAG));
+        final JsonNode posts = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("[{\"id\":1,\"title\":\"" + TITLE + "\"}]", posts.toString());
+    }
+
+    @Test
+    void testPostIsEncodedAsSmileWhenAccepted() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/posts/1")
+            .accept(BinaryFormats.APPLICATION_SMILE_VALUE)).andReturn();
+
+        assertEquals(BinaryFormats.APPLICATION_SMILE_VALUE, result.getResponse().getContentType());
+        final JsonNode post = new SmileMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(TITLE, post.get("title").asText());
+    }
+
+    @Test
+    void testCommentsAreEncodedAsCborWhenAccepted() throws Exception {
+        final Comment comment = new Comment();
+        comment.setId(5);
+        Mockito.when(auditionService.getCommentsByPostId(1)).thenReturn(List.of(comment));
+
+        final MvcResult result = mockMvc.perform(get("/posts/1/comments").accept(MediaType.APPLICATION_CBOR))
+            .andReturn();
+
+        assertEquals("[{\"postId\":0,\"id\":5}]",
+            new CBORMapper().readTree(result.getResponse().getContentAsByteArray()).toString());
+    }
+
+    @Test
+    void testBinaryPayloadIsSmallerThanJson() throws Exception {
+        final int json = mockMvc.perform(get("/posts").accept(MediaType.APPLICATION_JSON)).andReturn()
+            .getResponse().getContentAsByteArray().length;
+        final int smile = mockMvc.perform(get("/posts").accept(BinaryFormats.APPLICATION_SMILE_VALUE))
+            .andReturn().getResponse().getContentAsByteArray().length;
+
+        assertTrue(smile < json, smile + " bytes of Smile against " + json + " of JSON");
+    }
+}
@@ -0,0 +1,71 @@
+package com.audition.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.service.AuditionService;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuditionControllerNdjsonTest {
+
+    @MockBean
+    private transient AuditionService auditionService;
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @Test
+    void testPostsAreStreamedAsNdjsonWhenAccepted() throws Exception {
+        final AuditionPost first = new AuditionPost();
+        first.setId(1);
+        final AuditionPost second = new AuditionPost();
+        second.setId(2);
+        Mockito.when(auditionService.getPosts()).thenReturn(List.of(first, second));
+
+        final MvcResult started = mockMvc.perform(get("/posts?limit=1&fields=id")
+            .accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        assertTrue(started.getRequest().isAsyncStarted());
+        assertNotNull(started.getResponse().getHeader("X-Next-Cursor"));
+        final MvcResult streamed = mockMvc.perform(asyncDispatch(started)).andReturn();
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, streamed.getResponse().getContentType());
+        assertEquals("{\"id\":1}\n", streamed.getResponse().getContentAsString());
+    }
+
+    @Test
+    void testJsonStaysTheDefault() throws Exception {
+        Mockito.when(auditionService.getPosts()).thenReturn(List.of(new AuditionPost()));
+
+        final MvcResult result = mockMvc.perform(get("/posts").accept(MediaType.ALL)).andReturn();
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(
+            MediaType.parseMediaType(result.getResponse().getContentType())));
+        assertEquals("[{\"userId\":0,\"id\":0}]", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void testCommentsAreStreamedAsNdjsonWhenAccepted() throws Exception {
+        final Comment comment = new Comment();
+        comment.setId(5);
+        Mockito.when(auditionService.getCommentsByPostId(1)).thenReturn(List.of(comment, comment));
+
+        final MvcResult started = mockMvc.perform(get("/posts/1/comments").accept(MediaType.APPLICATION_NDJSON))
+            .andReturn();
+        assertEquals("{\"postId\":0,\"id\":5}\n{\"postId\":0,\"id\":5}\n",
+            mockMvc.perform(asyncDispatch(started)).andReturn().getResponse().getContentAsString());
+    }
+}
@@ -2,30 +2,51 @@ package com.audition.web;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.audition.common.exception.InvalidRequestException;
 import com.audition.model.AuditionPost;
+import com.audition.model.BatchResult;
 import com.audition.model.Comment;
+import com.audition.model.SearchPage;
 import com.audition.service.AuditionService;
+import com.audition.service.SearchService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
 @SpringBootTest
+@SuppressWarnings("PMD.TooManyMethods")
 class AuditionControllerTest {
 
     @MockBean
     private transient AuditionService auditionService;
 
+    @MockBean
+    private transient SearchService searchService;
+
     @Autowired
     private transient AuditionController auditionController;
 
+    @Autowired
+    private transient ObjectMapper objectMapper;
+
     @BeforeEach
     void setUp() {
         final List<AuditionPost> mockPosts = List.of(new AuditionPost());
@@ -34,11 +55,60 @@ class AuditionControllerTest {
 
     @Test
     void testGetPosts() {
-        final List<AuditionPost> posts = auditionController.getPosts(null);
+        final List<AuditionPost> posts = postsOf(auditionController.getPosts(null, null, null, null, new HttpHeaders()));
         assertNotNull(posts);
         assertEquals(1, posts.size());
     }
 
+    @Test
+    void testGetPostsWithFilterString() {
+        final List<AuditionPost> filtered = List.of(new AuditionPost(), new AuditionPost());
+        Mockito.when(auditionService.filterPosts("needle")).thenReturn(filtered);
+
+        assertEquals(filtered, postsOf(auditionController.getPosts("needle", null, null, null, new HttpHeaders())));
+        assertEquals(1, postsOf(auditionController.getPosts("", null, null, null, new HttpHeaders())).size());
+    }
+
+    @Test
+    void testGetPostsPageByPage() {
+        final List<AuditionPost> all = List.of(post(1, "one"), post(2, "two"), post(3, "three"));
+        Mockito.when(auditionService.getPosts()).thenReturn(all);
+
+        final ResponseEntity<byte[]> first = auditionController.getPosts(null, 2, null, null, new HttpHeaders());
+        assertEquals(all.subList(0, 2), postsOf(first));
+        final String cursor = first.getHeaders().getFirst("X-Next-Cursor");
+        assertNotNull(cursor);
+
+        final ResponseEntity<byte[]> last = auditionController.getPosts(null, 2, cursor, null, new HttpHeaders());
+        assertEquals(all.subList(2, 3), postsOf(last));
+        assertNull(last.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    @Test
+    void testGetPostsWritesOnlyTheRequestedFields() {
+        Mockito.when(auditionService.getPosts()).thenReturn(List.of(post(1, "one")));
+
+        final byte[] body = auditionController.getPosts(null, null, null, "id, title", new HttpHeaders()).getBody();
+        assertNotNull(body);
+        assertEquals("[{\"id\":1,\"title\":\"one\"}]", new String(body, StandardCharsets.UTF_8));
+        assertThrows(InvalidRequestException.class,
+            () -> auditionController.getPosts(null, null, null, "secret", new HttpHeaders()));
+    }
+
+    @Test
+    void testGetPostsIsRevalidatedWithItsEtag() {
+        Mockito.when(auditionService.getPosts()).thenReturn(List.of(post(1, "one")));
+        final String etag = auditionController.getPosts(null, null, null, null, new HttpHeaders()).getHeaders()
+            .getETag();
+        assertNotNull(etag);
+
+        final HttpHeaders revalidation = new HttpHeaders();
+        revalidation.setIfNoneMatch(etag);
+        final ResponseEntity<byte[]> notModified = auditionController.getPosts(null, null, null, null, revalidation);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+    }
+
     @Test
     void testGetPost() {
         final AuditionPost mockPost = new AuditionPost();
@@ -54,6 +124,42 @@ class AuditionControllerTest {
         assertThrows(IllegalArgumentException.class, () -> auditionController.getPost("abc"));
     }
 
+    @Test
+    void testGetPostWithComments() {
+        final AuditionPost mockPost = new AuditionPost();
+        mockPost.setComments(List.of(new Comment()));
+        Mockito.when(auditionService.getPostWithCommentsByIdAsync(1))
+            .thenReturn(CompletableFuture.completedFuture(mockPost));
+
+        final AuditionPost post = auditionController.getPostWithComments("1").join();
+        assertEquals(1, post.getComments().size());
+    }
+
+    @Test
+    void testGetPostWithCommentsWithInvalidId() {
+        assertThrows(InvalidRequestException.class, () -> auditionController.getPostWithComments("abc"));
+    }
+
+    @Test
+    void testGetPostsByIds() {
+        final BatchResult<AuditionPost> batch = new BatchResult<>();
+        batch.getItems().put(1, new AuditionPost());
+        Mockito.when(auditionService.getPostsByIds(List.of(1, 2)))
+            .thenReturn(CompletableFuture.completedFuture(batch));
+
+        assertEquals(batch, auditionController.getPostsByIds(List.of("1", " 2")).join());
+        assertThrows(InvalidRequestException.class, () -> auditionController.getPostsByIds(List.of("1", "x")));
+    }
+
+    @Test
+    void testGetCommentsByPostIds() {
+        final BatchResult<List<Comment>> batch = new BatchResult<>();
+        Mockito.when(auditionService.getCommentsByPostIds(List.of(3)))
+            .thenReturn(CompletableFuture.completedFuture(batch));
+
+        assertEquals(batch, auditionController.getCommentsByPostIds(List.of("3")).join());
+    }
+
     @Test
     void testGetCommentsByPostId() {
         final List<Comment> mockComments = List.of(new Comment());
@@ -69,4 +175,29 @@ class AuditionControllerTest {
         assertThrows(IllegalArgumentException.class, () -> auditionController.getCommentsByPostId("-1"));
         assertThrows(IllegalArgumentException.class, () -> auditionController.getCommentsByPostId("abc"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearch() {
+        final SearchPage page = new SearchPage();
+        Mockito.when(searchService.search("fox", 0, 10)).thenReturn(page);
+
+        assertEquals(page, auditionController.search("fox", 0, 10));
+    }
+
+    private List<AuditionPost> postsOf(final ResponseEntity<byte[]> response) {
+        assertNotNull(response.getBody());
+        try {
+            return objectMapper.readValue(response.getBody(), new TypeReference<List<AuditionPost>>() { });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static AuditionPost post(final int id, final String title) {
+        final AuditionPost post = new AuditionPost();
+        post.setId(id);
+        post.setTitle(title);
+        post.setBody("body");
+        return post;
+    }
+}
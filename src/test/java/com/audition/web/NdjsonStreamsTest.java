@@ -0,0 +1,48 @@
+package com.audition.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class NdjsonStreamsTest {
+
+    private final transient ObjectMapper objectMapper = new ObjectMapper()
+        .setFilterProvider(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+
+    @Test
+    void testWritesOneElementPerLine() throws IOException {
+        final StreamingResponseBody body = NdjsonStreams.stream(objectMapper, List.of(post(1), post(2)),
+            new SimpleFilterProvider().addFilter(AuditionPost.FIELDS_FILTER,
+                SimpleBeanPropertyFilter.filterOutAllExcept(Set.of("id"))));
+
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", write(body));
+    }
+
+    @Test
+    void testWritesNothingForAnEmptyList() throws IOException {
+        assertEquals("", write(NdjsonStreams.stream(objectMapper, List.of(), null)));
+    }
+
+    private static String write(final StreamingResponseBody body) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static AuditionPost post(final int id) {
+        final AuditionPost post = new AuditionPost();
+        post.setId(id);
+        post.setTitle("title");
+        return post;
+    }
+}
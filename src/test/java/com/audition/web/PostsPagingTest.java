@@ -0,0 +1,61 @@
+package com.audition.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.common.exception.InvalidRequestException;
+import com.audition.configuration.AuditionPagingProperties;
+import com.audition.model.AuditionPost;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class PostsPagingTest {
+
+    private final transient AuditionPagingProperties properties = new AuditionPagingProperties();
+
+    @Test
+    void testPagesThroughEveryPostOnce() {
+        final List<AuditionPost> posts = IntStream.rangeClosed(1, 45).mapToObj(PostsPagingTest::post).toList();
+
+        final PostsPaging.Page first = PostsPaging.page(posts, null, null, properties);
+        assertEquals(posts.subList(0, 20), first.posts());
+        final PostsPaging.Page second = PostsPaging.page(posts, first.nextCursor(), null, properties);
+        assertEquals(posts.subList(20, 40), second.posts());
+        final PostsPaging.Page last = PostsPaging.page(posts, second.nextCursor(), null, properties);
+        assertEquals(posts.subList(40, 45), last.posts());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void testCursorSurvivesRemovedPosts() {
+        final List<AuditionPost> posts = IntStream.rangeClosed(1, 6).mapToObj(PostsPagingTest::post).toList();
+        final String cursor = PostsPaging.page(posts, null, 3, properties).nextCursor();
+
+        final List<AuditionPost> changed = List.of(posts.get(0), posts.get(4), posts.get(5));
+        assertEquals(List.of(posts.get(4), posts.get(5)), PostsPaging.page(changed, cursor, 3, properties).posts());
+    }
+
+    @Test
+    void testRejectsBadLimitsAndCursors() {
+        final List<AuditionPost> posts = List.of(post(1));
+
+        assertThrows(InvalidRequestException.class, () -> PostsPaging.page(posts, null, 0, properties));
+        assertThrows(InvalidRequestException.class, () -> PostsPaging.page(posts, null, 101, properties));
+        assertThrows(InvalidRequestException.class, () -> PostsPaging.page(posts, "%%%", 1, properties));
+        assertThrows(InvalidRequestException.class, () -> PostsPaging.page(posts, "MTI", 1, properties));
+        assertEquals(12, PostsPaging.decodeCursor(PostsPaging.encodeCursor(12)));
+    }
+
+    @Test
+    void testRejectsUnknownFields() {
+        assertThrows(InvalidRequestException.class, () -> PostsPaging.fields("id,password"));
+    }
+
+    private static AuditionPost post(final int id) {
+        final AuditionPost post = new AuditionPost();
+        post.setId(id);
+        return post;
+    }
+}
@@ -0,0 +1,128 @@
+package com.audition.web;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.audition.configuration.AuditionCacheProperties;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+class PostsResponseCacheTest {
+
+    private static final String KEY = PostsResponseCache.key("filter", null);
+
+    private transient MeterRegistry meterRegistry;
+    private transient PostsResponseCache cache;
+    private transient AtomicInteger renders;
+
+    @BeforeEach
+    void setUp() {
+        final ObjectMapper objectMapper = new ObjectMapper()
+            .setFilterProvider(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PostsResponseCache(objectMapper, new AuditionCacheProperties(), meterRegistry);
+        renders = new AtomicInteger();
+    }
+
+    @Test
+    void testServesTheSameBytesUntilThePostsChange() {
+        final List<AuditionPost> posts = posts(3);
+        final ResponseEntity<byte[]> first = cache.respond(posts, KEY, new HttpHeaders(), page(posts), null);
+        final ResponseEntity<byte[]> second = cache.respond(posts, KEY, new HttpHeaders(), page(posts), null);
+
+        assertEquals(1, renders.get());
+        assertArrayEquals(first.getBody(), second.getBody());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+
+        final List<AuditionPost> changed = posts(4);
+        final ResponseEntity<byte[]> third = cache.respond(changed, KEY, new HttpHeaders(), page(changed), null);
+        assertEquals(2, renders.get());
+        assertNotEquals(first.getHeaders().getETag(), third.getHeaders().getETag());
+        assertEquals(1.0, meterRegistry.get("audition.response.cache.gets").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testAnswersNotModifiedWithoutRendering() {
+        final List<AuditionPost> posts = posts(3);
+        final String etag = cache.respond(posts, KEY, new HttpHeaders(), page(posts), null).getHeaders().getETag();
+
+        final HttpHeaders request = new HttpHeaders();
+        request.setIfNoneMatch("W/" + etag);
+        final ResponseEntity<byte[]> response = cache.respond(posts, KEY, request, page(posts), null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void testServesTheGzipVariantWhenAccepted() throws IOException {
+        final List<AuditionPost> posts = posts(50);
+        final byte[] plain = cache.respond(posts, KEY, new HttpHeaders(), page(posts), null).getBody();
+
+        final HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8");
+        final ResponseEntity<byte[]> gzipped = cache.respond(posts, KEY, request, page(posts), null);
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+
+        request.set(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+        assertNull(cache.respond(posts, KEY, request, page(posts), null).getHeaders()
+            .getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testEachFormatIsRenderedAndCachedOnItsOwn() {
+        final List<AuditionPost> posts = posts(3);
+        final HttpHeaders request = new HttpHeaders();
+        request.setAccept(List.of(MediaType.APPLICATION_CBOR));
+        final ResponseEntity<byte[]> cbor = cache.respond(posts, KEY, request, page(posts), null);
+        final ResponseEntity<byte[]> json = cache.respond(posts, KEY, new HttpHeaders(), page(posts), null);
+
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+        assertEquals(MediaType.APPLICATION_JSON, json.getHeaders().getContentType());
+        assertNotEquals(cbor.getHeaders().getETag(), json.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), cbor.getHeaders().getVary());
+        assertEquals(2, renders.get());
+    }
+
+    private Supplier<PostsPaging.Page> page(final List<AuditionPost> posts) {
+        return () -> {
+            renders.incrementAndGet();
+            return new PostsPaging.Page(posts, null);
+        };
+    }
+
+    private static List<AuditionPost> posts(final int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(id -> {
+            final AuditionPost post = new AuditionPost();
+            post.setId(id);
+            post.setTitle("title of post " + id);
+            post.setBody("body of post " + id);
+            return post;
+        }).toList();
+    }
+}
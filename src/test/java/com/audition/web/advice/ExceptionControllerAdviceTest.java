@@ -1,6 +1,8 @@
 package com.audition.web.advice;
 
+import com.audition.common.exception.InvalidRequestException;
 import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
 import com.audition.common.logging.AuditionLogger;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -8,8 +10,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 
 import org.springframework.test.util.ReflectionTestUtils;
@@ -18,11 +24,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ExceptionControllerAdviceTest {
 
+    private static final String EXCEPTION_TAG = "exception";
+
     private transient MeterRegistry meterRegistry;
     private transient Counter counter;
     private transient AuditionLogger auditionLogger;
@@ -66,7 +75,7 @@ class ExceptionControllerAdviceTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), problemDetail.getStatus());
         assertEquals("General error", problemDetail.getDetail());
 
-        verify(meterRegistry).counter(eq("exceptions.main"), eq("exception"), eq("Exception"));
+        verify(meterRegistry).counter(eq("exceptions.main"), eq(EXCEPTION_TAG), eq("Exception"));
         verify(counter).increment();
     }
 
@@ -80,7 +89,51 @@ class ExceptionControllerAdviceTest {
         assertEquals("System error", problemDetail.getDetail());
         assertEquals("System Error", problemDetail.getTitle());
 
-        verify(meterRegistry).counter(eq("exceptions.system"), eq("exception"), eq("SystemException"));
+        verify(meterRegistry).counter(eq("exceptions.system"), eq(EXCEPTION_TAG), eq("SystemException"));
         verify(counter).increment();
     }
+
+    @Test
+    void testHandleInvalidRequestException() {
+        final InvalidRequestException exception = new InvalidRequestException("Unknown field: password");
+
+        final ProblemDetail problemDetail = exceptionControllerAdvice.handleInvalidRequestException(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), problemDetail.getStatus());
+        assertEquals("Unknown field: password", problemDetail.getDetail());
+        assertEquals(InvalidRequestException.TITLE, problemDetail.getTitle());
+
+        verify(meterRegistry).counter(eq("exceptions.invalid.request"), eq(EXCEPTION_TAG),
+            eq("InvalidRequestException"));
+        verify(auditionLogger, never()).error(any(Logger.class), anyString(), any(), any(Throwable.class));
+    }
+
+    @Test
+    void testHandleUpstreamUnavailableException() {
+        final UpstreamUnavailableException exception = new UpstreamUnavailableException(
+            "Circuit breaker is open for getPosts", "getPosts", Duration.ofMillis(4200));
+
+        final ResponseEntity<ProblemDetail> response =
+            exceptionControllerAdvice.handleUpstreamUnavailableException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(UpstreamUnavailableException.TITLE, response.getBody().getTitle());
+        assertEquals("getPosts", response.getBody().getProperties().get("operation"));
+
+        verify(meterRegistry).counter(eq("exceptions.upstream.unavailable"), eq("operation"), eq("getPosts"));
+        verify(counter).increment();
+    }
+
+    @Test
+    void testHandleCompletionExceptionUnwrapsSystemException() {
+        final SystemException cause = new SystemException("Cannot find a Post with id 1", "Resource Not Found", 404);
+
+        final ResponseEntity<ProblemDetail> response =
+            exceptionControllerAdvice.handleCompletionException(new CompletionException(cause));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Cannot find a Post with id 1", response.getBody().getDetail());
+        verify(meterRegistry).counter(eq("exceptions.system"), eq(EXCEPTION_TAG), eq("SystemException"));
+    }
 }